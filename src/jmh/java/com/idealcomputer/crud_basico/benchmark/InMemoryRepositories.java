@@ -0,0 +1,58 @@
+package com.idealcomputer.crud_basico.benchmark;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Substitutos em memória para os repositórios JPA e o gerenciador de transações,
+ * para que o CatalogSnapshotService e o RecommendationService rodem sem banco.
+ * Só findAll() é suportado: é o único método usado na carga do catálogo.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R> R of(Class<R> repositoryType, List<?> items) {
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "findAll":
+                    if (args == null || args.length == 0) return new ArrayList<>(items);
+                    break;
+                case "toString":
+                    return "InMemory" + repositoryType.getSimpleName();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    break;
+            }
+            throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+        });
+    }
+
+    static PlatformTransactionManager noOpTransactionManager() {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+    }
+}
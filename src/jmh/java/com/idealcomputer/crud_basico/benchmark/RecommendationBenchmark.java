@@ -0,0 +1,109 @@
+package com.idealcomputer.crud_basico.benchmark;
+
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshotService;
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+import com.idealcomputer.crud_basico.repositories.*;
+import com.idealcomputer.crud_basico.services.RecommendationService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Benchmark do RecommendationService.generateBuild sobre um catálogo sintético em memória.
+ *
+ * - allCombinations: uma operação = todas as combinações uso × detalhe × orçamento (throughput do motor).
+ * - singleRequest:   uma operação = uma requisição, alternando entre as combinações.
+ *
+ * Execução: mvn -Pbenchmark test-compile exec:exec
+ * Somente alguns tamanhos: mvn -Pbenchmark test-compile exec:exec -Djmh.args="-p parts=10,100 -prof gc"
+ * Busca paralela de kits:  mvn -Pbenchmark test-compile exec:exec -Djmh.args="-p parallelThreshold=0,4096"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RecommendationBenchmark {
+
+    private static final String[] USAGES = {"Jogos", "Trabalho", "Estudos"};
+    private static final String[] DETAILS = {
+            "Jogos leves", "Jogos intermediários", "Jogos pesados", "Todo tipo de jogo",
+            "Office e básico", "Edição de vídeo", "Design gráfico", "Programação", "Engenharia"
+    };
+    private static final String[] BUDGETS = {"Econômico", "Intermediário", "Alto", "Extremo"};
+
+    // Itens por categoria (CPU, placa-mãe, RAM, GPU, armazenamento, fonte, gabinete e refrigeração).
+    @Param({"10", "100", "1000", "10000"})
+    public int parts;
+
+    @Param({"42"})
+    public long seed;
+
+    // Mínimo de kits para a busca paralela (0 = sempre serial).
+    @Param({"0"})
+    public int parallelThreshold;
+
+    private RecommendationService recommendationService;
+    private List<RecommendationRequestDTO> requests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticCatalog catalog = new SyntheticCatalog(parts, seed);
+        CatalogSnapshotService catalogSnapshotService = new CatalogSnapshotService(
+                InMemoryRepositories.of(CpuRepository.class, catalog.cpus),
+                InMemoryRepositories.of(PlacaMaeRepository.class, catalog.placasMae),
+                InMemoryRepositories.of(MemoriaRamRepository.class, catalog.memoriasRam),
+                InMemoryRepositories.of(GpuRepository.class, catalog.gpus),
+                InMemoryRepositories.of(ArmazenamentoRepository.class, catalog.armazenamentos),
+                InMemoryRepositories.of(FonteRepository.class, catalog.fontes),
+                InMemoryRepositories.of(GabineteRepository.class, catalog.gabinetes),
+                InMemoryRepositories.of(RefrigeracaoRepository.class, catalog.refrigeracoes),
+                InMemoryRepositories.noOpTransactionManager(),
+                event -> { });
+        recommendationService = new RecommendationService(catalogSnapshotService, parallelThreshold, 0);
+
+        requests = new ArrayList<>();
+        for (String usage : USAGES) {
+            for (String detail : DETAILS) {
+                for (String budget : BUDGETS) {
+                    RecommendationRequestDTO request = new RecommendationRequestDTO();
+                    request.setUsage(usage);
+                    request.setDetail(detail);
+                    request.setBudget(budget);
+                    requests.add(request);
+                }
+            }
+        }
+
+        // Carga do catálogo e dos kits fora da medição.
+        catalogSnapshotService.current().getCompatibilityIndex().kits();
+    }
+
+    @Benchmark
+    public void allCombinations(Blackhole blackhole) {
+        for (RecommendationRequestDTO request : requests) {
+            blackhole.consume(generate(request));
+        }
+    }
+
+    @Benchmark
+    public Object singleRequest() {
+        RecommendationRequestDTO request = requests.get(next);
+        next = next + 1 == requests.size() ? 0 : next + 1;
+        return generate(request);
+    }
+
+    private Object generate(RecommendationRequestDTO request) {
+        try {
+            return recommendationService.generateBuild(request);
+        } catch (RuntimeException e) {
+            // Sem build possível para a combinação: também é um resultado do motor.
+            return e.getMessage();
+        }
+    }
+}
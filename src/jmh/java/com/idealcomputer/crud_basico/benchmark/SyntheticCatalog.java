@@ -0,0 +1,136 @@
+package com.idealcomputer.crud_basico.benchmark;
+
+import com.idealcomputer.crud_basico.models.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Catálogo sintético e determinístico (mesma semente = mesmo catálogo) com "parts" itens por categoria.
+ *
+ * Os nomes, formatos e tipos reproduzem os valores que o motor interpreta
+ * (ex: CPUs com sufixo G, Ryzen 7/9, coolers 360/280, fontes SFX, gabinetes Micro-ATX).
+ * Soquetes e gerações de DDR crescem junto com o catálogo (cerca de 10 CPUs/placas/RAMs por grupo),
+ * então a quantidade de kits CPU × placa-mãe × RAM cresce de forma linear e não cúbica,
+ * como aconteceria em um catálogo real com poucos soquetes.
+ */
+final class SyntheticCatalog {
+
+    private static final String[] CPU_NAMES = {
+            "AMD Ryzen 5 5600G", "AMD Ryzen 5 5600", "AMD Ryzen 7 5800X", "AMD Ryzen 9 7950X", "AMD Ryzen 3 8300G",
+            "Intel Core i3-12100F", "Intel Core i5-12400F", "Intel Core i5-13600K", "Intel Core i7-13700K", "Intel Core i9-14900K"
+    };
+    private static final String[] BOARD_FORMATS = {"ATX", "Micro-ATX", "Mini-ITX", "mATX"};
+    private static final String[] CASE_FORMATS = {"ATX, Micro-ATX, Mini-ITX", "Micro-ATX, Mini-ITX", "Mini-ITX", "E-ATX, ATX"};
+    private static final String[] PSU_FORMATS = {"ATX", "SFX", "SFX-L", "ATX 3.0"};
+    private static final int[] RAM_SIZES = {8, 16, 32, 64};
+    private static final int[] VRAM_SIZES = {8, 12, 16, 24};
+    private static final int[] SSD_SIZES = {500, 1000, 2000, 4000};
+    private static final String[] COOLER_SIZES = {"120", "240", "280", "360"};
+
+    final List<CpuModel> cpus = new ArrayList<>();
+    final List<PlacaMaeModel> placasMae = new ArrayList<>();
+    final List<MemoriaRamModel> memoriasRam = new ArrayList<>();
+    final List<GpuModel> gpus = new ArrayList<>();
+    final List<ArmazenamentoModel> armazenamentos = new ArrayList<>();
+    final List<FonteModel> fontes = new ArrayList<>();
+    final List<GabineteModel> gabinetes = new ArrayList<>();
+    final List<RefrigeracaoModel> refrigeracoes = new ArrayList<>();
+
+    SyntheticCatalog(int parts, long seed) {
+        Random random = new Random(seed);
+        int sockets = Math.max(2, parts / 10);
+        int ddrGenerations = Math.max(2, parts / 10);
+        long id = 1;
+
+        for (int i = 0; i < parts; i++) {
+            CpuModel cpu = new CpuModel();
+            cpu.setId(id++);
+            cpu.setNome(CPU_NAMES[random.nextInt(CPU_NAMES.length)] + " #" + i);
+            cpu.setMarca("Sintética");
+            cpu.setSoquete(socket(random.nextInt(sockets)));
+            cpu.setPreco(price(random, 300, 5000));
+            cpu.setPotenciaRecomendadaW(65 + random.nextInt(190));
+            cpus.add(cpu);
+
+            PlacaMaeModel placaMae = new PlacaMaeModel();
+            placaMae.setId(id++);
+            placaMae.setNome("Placa-mãe #" + i);
+            placaMae.setMarca("Sintética");
+            placaMae.setSoqueteCpu(socket(random.nextInt(sockets)));
+            placaMae.setTipoRamSuportado(ddr(random.nextInt(ddrGenerations)));
+            placaMae.setFormato(BOARD_FORMATS[random.nextInt(BOARD_FORMATS.length)]);
+            placaMae.setPreco(price(random, 300, 3500));
+            placasMae.add(placaMae);
+
+            MemoriaRamModel memoriaRam = new MemoriaRamModel();
+            memoriaRam.setId(id++);
+            memoriaRam.setNome("Memória #" + i);
+            memoriaRam.setMarca("Sintética");
+            memoriaRam.setCapacidadeGb(RAM_SIZES[random.nextInt(RAM_SIZES.length)]);
+            memoriaRam.setTipo(ddr(random.nextInt(ddrGenerations)));
+            memoriaRam.setFrequenciaMhz(3200 + 400 * random.nextInt(8));
+            memoriaRam.setPreco(price(random, 100, 2500));
+            memoriasRam.add(memoriaRam);
+
+            GpuModel gpu = new GpuModel();
+            gpu.setId(id++);
+            gpu.setNome("GPU #" + i);
+            gpu.setMarca("Sintética");
+            gpu.setMemoriaVram(VRAM_SIZES[random.nextInt(VRAM_SIZES.length)]);
+            gpu.setPreco(price(random, 800, 15000));
+            gpu.setPotenciaRecomendadaW(75 + random.nextInt(375));
+            gpus.add(gpu);
+
+            ArmazenamentoModel armazenamento = new ArmazenamentoModel();
+            armazenamento.setId(id++);
+            armazenamento.setNome("SSD #" + i);
+            armazenamento.setMarca("Sintética");
+            armazenamento.setTipo(random.nextInt(3) == 0 ? "SSD SATA" : "SSD NVMe");
+            armazenamento.setCapacidadeGb(SSD_SIZES[random.nextInt(SSD_SIZES.length)]);
+            armazenamento.setPreco(price(random, 150, 2500));
+            armazenamentos.add(armazenamento);
+
+            FonteModel fonte = new FonteModel();
+            fonte.setId(id++);
+            fonte.setNome("Fonte #" + i);
+            fonte.setMarca("Sintética");
+            fonte.setPotenciaWatts(450 + 50 * random.nextInt(16));
+            fonte.setFormato(PSU_FORMATS[random.nextInt(PSU_FORMATS.length)]);
+            fonte.setPreco(price(random, 200, 2500));
+            fontes.add(fonte);
+
+            GabineteModel gabinete = new GabineteModel();
+            gabinete.setId(id++);
+            gabinete.setNome("Gabinete #" + i);
+            gabinete.setMarca("Sintética");
+            gabinete.setFormatosPlacaMaeSuportados(CASE_FORMATS[random.nextInt(CASE_FORMATS.length)]);
+            gabinete.setPreco(price(random, 150, 2000));
+            gabinetes.add(gabinete);
+
+            RefrigeracaoModel refrigeracao = new RefrigeracaoModel();
+            refrigeracao.setId(id++);
+            boolean water = random.nextBoolean();
+            refrigeracao.setNome((water ? "Water Cooler " : "Air Cooler ") + COOLER_SIZES[random.nextInt(COOLER_SIZES.length)] + " #" + i);
+            refrigeracao.setMarca("Sintética");
+            refrigeracao.setTipo(water ? "Water Cooler" : "Air Cooler");
+            refrigeracao.setSoquetesCpuSuportados(socket(random.nextInt(sockets)) + ", " + socket(random.nextInt(sockets)) + ", " + socket(random.nextInt(sockets)));
+            refrigeracao.setPreco(price(random, 100, 2500));
+            refrigeracoes.add(refrigeracao);
+        }
+    }
+
+    // Nomes de largura fixa: nenhum soquete/DDR é substring de outro.
+    private static String socket(int index) {
+        return String.format("SKT%04d", index);
+    }
+
+    private static String ddr(int index) {
+        return String.format("DDR%04d", index);
+    }
+
+    private static double price(Random random, int min, int max) {
+        return min + 10.0 * random.nextInt((max - min) / 10 + 1);
+    }
+}
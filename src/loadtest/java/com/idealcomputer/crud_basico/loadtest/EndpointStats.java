@@ -0,0 +1,56 @@
+package com.idealcomputer.crud_basico.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Latências e erros de um endpoint, registrados por uma única thread (sem sincronização).
+ * Cada worker tem as suas instâncias; no fim elas são juntadas com merge().
+ */
+final class EndpointStats {
+
+    private long[] latenciesMicros = new long[1024];
+    private int count;
+    private int errors;
+    private boolean sorted;
+    private final Map<String, Integer> statuses = new TreeMap<>();
+
+    void record(long latencyNanos, String status, boolean error) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyNanos / 1_000;
+        sorted = false;
+        if (error) errors++;
+        statuses.merge(status, 1, Integer::sum);
+    }
+
+    void merge(EndpointStats other) {
+        if (count + other.count > latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count + other.count);
+        }
+        System.arraycopy(other.latenciesMicros, 0, latenciesMicros, count, other.count);
+        count += other.count;
+        sorted = false;
+        errors += other.errors;
+        other.statuses.forEach((status, n) -> statuses.merge(status, n, Integer::sum));
+    }
+
+    int count() { return count; }
+    int errors() { return errors; }
+    Map<String, Integer> statuses() { return statuses; }
+
+    /**
+     * Percentil (0-100) em milissegundos, pelo método nearest-rank.
+     */
+    double percentileMillis(double percentile) {
+        if (count == 0) return 0;
+        if (!sorted) {
+            Arrays.sort(latenciesMicros, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return latenciesMicros[Math.max(0, Math.min(count, rank) - 1)] / 1000.0;
+    }
+}
@@ -0,0 +1,308 @@
+package com.idealcomputer.crud_basico.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+/*
+ * Gerador de carga para a API, usando apenas o HttpClient do JDK.
+ *
+ * A aplicação deve estar rodando à parte, de preferência com o perfil "loadtest"
+ * (PostgreSQL local descartável, sem show-sql e sem logs DEBUG):
+ *   SPRING_PROFILES_ACTIVE=loadtest ./mvnw spring-boot:run
+ *
+ * Execução (outro terminal):
+ *   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--concurrency=32 --duration=60"
+ *
+ * Opções (--nome=valor):
+ *   --base-url          URL da API (padrão http://localhost:8080)
+ *   --concurrency       Workers simultâneos, cada um em loop fechado (padrão 16)
+ *   --duration          Segundos de medição (padrão 60)
+ *   --warmup            Segundos de aquecimento, descartados do relatório (padrão 10)
+ *   --mix               Pesos da mistura sintética (padrão generate=60,catalog=15,login=10,builds=15)
+ *   --replay            Arquivo NDJSON com as chamadas a repetir, no lugar da mistura sintética
+ *   --dump-mix          Grava --requests chamadas da mistura sintética nesse arquivo e termina
+ *   --requests          Quantidade de chamadas gravadas por --dump-mix (padrão 10000)
+ *   --seed              Semente dos sorteios (padrão 42)
+ *   --users             Usuários criados para login e /api/builds (padrão 8)
+ *   --admin-email       Credenciais de um ADMINISTRADOR, necessárias para os GETs do catálogo
+ *   --admin-password
+ *   --timeout-ms        Tempo máximo de cada requisição (padrão 10000)
+ *
+ * O relatório mostra, por endpoint: requisições, vazão, erros (exceções e status >= 400),
+ * latências p50/p95/p99/máx e a contagem de cada status.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String USER_PASSWORD = "loadtest-123";
+
+    private final Map<String, String> options;
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final Duration timeout;
+
+    private final List<String[]> users = new ArrayList<>(); // {email, token}
+    private String adminToken;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = URI.create(option("base-url", "http://localhost:8080"));
+        this.timeout = Duration.ofMillis(Long.parseLong(option("timeout-ms", "10000")));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Opção inválida: " + arg);
+            int equals = arg.indexOf('=');
+            options.put(equals < 0 ? arg.substring(2) : arg.substring(2, equals), equals < 0 ? "true" : arg.substring(equals + 1));
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        long seed = Long.parseLong(option("seed", "42"));
+
+        if (options.containsKey("dump-mix")) {
+            // Os corpos de /api/builds/save usam peças reais, então a API precisa estar no ar para gravá-los.
+            Workload workload = Workload.synthetic(parseMix(), buildBodies(new Random(seed)));
+            Path file = Path.of(options.get("dump-mix"));
+            workload.dump(file, Integer.parseInt(option("requests", "10000")), seed);
+            System.out.println("Mistura gravada em " + file.toAbsolutePath());
+            return;
+        }
+
+        setUpUsers(Integer.parseInt(option("users", "8")));
+        if (options.containsKey("admin-email")) {
+            adminToken = login(options.get("admin-email"), option("admin-password", ""));
+        }
+
+        Workload workload = options.containsKey("replay")
+                ? Workload.replay(Path.of(options.get("replay")))
+                : Workload.synthetic(parseMix(), buildBodies(new Random(seed)));
+        if (workload.requiresAdmin() && adminToken == null) {
+            throw new IllegalStateException("A mistura inclui GETs do catálogo, que exigem --admin-email/--admin-password "
+                    + "(ou remova \"catalog\" de --mix).");
+        }
+
+        int concurrency = Integer.parseInt(option("concurrency", "16"));
+        int warmup = Integer.parseInt(option("warmup", "10"));
+        int duration = Integer.parseInt(option("duration", "60"));
+
+        if (warmup > 0) {
+            System.out.printf("Aquecimento: %d workers por %ds%n", concurrency, warmup);
+            runPhase(workload, concurrency, warmup, seed);
+        }
+        System.out.printf("Medição: %d workers por %ds em %s%n", concurrency, duration, baseUrl);
+        long start = System.nanoTime();
+        Map<String, EndpointStats> stats = runPhase(workload, concurrency, duration, seed + 1);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        printReport(stats, elapsedSeconds);
+    }
+
+    // --- EXECUÇÃO ---
+
+    /**
+     * Roda "concurrency" workers em virtual threads até o prazo e junta as estatísticas de todos.
+     */
+    private Map<String, EndpointStats> runPhase(Workload workload, int concurrency, int seconds, long seed)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Map<String, EndpointStats>> perWorker = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < concurrency; w++) {
+            Map<String, EndpointStats> workerStats = new HashMap<>();
+            perWorker.add(workerStats);
+            String[] user = users.get(w % users.size());
+            Random random = new Random(seed * 31 + w);
+            threads.add(Thread.ofVirtual().name("loadtest-worker-" + w).start(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = workload.next(random);
+                    send(operation, user, workerStats.computeIfAbsent(operation.endpoint(), e -> new EndpointStats()));
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.join();
+
+        Map<String, EndpointStats> merged = new TreeMap<>();
+        for (Map<String, EndpointStats> workerStats : perWorker) {
+            workerStats.forEach((endpoint, s) -> merged.computeIfAbsent(endpoint, e -> new EndpointStats()).merge(s));
+        }
+        return merged;
+    }
+
+    private void send(Operation operation, String[] user, EndpointStats stats) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(operation.path()))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (operation.body() != null) {
+            String body = operation.body().replace(Workload.EMAIL, user[0]).replace(Workload.PASSWORD, USER_PASSWORD);
+            request.header("Content-Type", "application/json")
+                    .method(operation.method(), HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            request.method(operation.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        switch (operation.auth()) {
+            case USER -> request.header("Authorization", "Bearer " + user[1]);
+            case ADMIN -> request.header("Authorization", "Bearer " + adminToken);
+            case NONE -> { }
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            stats.record(System.nanoTime() - start, String.valueOf(response.statusCode()), response.statusCode() >= 400);
+        } catch (IOException e) {
+            stats.record(System.nanoTime() - start, e.getClass().getSimpleName(), true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- PREPARAÇÃO ---
+
+    /**
+     * Registra usuários exclusivos desta execução e guarda o token de cada um.
+     */
+    private void setUpUsers(int count) throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < Math.max(1, count); i++) {
+            String email = "loadtest-" + runId + "-" + i + "@idealcomputer.local";
+            ObjectNode body = JSON.createObjectNode()
+                    .put("name", "Load test " + i)
+                    .put("email", email)
+                    .put("password", USER_PASSWORD);
+            HttpResponse<String> response = post("/api/auth/register", body.toString(), null);
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException("Falha ao registrar " + email + ": " + response.statusCode() + " " + response.body());
+            }
+            users.add(new String[]{email, login(email, USER_PASSWORD)});
+        }
+        System.out.printf("%d usuários de teste registrados%n", users.size());
+    }
+
+    private String login(String email, String password) throws Exception {
+        ObjectNode body = JSON.createObjectNode().put("email", email).put("password", password);
+        HttpResponse<String> response = post("/api/auth/login", body.toString(), null);
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Falha no login de " + email + ": " + response.statusCode());
+        }
+        return JSON.readTree(response.body()).path("token").asText();
+    }
+
+    /**
+     * Corpos de POST /api/builds/save com peças reais, tirados de algumas recomendações.
+     */
+    private List<String> buildBodies(Random random) {
+        List<String> bodies = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            Operation generate = Workload.generate(random);
+            HttpResponse<String> response;
+            JsonNode request;
+            JsonNode build;
+            try {
+                response = post(generate.path(), generate.body(), null);
+                if (response.statusCode() != 200) continue;
+                request = JSON.readTree(generate.body());
+                build = JSON.readTree(response.body());
+            } catch (Exception e) {
+                System.out.println("Aviso: falha ao gerar recomendação (" + e + ")");
+                break;
+            }
+            ObjectNode body = JSON.createObjectNode()
+                    .put("nome_build", "Build de carga " + i)
+                    .put("uso_principal", request.path("usage").asText())
+                    .put("detalhe", request.path("detail").asText())
+                    .put("orcamento", request.path("budget").asText());
+            putId(body, "id_cpu", build, "cpu");
+            putId(body, "id_placamae", build, "placa_mae", "placaMae");
+            putId(body, "id_gpu", build, "gpu");
+            putId(body, "id_ram", build, "memoria_ram", "memoriaRam");
+            putId(body, "id_armazenamento", build, "armazenamento");
+            putId(body, "id_fonte", build, "fonte");
+            putId(body, "id_gabinete", build, "gabinete");
+            putId(body, "id_refrigeracao", build, "refrigeracao");
+            bodies.add(body.toString());
+        }
+        if (bodies.isEmpty()) {
+            System.out.println("Aviso: nenhuma recomendação gerada; /api/builds fica fora da mistura (catálogo vazio?)");
+        }
+        return bodies;
+    }
+
+    private static void putId(ObjectNode body, String field, JsonNode build, String... names) {
+        for (String name : names) {
+            JsonNode id = build.path(name).path("id");
+            if (id.isNumber()) {
+                body.put(field, id.asLong());
+                return;
+            }
+        }
+    }
+
+    private HttpResponse<String> post(String path, String body, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) request.header("Authorization", "Bearer " + token);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // --- RELATÓRIO ---
+
+    private static void printReport(Map<String, EndpointStats> stats, double elapsedSeconds) {
+        String format = "%-40s %9s %9s %8s %9s %9s %9s %9s  %s%n";
+        System.out.println();
+        System.out.printf(format, "Endpoint", "Req", "Req/s", "Erros%", "p50 ms", "p95 ms", "p99 ms", "máx ms", "Status");
+
+        EndpointStats total = new EndpointStats();
+        stats.forEach((endpoint, s) -> {
+            printRow(format, endpoint, s, elapsedSeconds);
+            total.merge(s);
+        });
+        printRow(format, "TOTAL", total, elapsedSeconds);
+    }
+
+    private static void printRow(String format, String endpoint, EndpointStats s, double elapsedSeconds) {
+        System.out.printf(format, endpoint, s.count(),
+                String.format(Locale.ROOT, "%.1f", s.count() / elapsedSeconds),
+                String.format(Locale.ROOT, "%.2f", s.count() == 0 ? 0 : 100.0 * s.errors() / s.count()),
+                String.format(Locale.ROOT, "%.1f", s.percentileMillis(50)),
+                String.format(Locale.ROOT, "%.1f", s.percentileMillis(95)),
+                String.format(Locale.ROOT, "%.1f", s.percentileMillis(99)),
+                String.format(Locale.ROOT, "%.1f", s.percentileMillis(100)),
+                s.statuses());
+    }
+
+    // --- OPÇÕES ---
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private Map<String, Integer> parseMix() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : option("mix", "generate=60,catalog=15,login=10,builds=15").split(",")) {
+            String[] pair = part.trim().split("=");
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+}
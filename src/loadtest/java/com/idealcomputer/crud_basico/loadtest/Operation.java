@@ -0,0 +1,14 @@
+package com.idealcomputer.crud_basico.loadtest;
+
+/**
+ * Uma chamada da carga: o endpoint em que é contabilizada, o método, o caminho, o corpo JSON (ou null)
+ * e o tipo de autenticação exigido.
+ */
+record Operation(String endpoint, String method, String path, String body, Auth auth) {
+
+    enum Auth {
+        NONE,   // Rotas públicas (/api/auth, /api/recommendations)
+        USER,   // Token de um dos usuários criados para o teste (/api/builds)
+        ADMIN   // Token do administrador informado em --admin-email (catálogo)
+    }
+}
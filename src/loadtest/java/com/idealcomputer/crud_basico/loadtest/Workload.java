@@ -0,0 +1,188 @@
+package com.idealcomputer.crud_basico.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * A sequência de chamadas enviada pelos workers.
+ *
+ * - Sintética: sorteia as chamadas com os pesos de --mix (gerador com semente fixa por worker,
+ *   então duas execuções com a mesma semente enviam a mesma sequência).
+ * - Gravada: repete, em ordem e em ciclo, as chamadas de um arquivo NDJSON (--replay).
+ *   Cada linha: {"endpoint": "...", "method": "POST", "path": "/api/...", "auth": "NONE|USER|ADMIN", "body": {...}}
+ *
+ * Nos corpos, {{email}} e {{password}} são trocados pelas credenciais do usuário do worker,
+ * o que permite gravar uma mistura (--dump-mix) e repeti-la em outro banco.
+ */
+abstract class Workload {
+
+    static final String EMAIL = "{{email}}";
+    static final String PASSWORD = "{{password}}";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final String[] CATALOG_PATHS = {
+            "/api/cpus", "/api/placas-mae", "/api/memorias-ram", "/api/gpus",
+            "/api/armazenamentos", "/api/fontes", "/api/gabinetes", "/api/refrigeracoes"
+    };
+    private static final String[][] USAGE_DETAILS = {
+            {"Jogos", "Jogos leves"}, {"Jogos", "Jogos pesados"}, {"Jogos", "Todo tipo de jogo"},
+            {"Trabalho", "Office e básico"}, {"Trabalho", "Edição de vídeo"}, {"Trabalho", "Design gráfico"},
+            {"Trabalho", "Programação"}, {"Estudos", "Engenharia"}, {"Estudos", "Programação"}
+    };
+    private static final String[] BUDGETS = {"Econômico", "Intermediário", "Alto", "Extremo"};
+
+    /**
+     * A próxima chamada do worker. O gerador é exclusivo do worker.
+     */
+    abstract Operation next(Random random);
+
+    /**
+     * Endpoints que exigem o token de administrador (para avisar quando --admin-email não foi informado).
+     */
+    abstract boolean requiresAdmin();
+
+    // --- SINTÉTICA ---
+
+    /**
+     * @param weights    Peso de cada grupo: generate, catalog, login, builds.
+     * @param buildBodies Corpos de POST /api/builds/save montados a partir de recomendações reais (pode ser vazio).
+     */
+    static Workload synthetic(Map<String, Integer> weights, List<String> buildBodies) {
+        List<String> groups = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() <= 0) continue;
+            if (entry.getKey().equals("builds") && buildBodies.isEmpty()) continue;
+            total += entry.getValue();
+            groups.add(entry.getKey());
+            cumulative.add(total);
+        }
+        if (groups.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum endpoint na mistura: " + weights);
+        }
+        int totalWeight = total;
+
+        return new Workload() {
+            @Override
+            Operation next(Random random) {
+                int draw = random.nextInt(totalWeight);
+                int group = 0;
+                while (draw >= cumulative.get(group)) group++;
+                return switch (groups.get(group)) {
+                    case "generate" -> generate(random);
+                    case "catalog" -> {
+                        String path = CATALOG_PATHS[random.nextInt(CATALOG_PATHS.length)];
+                        yield new Operation("GET " + path, "GET", path, null, Operation.Auth.ADMIN);
+                    }
+                    case "login" -> new Operation("POST /api/auth/login", "POST", "/api/auth/login",
+                            "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}", Operation.Auth.NONE);
+                    case "builds" -> random.nextBoolean()
+                            ? new Operation("GET /api/builds/my-builds", "GET", "/api/builds/my-builds", null, Operation.Auth.USER)
+                            : new Operation("POST /api/builds/save", "POST", "/api/builds/save",
+                            buildBodies.get(random.nextInt(buildBodies.size())), Operation.Auth.USER);
+                    default -> throw new IllegalArgumentException("Grupo desconhecido em --mix: " + groups.get(group));
+                };
+            }
+
+            @Override
+            boolean requiresAdmin() {
+                return groups.contains("catalog");
+            }
+        };
+    }
+
+    static Operation generate(Random random) {
+        String[] usageDetail = USAGE_DETAILS[random.nextInt(USAGE_DETAILS.length)];
+        ObjectNode body = JSON.createObjectNode()
+                .put("usage", usageDetail[0])
+                .put("detail", usageDetail[1])
+                .put("budget", BUDGETS[random.nextInt(BUDGETS.length)]);
+        return new Operation("POST /api/recommendations/generate", "POST", "/api/recommendations/generate",
+                body.toString(), Operation.Auth.NONE);
+    }
+
+    // --- GRAVADA ---
+
+    static Workload replay(Path file) {
+        List<Operation> operations = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file)) {
+                if (line.isBlank()) continue;
+                operations.add(fromJson(JSON.readTree(line)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler " + file, e);
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Arquivo de replay vazio: " + file);
+        }
+        boolean requiresAdmin = operations.stream().anyMatch(op -> op.auth() == Operation.Auth.ADMIN);
+        AtomicLong cursor = new AtomicLong();
+
+        return new Workload() {
+            @Override
+            Operation next(Random random) {
+                return operations.get((int) (cursor.getAndIncrement() % operations.size()));
+            }
+
+            @Override
+            boolean requiresAdmin() {
+                return requiresAdmin;
+            }
+        };
+    }
+
+    /**
+     * Grava "count" chamadas desta mistura no formato aceito por replay().
+     */
+    void dump(Path file, int count, long seed) {
+        Random random = new Random(seed);
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(toJson(next(random)).toString());
+        }
+        try {
+            Files.write(file, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar " + file, e);
+        }
+    }
+
+    private static Operation fromJson(JsonNode node) {
+        JsonNode body = node.get("body");
+        String path = node.path("path").asText();
+        String method = node.path("method").asText("GET");
+        return new Operation(
+                node.path("endpoint").asText(method + " " + path),
+                method,
+                path,
+                body == null || body.isNull() ? null : body.toString(),
+                Operation.Auth.valueOf(node.path("auth").asText("NONE")));
+    }
+
+    private static JsonNode toJson(Operation operation) {
+        ObjectNode node = JSON.createObjectNode()
+                .put("endpoint", operation.endpoint())
+                .put("method", operation.method())
+                .put("path", operation.path())
+                .put("auth", operation.auth().name());
+        if (operation.body() != null) {
+            try {
+                node.set("body", JSON.readTree(operation.body()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return node;
+    }
+}
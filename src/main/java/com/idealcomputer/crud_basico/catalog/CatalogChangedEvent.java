@@ -0,0 +1,28 @@
+package com.idealcomputer.crud_basico.catalog;
+
+/**
+ * Evento publicado pelo BaseCrudService sempre que uma entidade é salva ou removida.
+ *
+ * @param entityType O tipo da Model alterada (ex: CpuModel.class).
+ * @param id         O ID da entidade alterada, ou null numa importação em massa.
+ * @param entity     A entidade salva, ou null quando ela foi removida.
+ * @param reload     true quando a categoria inteira mudou (importação em massa) e deve ser relida do banco.
+ */
+public record CatalogChangedEvent(Class<?> entityType, Object id, Object entity, boolean reload) {
+
+    public static CatalogChangedEvent saved(Class<?> entityType, Object id, Object entity) {
+        return new CatalogChangedEvent(entityType, id, entity, false);
+    }
+
+    public static CatalogChangedEvent deleted(Class<?> entityType, Object id) {
+        return new CatalogChangedEvent(entityType, id, null, false);
+    }
+
+    public static CatalogChangedEvent reloaded(Class<?> entityType) {
+        return new CatalogChangedEvent(entityType, null, null, true);
+    }
+
+    public boolean isDelete() {
+        return !reload && entity == null;
+    }
+}
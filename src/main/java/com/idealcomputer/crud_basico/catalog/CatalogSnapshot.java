@@ -0,0 +1,205 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.models.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * Fotografia imutável e versionada de todo o catálogo de componentes.
+ * Uma recomendação inteira é calculada em cima de uma única instância,
+ * sem nenhuma ida ao banco de dados.
+ *
+ * As listas são ordenadas por ID e nunca são modificadas: qualquer alteração
+ * gera uma nova instância (copy-on-write) com a versão incrementada.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<BaseEntity<Long>> BY_ID =
+            Comparator.comparing(BaseEntity::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final long version;
+    private final Instant createdAt;
+
+    private final List<CpuModel> cpus;
+    private final List<PlacaMaeModel> placasMae;
+    private final List<MemoriaRamModel> memoriasRam;
+    private final List<GpuModel> gpus;
+    private final List<ArmazenamentoModel> armazenamentos;
+    private final List<FonteModel> fontes;
+    private final List<GabineteModel> gabinetes;
+    private final List<RefrigeracaoModel> refrigeracoes;
+
+    // Índice CPU × placa-mãe × RAM, mantido junto com as listas.
+    private final CompatibilityIndex compatibilityIndex;
+
+    // Categorias ordenadas por preço para as seleções por orçamento.
+    private final ComponentIndexes componentIndexes;
+
+    private CatalogSnapshot(long version,
+                            List<CpuModel> cpus,
+                            List<PlacaMaeModel> placasMae,
+                            List<MemoriaRamModel> memoriasRam,
+                            List<GpuModel> gpus,
+                            List<ArmazenamentoModel> armazenamentos,
+                            List<FonteModel> fontes,
+                            List<GabineteModel> gabinetes,
+                            List<RefrigeracaoModel> refrigeracoes,
+                            CompatibilityIndex compatibilityIndex,
+                            ComponentIndexes componentIndexes) {
+        this.version = version;
+        this.createdAt = Instant.now();
+        this.cpus = cpus;
+        this.placasMae = placasMae;
+        this.memoriasRam = memoriasRam;
+        this.gpus = gpus;
+        this.armazenamentos = armazenamentos;
+        this.fontes = fontes;
+        this.gabinetes = gabinetes;
+        this.refrigeracoes = refrigeracoes;
+        this.compatibilityIndex = compatibilityIndex;
+        this.componentIndexes = componentIndexes;
+    }
+
+    /**
+     * Monta uma fotografia a partir das listas completas de cada categoria.
+     * As listas recebidas são copiadas, então o chamador pode reutilizá-las.
+     */
+    public static CatalogSnapshot of(long version,
+                                     List<CpuModel> cpus,
+                                     List<PlacaMaeModel> placasMae,
+                                     List<MemoriaRamModel> memoriasRam,
+                                     List<GpuModel> gpus,
+                                     List<ArmazenamentoModel> armazenamentos,
+                                     List<FonteModel> fontes,
+                                     List<GabineteModel> gabinetes,
+                                     List<RefrigeracaoModel> refrigeracoes) {
+        List<CpuModel> sortedCpus = sortedCopy(cpus);
+        List<PlacaMaeModel> sortedPlacasMae = sortedCopy(placasMae);
+        List<MemoriaRamModel> sortedMemorias = sortedCopy(memoriasRam);
+        List<GpuModel> sortedGpus = sortedCopy(gpus);
+        List<ArmazenamentoModel> sortedArmazenamentos = sortedCopy(armazenamentos);
+        List<FonteModel> sortedFontes = sortedCopy(fontes);
+        List<GabineteModel> sortedGabinetes = sortedCopy(gabinetes);
+        List<RefrigeracaoModel> sortedRefrigeracoes = sortedCopy(refrigeracoes);
+        return new CatalogSnapshot(version,
+                sortedCpus, sortedPlacasMae, sortedMemorias, sortedGpus,
+                sortedArmazenamentos, sortedFontes, sortedGabinetes, sortedRefrigeracoes,
+                CompatibilityIndex.build(sortedCpus, sortedPlacasMae, sortedMemorias),
+                ComponentIndexes.build(sortedGpus, sortedFontes, sortedRefrigeracoes, sortedGabinetes, sortedArmazenamentos));
+    }
+
+    /**
+     * Indica se o tipo informado faz parte do catálogo (usuários e builds não fazem).
+     */
+    public static boolean isCatalogType(Class<?> type) {
+        return type == CpuModel.class || type == PlacaMaeModel.class || type == MemoriaRamModel.class
+                || type == GpuModel.class || type == ArmazenamentoModel.class || type == FonteModel.class
+                || type == GabineteModel.class || type == RefrigeracaoModel.class;
+    }
+
+    /**
+     * Retorna uma nova fotografia em que a entidade informada foi inserida ou substituída (mesmo ID).
+     */
+    public CatalogSnapshot withUpserted(long newVersion, Class<?> type, BaseEntity<Long> entity) {
+        List<BaseEntity<Long>> list = upsert(listOf(type), entity);
+        return withList(newVersion, type, list, compatibilityIndex.withUpserted(type, entity),
+                componentIndexes.withUpserted(type, entity, list));
+    }
+
+    /**
+     * Retorna uma nova fotografia sem a entidade do tipo e ID informados.
+     */
+    public CatalogSnapshot withRemoved(long newVersion, Class<?> type, Object id) {
+        List<? extends BaseEntity<Long>> current = listOf(type);
+        List<BaseEntity<Long>> copy = new ArrayList<>(current.size());
+        for (BaseEntity<Long> item : current) {
+            if (!Objects.equals(item.getId(), id)) copy.add(item);
+        }
+        List<BaseEntity<Long>> list = List.copyOf(copy);
+        return withList(newVersion, type, list, compatibilityIndex.withRemoved(type, id),
+                componentIndexes.withRemoved(type, id, list));
+    }
+
+    /**
+     * Retorna uma nova fotografia com a categoria inteira substituída (usada em recargas completas).
+     */
+    public CatalogSnapshot withReplaced(long newVersion, Class<?> type, List<? extends BaseEntity<Long>> items) {
+        List<BaseEntity<Long>> sorted = sortedCopy(items);
+        CatalogSnapshot replaced = withList(newVersion, type, sorted, compatibilityIndex);
+        if (!CompatibilityIndex.isIndexedType(type)) {
+            return replaced;
+        }
+        return replaced.withList(newVersion, type, sorted, CompatibilityIndex.build(
+                replaced.cpus, replaced.placasMae, replaced.memoriasRam));
+    }
+
+    // --- GETTERS ---
+
+    public long getVersion() { return version; }
+    public Instant getCreatedAt() { return createdAt; }
+    public List<CpuModel> getCpus() { return cpus; }
+    public List<PlacaMaeModel> getPlacasMae() { return placasMae; }
+    public List<MemoriaRamModel> getMemoriasRam() { return memoriasRam; }
+    public List<GpuModel> getGpus() { return gpus; }
+    public List<ArmazenamentoModel> getArmazenamentos() { return armazenamentos; }
+    public List<FonteModel> getFontes() { return fontes; }
+    public List<GabineteModel> getGabinetes() { return gabinetes; }
+    public List<RefrigeracaoModel> getRefrigeracoes() { return refrigeracoes; }
+    public CompatibilityIndex getCompatibilityIndex() { return compatibilityIndex; }
+    public ComponentIndexes getComponentIndexes() { return componentIndexes; }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    private List<? extends BaseEntity<Long>> listOf(Class<?> type) {
+        if (type == CpuModel.class) return cpus;
+        if (type == PlacaMaeModel.class) return placasMae;
+        if (type == MemoriaRamModel.class) return memoriasRam;
+        if (type == GpuModel.class) return gpus;
+        if (type == ArmazenamentoModel.class) return armazenamentos;
+        if (type == FonteModel.class) return fontes;
+        if (type == GabineteModel.class) return gabinetes;
+        if (type == RefrigeracaoModel.class) return refrigeracoes;
+        throw new IllegalArgumentException("Tipo fora do catálogo: " + type.getSimpleName());
+    }
+
+    private CatalogSnapshot withList(long newVersion, Class<?> type, List<? extends BaseEntity<Long>> list,
+                                     CompatibilityIndex index) {
+        return withList(newVersion, type, list, index, componentIndexes.rebuilt(type, list));
+    }
+
+    @SuppressWarnings("unchecked")
+    private CatalogSnapshot withList(long newVersion, Class<?> type, List<? extends BaseEntity<Long>> list,
+                                     CompatibilityIndex index, ComponentIndexes components) {
+        return new CatalogSnapshot(newVersion,
+                type == CpuModel.class ? (List<CpuModel>) list : cpus,
+                type == PlacaMaeModel.class ? (List<PlacaMaeModel>) list : placasMae,
+                type == MemoriaRamModel.class ? (List<MemoriaRamModel>) list : memoriasRam,
+                type == GpuModel.class ? (List<GpuModel>) list : gpus,
+                type == ArmazenamentoModel.class ? (List<ArmazenamentoModel>) list : armazenamentos,
+                type == FonteModel.class ? (List<FonteModel>) list : fontes,
+                type == GabineteModel.class ? (List<GabineteModel>) list : gabinetes,
+                type == RefrigeracaoModel.class ? (List<RefrigeracaoModel>) list : refrigeracoes,
+                index,
+                components);
+    }
+
+    private static List<BaseEntity<Long>> upsert(List<? extends BaseEntity<Long>> current, BaseEntity<Long> entity) {
+        List<BaseEntity<Long>> copy = new ArrayList<>(current.size() + 1);
+        for (BaseEntity<Long> item : current) {
+            if (!Objects.equals(item.getId(), entity.getId())) copy.add(item);
+        }
+        copy.add(entity);
+        copy.sort(BY_ID);
+        return List.copyOf(copy);
+    }
+
+    private static <T extends BaseEntity<Long>> List<T> sortedCopy(List<? extends T> items) {
+        List<T> copy = new ArrayList<>(items);
+        copy.sort(BY_ID);
+        return List.copyOf(copy);
+    }
+}
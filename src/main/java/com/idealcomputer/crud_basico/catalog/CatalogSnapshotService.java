@@ -0,0 +1,173 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.models.*;
+import com.idealcomputer.crud_basico.repositories.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Mantém a fotografia (CatalogSnapshot) atual do catálogo.
+ * - A primeira fotografia é carregada sob demanda, com uma única leitura consistente das 8 tabelas.
+ * - Cada save/delete feito pelo BaseCrudService gera uma nova fotografia (copy-on-write),
+ *   trocada de forma atômica somente depois do commit da transação.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private final CpuRepository cpuRepository;
+    private final PlacaMaeRepository placaMaeRepository;
+    private final MemoriaRamRepository memoriaRamRepository;
+    private final GpuRepository gpuRepository;
+    private final ArmazenamentoRepository armazenamentoRepository;
+    private final FonteRepository fonteRepository;
+    private final GabineteRepository gabineteRepository;
+    private final RefrigeracaoRepository refrigeracaoRepository;
+
+    private final TransactionTemplate readTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    // Serializa as trocas de fotografia (carga completa e alterações incrementais).
+    private final Object writeLock = new Object();
+
+    @Autowired
+    public CatalogSnapshotService(CpuRepository cpuRepository,
+                                  PlacaMaeRepository placaMaeRepository,
+                                  MemoriaRamRepository memoriaRamRepository,
+                                  GpuRepository gpuRepository,
+                                  ArmazenamentoRepository armazenamentoRepository,
+                                  FonteRepository fonteRepository,
+                                  GabineteRepository gabineteRepository,
+                                  RefrigeracaoRepository refrigeracaoRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.cpuRepository = cpuRepository;
+        this.placaMaeRepository = placaMaeRepository;
+        this.memoriaRamRepository = memoriaRamRepository;
+        this.gpuRepository = gpuRepository;
+        this.armazenamentoRepository = armazenamentoRepository;
+        this.fonteRepository = fonteRepository;
+        this.gabineteRepository = gabineteRepository;
+        this.refrigeracaoRepository = refrigeracaoRepository;
+        this.eventPublisher = eventPublisher;
+
+        // Uma única conexão e uma leitura consistente para as 8 tabelas.
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Retorna a fotografia atual do catálogo, carregando-a do banco na primeira chamada.
+     * @return A fotografia atual (nunca nula).
+     */
+    public CatalogSnapshot current() {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        boolean loaded = false;
+        synchronized (writeLock) {
+            snapshot = current.get();
+            if (snapshot == null) {
+                snapshot = loadFromDatabase();
+                current.set(snapshot);
+                loaded = true;
+            }
+        }
+        if (loaded) {
+            eventPublisher.publishEvent(new CatalogSnapshotUpdatedEvent(snapshot));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Retorna a fotografia atual sem carregá-la, ou null se ela ainda não foi carregada.
+     */
+    public CatalogSnapshot currentIfLoaded() {
+        return current.get();
+    }
+
+    /**
+     * Descarta a fotografia atual e recarrega todo o catálogo do banco.
+     * @return A nova fotografia.
+     */
+    public CatalogSnapshot refresh() {
+        CatalogSnapshot snapshot;
+        synchronized (writeLock) {
+            snapshot = loadFromDatabase();
+            current.set(snapshot);
+        }
+        eventPublisher.publishEvent(new CatalogSnapshotUpdatedEvent(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * Aplica uma alteração feita pelo BaseCrudService na fotografia atual.
+     * Só é executado depois do commit, então a fotografia nunca enxerga dados que podem sofrer rollback.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @SuppressWarnings("unchecked")
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!CatalogSnapshot.isCatalogType(event.entityType())) {
+            return;
+        }
+        CatalogSnapshot updated;
+        synchronized (writeLock) {
+            CatalogSnapshot snapshot = current.get();
+            if (snapshot == null) {
+                // Ainda não foi carregada: a primeira leitura já vai trazer a alteração.
+                return;
+            }
+            long newVersion = versionCounter.incrementAndGet();
+            if (event.reload()) {
+                // Importação em massa: relê só a categoria alterada, em vez de aplicar linha por linha.
+                List<? extends BaseEntity<Long>> items = readTransaction.execute(status -> repositoryFor(event.entityType()).findAll());
+                updated = snapshot.withReplaced(newVersion, event.entityType(), items);
+            } else {
+                updated = event.isDelete()
+                        ? snapshot.withRemoved(newVersion, event.entityType(), event.id())
+                        : snapshot.withUpserted(newVersion, event.entityType(), (BaseEntity<Long>) event.entity());
+            }
+            current.set(updated);
+        }
+        eventPublisher.publishEvent(new CatalogSnapshotUpdatedEvent(updated));
+    }
+
+    private JpaRepository<? extends BaseEntity<Long>, Long> repositoryFor(Class<?> type) {
+        if (type == CpuModel.class) return cpuRepository;
+        if (type == PlacaMaeModel.class) return placaMaeRepository;
+        if (type == MemoriaRamModel.class) return memoriaRamRepository;
+        if (type == GpuModel.class) return gpuRepository;
+        if (type == ArmazenamentoModel.class) return armazenamentoRepository;
+        if (type == FonteModel.class) return fonteRepository;
+        if (type == GabineteModel.class) return gabineteRepository;
+        if (type == RefrigeracaoModel.class) return refrigeracaoRepository;
+        throw new IllegalArgumentException("Tipo fora do catálogo: " + type.getSimpleName());
+    }
+
+    private CatalogSnapshot loadFromDatabase() {
+        return readTransaction.execute(status -> CatalogSnapshot.of(
+                versionCounter.incrementAndGet(),
+                cpuRepository.findAll(),
+                placaMaeRepository.findAll(),
+                memoriaRamRepository.findAll(),
+                gpuRepository.findAll(),
+                armazenamentoRepository.findAll(),
+                fonteRepository.findAll(),
+                gabineteRepository.findAll(),
+                refrigeracaoRepository.findAll()));
+    }
+}
@@ -0,0 +1,9 @@
+package com.idealcomputer.crud_basico.catalog;
+
+/**
+ * Evento publicado pelo CatalogSnapshotService sempre que uma nova fotografia passa a ser a atual.
+ *
+ * @param snapshot A nova fotografia do catálogo.
+ */
+public record CatalogSnapshotUpdatedEvent(CatalogSnapshot snapshot) {
+}
@@ -0,0 +1,95 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.enums.CpuPerformanceTier;
+import com.idealcomputer.crud_basico.enums.FormFactor;
+import com.idealcomputer.crud_basico.models.CpuModel;
+import com.idealcomputer.crud_basico.models.FonteModel;
+import com.idealcomputer.crud_basico.models.GabineteModel;
+import com.idealcomputer.crud_basico.models.RefrigeracaoModel;
+
+/*
+ * Atributos de compatibilidade pré-calculados a partir dos campos de texto livre.
+ * Cada item recebe uma máscara de bits ao entrar na fotografia do catálogo; durante a
+ * recomendação a compatibilidade é testada com um AND, sem toLowerCase()/contains().
+ *
+ * As regras são exatamente as mesmas que o RecommendationService aplicava sobre os textos.
+ */
+public final class CompatibilityFlags {
+
+    // Fontes (FonteModel.formato)
+    public static final int PSU_SFX = 1;
+    public static final int PSU_ATX = 1 << 1;
+
+    // Gabinetes (GabineteModel.formatosPlacaMaeSuportados)
+    public static final int CASE_ATX = 1;            // Contém "atx" (inclui micro-atx, m-atx, e-atx)
+    public static final int CASE_MICRO_ATX = 1 << 1; // Contém "micro-atx"
+
+    // Refrigeração (RefrigeracaoModel.tipo e nome)
+    public static final int COOLER_WATER = 1;
+    public static final int COOLER_AIR = 1 << 1;
+    public static final int COOLER_LARGE_RADIATOR = 1 << 2; // Nome com "360" ou "280"
+
+    // Processadores (CpuModel, ver CpuCapabilities)
+    public static final int CPU_INTEGRATED_GRAPHICS = 1;
+    public static final int CPU_BUNDLED_COOLER = 1 << 1;
+    public static final int CPU_HIGH_END = 1 << 2;
+
+    private CompatibilityFlags() {
+    }
+
+    public static int ofCpu(CpuModel cpu) {
+        int flags = 0;
+        if (CpuCapabilities.hasIntegratedGraphics(cpu)) flags |= CPU_INTEGRATED_GRAPHICS;
+        if (CpuCapabilities.hasBundledCooler(cpu)) flags |= CPU_BUNDLED_COOLER;
+        if (CpuCapabilities.performanceTier(cpu) == CpuPerformanceTier.ALTO) flags |= CPU_HIGH_END;
+        return flags;
+    }
+
+    public static int ofFonte(FonteModel fonte) {
+        String formato = fonte.getFormato().toLowerCase();
+        int flags = 0;
+        if (formato.contains("sfx")) flags |= PSU_SFX;
+        if (formato.contains("atx")) flags |= PSU_ATX;
+        return flags;
+    }
+
+    public static int ofGabinete(GabineteModel gabinete) {
+        String suportados = gabinete.getFormatosPlacaMaeSuportados().toLowerCase();
+        int flags = 0;
+        if (suportados.contains("atx")) flags |= CASE_ATX;
+        if (suportados.contains("micro-atx")) flags |= CASE_MICRO_ATX;
+        return flags;
+    }
+
+    public static int ofRefrigeracao(RefrigeracaoModel refrigeracao) {
+        int flags = 0;
+        if (refrigeracao.getTipo().equalsIgnoreCase("Water Cooler")) flags |= COOLER_WATER;
+        if (refrigeracao.getTipo().equalsIgnoreCase("Air Cooler")) flags |= COOLER_AIR;
+        if (refrigeracao.getNome().contains("360") || refrigeracao.getNome().contains("280")) flags |= COOLER_LARGE_RADIATOR;
+        return flags;
+    }
+
+    /**
+     * Indica se um gabinete (pelas suas flags) aceita placas-mãe do formato informado.
+     */
+    public static boolean caseSupports(int caseFlags, FormFactor placaMae) {
+        return switch (placaMae) {
+            case MINI_ITX -> true;
+            case MICRO_ATX, ATX -> (caseFlags & CASE_ATX) != 0;
+            case OTHER -> false;
+        };
+    }
+
+    /**
+     * Formatos de fonte aceitos para a combinação placa-mãe × gabinete (qualquer bit em comum basta).
+     */
+    public static int acceptedPsuForms(FormFactor placaMae, int caseFlags) {
+        boolean caseAtx = (caseFlags & CASE_ATX) != 0;
+        return switch (placaMae) {
+            case MINI_ITX -> caseAtx ? PSU_SFX | PSU_ATX : PSU_SFX;
+            case MICRO_ATX -> !caseAtx || (caseFlags & CASE_MICRO_ATX) != 0 ? PSU_SFX : PSU_SFX | PSU_ATX;
+            case ATX -> PSU_SFX | PSU_ATX;
+            case OTHER -> 0;
+        };
+    }
+}
@@ -0,0 +1,226 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.enums.FormFactor;
+import com.idealcomputer.crud_basico.models.BaseEntity;
+import com.idealcomputer.crud_basico.models.CpuModel;
+import com.idealcomputer.crud_basico.models.MemoriaRamModel;
+import com.idealcomputer.crud_basico.models.PlacaMaeModel;
+
+import java.util.*;
+import java.util.function.Function;
+
+/*
+ * Índice de compatibilidade da plataforma (hash join).
+ * - CPUs e placas-mãe agrupadas pelo soquete normalizado.
+ * - Placas-mãe apontam para o grupo de memórias do mesmo tipo DDR normalizado.
+ *
+ * Assim os kits são gerados em tempo proporcional à quantidade de kits válidos,
+ * em vez de testar todas as combinações CPU × placa-mãe × RAM.
+ * O índice é imutável; cada alteração devolve um novo índice que reaproveita os grupos não afetados.
+ */
+public final class CompatibilityIndex {
+
+    private final Buckets<CpuModel> cpusBySocket;
+    private final Buckets<PlacaMaeModel> placasMaeBySocket;
+    private final Buckets<MemoriaRamModel> memoriasByDdr;
+
+    // Lista de kits materializada uma única vez por índice (sob demanda).
+    private volatile List<PlatformKit> kits;
+    // Kits ordenados por custo, também sob demanda.
+    private volatile KitRanking ranking;
+
+    private CompatibilityIndex(Buckets<CpuModel> cpusBySocket,
+                               Buckets<PlacaMaeModel> placasMaeBySocket,
+                               Buckets<MemoriaRamModel> memoriasByDdr) {
+        this.cpusBySocket = cpusBySocket;
+        this.placasMaeBySocket = placasMaeBySocket;
+        this.memoriasByDdr = memoriasByDdr;
+    }
+
+    public static CompatibilityIndex build(List<CpuModel> cpus, List<PlacaMaeModel> placasMae, List<MemoriaRamModel> memorias) {
+        return new CompatibilityIndex(
+                Buckets.of(cpus, cpu -> normalize(cpu.getSoquete())),
+                Buckets.of(placasMae, pm -> normalize(pm.getSoqueteCpu())),
+                Buckets.of(memorias, ram -> normalize(ram.getTipo())));
+    }
+
+    /**
+     * Normaliza soquetes e tipos DDR para servir de chave (ex: " am5 " -> "AM5").
+     */
+    public static String normalize(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Indica se o tipo informado afeta o índice (CPU, placa-mãe ou memória RAM).
+     */
+    public static boolean isIndexedType(Class<?> type) {
+        return type == CpuModel.class || type == PlacaMaeModel.class || type == MemoriaRamModel.class;
+    }
+
+    // --- ATUALIZAÇÕES INCREMENTAIS ---
+
+    public CompatibilityIndex withUpserted(Class<?> type, BaseEntity<Long> entity) {
+        if (type == CpuModel.class) {
+            return new CompatibilityIndex(cpusBySocket.with((CpuModel) entity), placasMaeBySocket, memoriasByDdr);
+        }
+        if (type == PlacaMaeModel.class) {
+            return new CompatibilityIndex(cpusBySocket, placasMaeBySocket.with((PlacaMaeModel) entity), memoriasByDdr);
+        }
+        if (type == MemoriaRamModel.class) {
+            return new CompatibilityIndex(cpusBySocket, placasMaeBySocket, memoriasByDdr.with((MemoriaRamModel) entity));
+        }
+        return this;
+    }
+
+    public CompatibilityIndex withRemoved(Class<?> type, Object id) {
+        if (type == CpuModel.class) {
+            return new CompatibilityIndex(cpusBySocket.without(id), placasMaeBySocket, memoriasByDdr);
+        }
+        if (type == PlacaMaeModel.class) {
+            return new CompatibilityIndex(cpusBySocket, placasMaeBySocket.without(id), memoriasByDdr);
+        }
+        if (type == MemoriaRamModel.class) {
+            return new CompatibilityIndex(cpusBySocket, placasMaeBySocket, memoriasByDdr.without(id));
+        }
+        return this;
+    }
+
+    // --- CONSULTAS ---
+
+    /**
+     * Retorna todos os kits compatíveis, na mesma ordem do antigo laço triplo
+     * (CPU por ID, depois placa-mãe por ID, depois RAM por ID).
+     * A lista é imutável e compartilhada entre requisições.
+     */
+    public List<PlatformKit> kits() {
+        List<PlatformKit> result = kits;
+        if (result == null) {
+            result = generateKits();
+            kits = result;
+        }
+        return result;
+    }
+
+    /**
+     * Os mesmos kits de kits(), ordenados por custo (ver KitRanking).
+     */
+    public KitRanking ranking() {
+        KitRanking result = ranking;
+        if (result == null) {
+            result = KitRanking.of(kits());
+            ranking = result;
+        }
+        return result;
+    }
+
+    public List<PlacaMaeModel> placasMaeForSocket(String soquete) {
+        return placasMaeBySocket.get(normalize(soquete));
+    }
+
+    public List<MemoriaRamModel> memoriasForDdr(String tipo) {
+        return memoriasByDdr.get(normalize(tipo));
+    }
+
+    private List<PlatformKit> generateKits() {
+        List<PlatformKit> result = new ArrayList<>();
+        // O formato de cada placa-mãe é interpretado uma vez, e não uma vez por kit.
+        Map<Long, FormFactor> formFactors = new HashMap<>();
+        for (CpuModel cpu : cpusBySocket.allInIdOrder()) {
+            // As capacidades da CPU também são resolvidas uma vez, e não uma vez por kit.
+            int cpuFlags = CompatibilityFlags.ofCpu(cpu);
+            for (PlacaMaeModel pm : placasMaeForSocket(cpu.getSoquete())) {
+                FormFactor formFactor = formFactors.computeIfAbsent(pm.getId(), id -> FormFactor.ofBoard(pm.getFormato()));
+                for (MemoriaRamModel ram : memoriasForDdr(pm.getTipoRamSuportado())) {
+                    result.add(new PlatformKit(cpu, pm, ram, formFactor, cpuFlags));
+                }
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /*
+     * Agrupamento imutável de entidades por chave, com cada grupo ordenado por ID.
+     * Guarda também a chave atual de cada ID, para que uma alteração (ex: troca de soquete)
+     * mexa apenas nos grupos antigo e novo.
+     */
+    private static final class Buckets<T extends BaseEntity<Long>> {
+
+        private static final Comparator<BaseEntity<Long>> BY_ID = Comparator.comparing(BaseEntity::getId);
+
+        private final Map<String, List<T>> byKey;
+        private final Map<Long, String> keyById;
+        private final Map<Long, T> byId;
+        private final Function<T, String> keyFunction;
+
+        private Buckets(Map<String, List<T>> byKey, Map<Long, String> keyById, Map<Long, T> byId, Function<T, String> keyFunction) {
+            this.byKey = byKey;
+            this.keyById = keyById;
+            this.byId = byId;
+            this.keyFunction = keyFunction;
+        }
+
+        static <T extends BaseEntity<Long>> Buckets<T> of(List<T> items, Function<T, String> keyFunction) {
+            Map<String, List<T>> byKey = new HashMap<>();
+            Map<Long, String> keyById = new HashMap<>();
+            Map<Long, T> byId = new TreeMap<>();
+            for (T item : items) {
+                String key = keyFunction.apply(item);
+                byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+                keyById.put(item.getId(), key);
+                byId.put(item.getId(), item);
+            }
+            byKey.replaceAll((k, list) -> {
+                list.sort(BY_ID);
+                return List.copyOf(list);
+            });
+            return new Buckets<>(byKey, keyById, byId, keyFunction);
+        }
+
+        List<T> get(String key) {
+            return byKey.getOrDefault(key, List.of());
+        }
+
+        Collection<T> allInIdOrder() {
+            return byId.values();
+        }
+
+        Buckets<T> with(T entity) {
+            Buckets<T> base = without(entity.getId());
+            String key = keyFunction.apply(entity);
+
+            Map<String, List<T>> byKey = new HashMap<>(base.byKey);
+            List<T> bucket = new ArrayList<>(byKey.getOrDefault(key, List.of()));
+            bucket.add(entity);
+            bucket.sort(BY_ID);
+            byKey.put(key, List.copyOf(bucket));
+
+            Map<Long, String> keyById = new HashMap<>(base.keyById);
+            keyById.put(entity.getId(), key);
+            Map<Long, T> byId = new TreeMap<>(base.byId);
+            byId.put(entity.getId(), entity);
+            return new Buckets<>(byKey, keyById, byId, keyFunction);
+        }
+
+        Buckets<T> without(Object id) {
+            String oldKey = keyById.get(id);
+            if (oldKey == null) {
+                return this;
+            }
+            Map<String, List<T>> byKey = new HashMap<>(this.byKey);
+            List<T> bucket = new ArrayList<>(byKey.get(oldKey));
+            bucket.removeIf(item -> Objects.equals(item.getId(), id));
+            if (bucket.isEmpty()) {
+                byKey.remove(oldKey);
+            } else {
+                byKey.put(oldKey, List.copyOf(bucket));
+            }
+
+            Map<Long, String> keyById = new HashMap<>(this.keyById);
+            keyById.remove(id);
+            Map<Long, T> byId = new TreeMap<>(this.byId);
+            byId.remove(id);
+            return new Buckets<>(byKey, keyById, byId, keyFunction);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.enums.FormFactor;
+import com.idealcomputer.crud_basico.models.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Estruturas de consulta por preço de cada categoria usada na seleção de componentes.
+ * São montadas junto com a fotografia do catálogo e, quando uma categoria muda,
+ * apenas as estruturas daquela categoria são recriadas.
+ */
+public final class ComponentIndexes {
+
+    private final PriceIndex<GpuModel> gpus;
+    private final PriceIndex<FonteModel> fontes;
+    // Fontes por formato aceito e potência, recriado junto com o índice de fontes.
+    private final FonteWattageIndex fontesByWattage;
+    // Refrigerações por soquete de CPU, separadas por tipo e tamanho de radiador.
+    private final RefrigeracaoSocketIndex refrigeracoes;
+    private final PriceIndex<GabineteModel> gabinetes;
+    // SSDs NVMe ordenados por capacidade (maior primeiro) e depois por preço (menor primeiro).
+    private final List<ArmazenamentoModel> nvmesByCapacity;
+    private final PriceIndex<ArmazenamentoModel> satas;
+    // Todos os SSDs (NVMe e SATA) por preço, usados na busca de alternativas.
+    private final PriceIndex<ArmazenamentoModel> ssds;
+
+    // Gabinetes compatíveis com cada formato de placa-mãe, calculados uma vez por formato.
+    private final Map<FormFactor, PriceIndex<GabineteModel>> gabinetesByFormFactor = new ConcurrentHashMap<>();
+
+    private ComponentIndexes(PriceIndex<GpuModel> gpus,
+                             PriceIndex<FonteModel> fontes,
+                             RefrigeracaoSocketIndex refrigeracoes,
+                             PriceIndex<GabineteModel> gabinetes,
+                             List<ArmazenamentoModel> nvmesByCapacity,
+                             PriceIndex<ArmazenamentoModel> satas,
+                             PriceIndex<ArmazenamentoModel> ssds) {
+        this.gpus = gpus;
+        this.fontes = fontes;
+        this.fontesByWattage = FonteWattageIndex.of(fontes);
+        this.refrigeracoes = refrigeracoes;
+        this.gabinetes = gabinetes;
+        this.nvmesByCapacity = nvmesByCapacity;
+        this.satas = satas;
+        this.ssds = ssds;
+    }
+
+    static ComponentIndexes build(List<GpuModel> gpus,
+                                  List<FonteModel> fontes,
+                                  List<RefrigeracaoModel> refrigeracoes,
+                                  List<GabineteModel> gabinetes,
+                                  List<ArmazenamentoModel> armazenamentos) {
+        return new ComponentIndexes(
+                gpuIndex(gpus), fonteIndex(fontes), refrigeracaoIndex(refrigeracoes), gabineteIndex(gabinetes),
+                nvmeList(armazenamentos), sataIndex(armazenamentos), ssdIndex(armazenamentos));
+    }
+
+    /**
+     * Recria apenas as estruturas da categoria alterada, reaproveitando as demais.
+     */
+    @SuppressWarnings("unchecked")
+    ComponentIndexes rebuilt(Class<?> type, List<?> items) {
+        if (type == GpuModel.class) {
+            return new ComponentIndexes(gpuIndex((List<GpuModel>) items), fontes, refrigeracoes, gabinetes, nvmesByCapacity, satas, ssds);
+        }
+        if (type == FonteModel.class) {
+            return new ComponentIndexes(gpus, fonteIndex((List<FonteModel>) items), refrigeracoes, gabinetes, nvmesByCapacity, satas, ssds);
+        }
+        if (type == RefrigeracaoModel.class) {
+            return new ComponentIndexes(gpus, fontes, refrigeracaoIndex((List<RefrigeracaoModel>) items), gabinetes, nvmesByCapacity, satas, ssds);
+        }
+        if (type == GabineteModel.class) {
+            return new ComponentIndexes(gpus, fontes, refrigeracoes, gabineteIndex((List<GabineteModel>) items), nvmesByCapacity, satas, ssds);
+        }
+        if (type == ArmazenamentoModel.class) {
+            List<ArmazenamentoModel> armazenamentos = (List<ArmazenamentoModel>) items;
+            return new ComponentIndexes(gpus, fontes, refrigeracoes, gabinetes,
+                    nvmeList(armazenamentos), sataIndex(armazenamentos), ssdIndex(armazenamentos));
+        }
+        return this;
+    }
+
+    /**
+     * Como rebuilt(), mas as refrigerações são atualizadas incrementalmente (apenas os soquetes da entidade).
+     */
+    @SuppressWarnings("unchecked")
+    ComponentIndexes withUpserted(Class<?> type, BaseEntity<Long> entity, List<?> items) {
+        if (type == RefrigeracaoModel.class) {
+            return new ComponentIndexes(gpus, fontes, refrigeracoes.withUpserted((RefrigeracaoModel) entity), gabinetes, nvmesByCapacity, satas, ssds);
+        }
+        return rebuilt(type, items);
+    }
+
+    /**
+     * Como rebuilt(), mas as refrigerações são atualizadas incrementalmente (apenas os soquetes da entidade).
+     */
+    ComponentIndexes withRemoved(Class<?> type, Object id, List<?> items) {
+        if (type == RefrigeracaoModel.class) {
+            return new ComponentIndexes(gpus, fontes, refrigeracoes.withRemoved(id), gabinetes, nvmesByCapacity, satas, ssds);
+        }
+        return rebuilt(type, items);
+    }
+
+    // --- GETTERS ---
+
+    public PriceIndex<GpuModel> getGpus() { return gpus; }
+    public PriceIndex<FonteModel> getFontes() { return fontes; }
+    public FonteWattageIndex getFontesByWattage() { return fontesByWattage; }
+    public PriceIndex<GabineteModel> getGabinetes() { return gabinetes; }
+    public List<ArmazenamentoModel> getNvmesByCapacity() { return nvmesByCapacity; }
+    public PriceIndex<ArmazenamentoModel> getSatas() { return satas; }
+    public PriceIndex<ArmazenamentoModel> getSsds() { return ssds; }
+
+    /**
+     * Gabinetes compatíveis com o formato da placa-mãe, ordenados por preço.
+     * As flags de cada gabinete (CompatibilityFlags.CASE_*) seguem alinhadas no índice.
+     */
+    public PriceIndex<GabineteModel> gabinetesFor(FormFactor formFactor) {
+        return gabinetesByFormFactor.computeIfAbsent(formFactor,
+                f -> gabinetes.subset(i -> CompatibilityFlags.caseSupports(gabinetes.flagsAt(i), f)));
+    }
+
+    /**
+     * Refrigerações que suportam o soquete da CPU, separadas por tipo e ordenadas por preço.
+     */
+    public RefrigeracaoSocketIndex.Coolers refrigeracoesFor(String soqueteCpu) {
+        return refrigeracoes.forSocket(soqueteCpu);
+    }
+
+    // --- CONSTRUÇÃO ---
+
+    private static PriceIndex<GpuModel> gpuIndex(List<GpuModel> gpus) {
+        return PriceIndex.of(gpus, GpuModel::getPreco);
+    }
+
+    private static PriceIndex<FonteModel> fonteIndex(List<FonteModel> fontes) {
+        return PriceIndex.of(fontes, FonteModel::getPreco, CompatibilityFlags::ofFonte);
+    }
+
+    private static RefrigeracaoSocketIndex refrigeracaoIndex(List<RefrigeracaoModel> refrigeracoes) {
+        return RefrigeracaoSocketIndex.build(refrigeracoes);
+    }
+
+    private static PriceIndex<GabineteModel> gabineteIndex(List<GabineteModel> gabinetes) {
+        return PriceIndex.of(gabinetes, GabineteModel::getPreco, CompatibilityFlags::ofGabinete);
+    }
+
+    private static List<ArmazenamentoModel> nvmeList(List<ArmazenamentoModel> armazenamentos) {
+        List<ArmazenamentoModel> nvmes = new ArrayList<>();
+        for (ArmazenamentoModel a : armazenamentos) {
+            if (a.getTipo().equalsIgnoreCase("SSD NVMe")) nvmes.add(a);
+        }
+        nvmes.sort(Comparator.comparing(ArmazenamentoModel::getCapacidadeGb).reversed()
+                .thenComparing(ArmazenamentoModel::getPreco));
+        return List.copyOf(nvmes);
+    }
+
+    private static PriceIndex<ArmazenamentoModel> sataIndex(List<ArmazenamentoModel> armazenamentos) {
+        return PriceIndex.of(armazenamentos.stream()
+                        .filter(a -> a.getTipo().equalsIgnoreCase("SSD SATA"))
+                        .toList(),
+                ArmazenamentoModel::getPreco);
+    }
+
+    private static PriceIndex<ArmazenamentoModel> ssdIndex(List<ArmazenamentoModel> armazenamentos) {
+        return PriceIndex.of(armazenamentos.stream()
+                        .filter(a -> a.getTipo().equalsIgnoreCase("SSD NVMe") || a.getTipo().equalsIgnoreCase("SSD SATA"))
+                        .toList(),
+                ArmazenamentoModel::getPreco);
+    }
+}
@@ -0,0 +1,58 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.enums.CpuPerformanceTier;
+import com.idealcomputer.crud_basico.models.CpuModel;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/*
+ * Capacidades de um processador (gráficos integrados, cooler incluso e faixa de desempenho).
+ * Os valores cadastrados em CpuModel têm prioridade; quando estão em branco (cadastro sem o campo
+ * ou registro anterior às colunas), são derivados do nome uma única vez, no cadastro ou ao montar
+ * a fotografia do catálogo. O motor de recomendação nunca lê o nome.
+ */
+public final class CpuCapabilities {
+
+    // Número do modelo com sufixo G/GE/GT (ex: "5600G", "8700GE"), sem diferenciar maiúsculas.
+    private static final Pattern INTEGRATED_GRAPHICS_MODEL = Pattern.compile("\\d{4,5}G[ET]?\\b");
+
+    private CpuCapabilities() {
+    }
+
+    /**
+     * Preenche os campos de capacidade em branco a partir do nome. Valores informados pelo admin são mantidos.
+     */
+    public static void fillMissing(CpuModel cpu) {
+        if (cpu.getGraficosIntegrados() == null) cpu.setGraficosIntegrados(hasIntegratedGraphics(cpu));
+        if (cpu.getCoolerIncluso() == null) cpu.setCoolerIncluso(hasBundledCooler(cpu));
+        if (cpu.getNivelDesempenho() == null) cpu.setNivelDesempenho(performanceTier(cpu));
+    }
+
+    public static boolean hasIntegratedGraphics(CpuModel cpu) {
+        if (cpu.getGraficosIntegrados() != null) return cpu.getGraficosIntegrados();
+        return INTEGRATED_GRAPHICS_MODEL.matcher(upperName(cpu)).find();
+    }
+
+    public static boolean hasBundledCooler(CpuModel cpu) {
+        if (cpu.getCoolerIncluso() != null) return cpu.getCoolerIncluso();
+        String name = upperName(cpu);
+        return hasIntegratedGraphics(cpu) || name.contains("I3-12100F") || name.contains("RYZEN 5 5600");
+    }
+
+    public static CpuPerformanceTier performanceTier(CpuModel cpu) {
+        if (cpu.getNivelDesempenho() != null) return cpu.getNivelDesempenho();
+        String name = upperName(cpu);
+        if (name.contains("RYZEN 7") || name.contains("RYZEN 9") ||
+                name.contains("I7") || name.contains("I9") ||
+                name.contains("13600K")) {
+            return CpuPerformanceTier.ALTO;
+        }
+        if (name.contains("RYZEN 5") || name.contains("I5")) return CpuPerformanceTier.INTERMEDIARIO;
+        return CpuPerformanceTier.ENTRADA;
+    }
+
+    private static String upperName(CpuModel cpu) {
+        return cpu.getNome() == null ? "" : cpu.getNome().toUpperCase(Locale.ROOT);
+    }
+}
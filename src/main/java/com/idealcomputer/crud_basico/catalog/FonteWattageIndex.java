@@ -0,0 +1,109 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.models.FonteModel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+ * Fontes agrupadas pelos formatos aceitos (CompatibilityFlags.PSU_*), cada grupo ordenado por potência,
+ * com um array de mínimo de sufixo: minFrom[i] é a posição da fonte mais barata (menor ID em caso de
+ * empate) entre as posições [i, n).
+ *
+ * "A fonte mais barata com pelo menos X watts" vira uma busca binária na potência mais uma leitura
+ * de minFrom. Se nem essa fonte cabe no orçamento, nenhuma outra com potência suficiente cabe.
+ * O resultado é o mesmo da antiga varredura por preço (PriceIndex.cheapestWithAny).
+ */
+public final class FonteWattageIndex {
+
+    // Combinações de formatos que CompatibilityFlags.acceptedPsuForms pode devolver.
+    private static final int FORM_MASKS = (CompatibilityFlags.PSU_SFX | CompatibilityFlags.PSU_ATX) + 1;
+
+    private final Group[] groupsByForms;
+
+    private FonteWattageIndex(Group[] groupsByForms) {
+        this.groupsByForms = groupsByForms;
+    }
+
+    public static FonteWattageIndex of(PriceIndex<FonteModel> fontes) {
+        Group[] groups = new Group[FORM_MASKS];
+        for (int forms = 1; forms < FORM_MASKS; forms++) {
+            int accepted = forms;
+            groups[forms] = Group.of(fontes.subset(i -> (fontes.flagsAt(i) & accepted) != 0));
+        }
+        return new FonteWattageIndex(groups);
+    }
+
+    /**
+     * A fonte mais barata (menor ID em caso de empate) com ao menos um dos formatos aceitos,
+     * potência >= requiredWattage e preço <= budget, ou null.
+     */
+    public FonteModel cheapestAtLeast(int acceptedForms, double requiredWattage, double budget) {
+        if (acceptedForms <= 0 || acceptedForms >= FORM_MASKS) return null;
+        return groupsByForms[acceptedForms].cheapestAtLeast(requiredWattage, budget);
+    }
+
+    private static final class Group {
+
+        private final List<FonteModel> items;
+        private final int[] watts;
+        private final double[] prices;
+        private final int[] minFrom;
+
+        private Group(List<FonteModel> items, int[] watts, double[] prices, int[] minFrom) {
+            this.items = items;
+            this.watts = watts;
+            this.prices = prices;
+            this.minFrom = minFrom;
+        }
+
+        /**
+         * Recebe as fontes já ordenadas por preço e ID (PriceIndex): a ordenação por potência é estável,
+         * então, entre fontes de mesma potência, a mais barata vem primeiro.
+         */
+        static Group of(PriceIndex<FonteModel> byPrice) {
+            int n = byPrice.size();
+            List<Integer> positions = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) positions.add(i);
+            positions.sort(Comparator.comparingInt(i -> wattsOf(byPrice.get(i))));
+
+            List<FonteModel> items = new ArrayList<>(n);
+            int[] watts = new int[n];
+            double[] prices = new double[n];
+            // Posição de cada fonte na ordem por preço; menor posição = mais barata, ou mesmo preço e menor ID.
+            int[] priceRank = new int[n];
+            for (int i = 0; i < n; i++) {
+                int position = positions.get(i);
+                items.add(byPrice.get(position));
+                watts[i] = wattsOf(byPrice.get(position));
+                prices[i] = byPrice.priceAt(position);
+                priceRank[i] = position;
+            }
+
+            int[] minFrom = new int[n];
+            for (int i = n - 1; i >= 0; i--) {
+                minFrom[i] = i == n - 1 || priceRank[i] < priceRank[minFrom[i + 1]] ? i : minFrom[i + 1];
+            }
+            return new Group(List.copyOf(items), watts, prices, minFrom);
+        }
+
+        FonteModel cheapestAtLeast(double requiredWattage, double budget) {
+            int low = 0;
+            int high = watts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (watts[mid] < requiredWattage) low = mid + 1;
+                else high = mid;
+            }
+            if (low == watts.length) return null;
+
+            int cheapest = minFrom[low];
+            return prices[cheapest] <= budget ? items.get(cheapest) : null;
+        }
+
+        private static int wattsOf(FonteModel fonte) {
+            return fonte.getPotenciaWatts() != null ? fonte.getPotenciaWatts() : 0;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+ * Os kits de plataforma em duas ordens fixas, calculadas uma vez por índice de compatibilidade:
+ * do mais barato para o mais caro e do mais caro para o mais barato.
+ * Em caso de empate de custo, os kits mantêm a ordem original de kits() nas duas ordens,
+ * exatamente como a antiga ordenação estável de cada tentativa do fallback.
+ *
+ * Os kits que cabem em um orçamento de plataforma são sempre uma faixa contínua
+ * (um prefixo na ordem crescente, um sufixo na decrescente), encontrada por busca binária.
+ */
+public final class KitRanking {
+
+    private final PlatformKit[] ascending;
+    private final double[] ascendingCosts;
+    private final PlatformKit[] descending;
+    private final double[] descendingCosts;
+
+    private KitRanking(PlatformKit[] ascending, PlatformKit[] descending) {
+        this.ascending = ascending;
+        this.descending = descending;
+        this.ascendingCosts = costs(ascending);
+        this.descendingCosts = costs(descending);
+    }
+
+    static KitRanking of(List<PlatformKit> kits) {
+        // Arrays.sort de objetos é estável: empates mantêm a ordem de kits().
+        PlatformKit[] ascending = kits.toArray(new PlatformKit[0]);
+        Arrays.sort(ascending, Comparator.comparingDouble(PlatformKit::totalCost));
+        PlatformKit[] descending = kits.toArray(new PlatformKit[0]);
+        Arrays.sort(descending, Comparator.comparingDouble(PlatformKit::totalCost).reversed());
+        return new KitRanking(ascending, descending);
+    }
+
+    public int size() {
+        return ascending.length;
+    }
+
+    /**
+     * Kits com custo <= budget, do mais barato para o mais caro.
+     */
+    public Slice cheapestFirst(double budget) {
+        int low = 0;
+        int high = ascendingCosts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ascendingCosts[mid] <= budget) low = mid + 1;
+            else high = mid;
+        }
+        return new Slice(ascending, 0, low);
+    }
+
+    /**
+     * Kits com custo <= budget, do mais caro para o mais barato.
+     */
+    public Slice mostExpensiveFirst(double budget) {
+        int low = 0;
+        int high = descendingCosts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (descendingCosts[mid] > budget) low = mid + 1;
+            else high = mid;
+        }
+        return new Slice(descending, low, descending.length);
+    }
+
+    private static double[] costs(PlatformKit[] kits) {
+        double[] costs = new double[kits.length];
+        for (int i = 0; i < kits.length; i++) {
+            costs[i] = kits[i].totalCost();
+        }
+        return costs;
+    }
+
+    /**
+     * Uma faixa contínua de uma das ordens, acessada por posição (0 = primeiro da ordem).
+     */
+    public static final class Slice {
+
+        private final PlatformKit[] kits;
+        private final int from;
+        private final int to;
+
+        private Slice(PlatformKit[] kits, int from, int to) {
+            this.kits = kits;
+            this.from = from;
+            this.to = to;
+        }
+
+        public int size() {
+            return to - from;
+        }
+
+        public PlatformKit get(int position) {
+            return kits[from + position];
+        }
+    }
+}
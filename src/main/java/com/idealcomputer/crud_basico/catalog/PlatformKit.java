@@ -0,0 +1,32 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.enums.FormFactor;
+import com.idealcomputer.crud_basico.models.CpuModel;
+import com.idealcomputer.crud_basico.models.MemoriaRamModel;
+import com.idealcomputer.crud_basico.models.PlacaMaeModel;
+
+/**
+ * Um kit de plataforma compatível: CPU + placa-mãe (mesmo soquete) + memória RAM (mesmo tipo DDR).
+ *
+ * @param totalCost  A soma dos preços dos três componentes, calculada uma única vez.
+ * @param formFactor O formato da placa-mãe, já interpretado (ver FormFactor.ofBoard).
+ * @param cpuFlags   As capacidades da CPU (CompatibilityFlags.CPU_*), calculadas uma vez por CPU.
+ */
+public record PlatformKit(CpuModel cpu, PlacaMaeModel placaMae, MemoriaRamModel memoriaRam, double totalCost, FormFactor formFactor, int cpuFlags) {
+
+    public PlatformKit(CpuModel cpu, PlacaMaeModel placaMae, MemoriaRamModel memoriaRam, FormFactor formFactor, int cpuFlags) {
+        this(cpu, placaMae, memoriaRam, cpu.getPreco() + placaMae.getPreco() + memoriaRam.getPreco(), formFactor, cpuFlags);
+    }
+
+    public PlatformKit(CpuModel cpu, PlacaMaeModel placaMae, MemoriaRamModel memoriaRam, FormFactor formFactor) {
+        this(cpu, placaMae, memoriaRam, formFactor, CompatibilityFlags.ofCpu(cpu));
+    }
+
+    public PlatformKit(CpuModel cpu, PlacaMaeModel placaMae, MemoriaRamModel memoriaRam) {
+        this(cpu, placaMae, memoriaRam, FormFactor.ofBoard(placaMae.getFormato()));
+    }
+
+    public boolean hasCpuFlag(int flag) {
+        return (cpuFlags & flag) != 0;
+    }
+}
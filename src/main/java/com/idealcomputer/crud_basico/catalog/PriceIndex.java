@@ -0,0 +1,214 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.models.BaseEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/*
+ * Uma categoria de componentes ordenada por preço (e por ID em caso de empate),
+ * com os preços, IDs e flags de compatibilidade (CompatibilityFlags) guardados
+ * em arrays primitivos alinhados com os itens.
+ *
+ * Todas as consultas por orçamento usam busca binária sobre o array de preços;
+ * nenhuma ordenação é feita durante a requisição.
+ * Em caso de empate de preço, as consultas sempre devolvem o item de menor ID,
+ * que é o mesmo resultado das antigas consultas com stream().sorted()/min()/max().
+ */
+public final class PriceIndex<T extends BaseEntity<Long>> {
+
+    private static final PriceIndex<?> EMPTY = new PriceIndex<>(List.of(), new double[0], new long[0], new int[0]);
+
+    private final List<T> items;
+    private final double[] prices;
+    private final long[] ids;
+    private final int[] flags;
+
+    private PriceIndex(List<T> items, double[] prices, long[] ids, int[] flags) {
+        this.items = items;
+        this.prices = prices;
+        this.ids = ids;
+        this.flags = flags;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends BaseEntity<Long>> PriceIndex<T> empty() {
+        return (PriceIndex<T>) EMPTY;
+    }
+
+    /**
+     * Cria o índice a partir dos itens e da função que extrai o preço de cada um.
+     */
+    public static <T extends BaseEntity<Long>> PriceIndex<T> of(Collection<? extends T> source, ToDoubleFunction<? super T> price) {
+        return of(source, price, item -> 0);
+    }
+
+    /**
+     * Cria o índice calculando também as flags de compatibilidade de cada item (uma única vez).
+     */
+    public static <T extends BaseEntity<Long>> PriceIndex<T> of(Collection<? extends T> source,
+                                                                 ToDoubleFunction<? super T> price,
+                                                                 ToIntFunction<? super T> flagsFunction) {
+        List<T> sorted = new ArrayList<>(source);
+        sorted.sort(Comparator.<T>comparingDouble(price::applyAsDouble).thenComparing(BaseEntity::getId));
+
+        double[] prices = new double[sorted.size()];
+        long[] ids = new long[sorted.size()];
+        int[] flags = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            prices[i] = price.applyAsDouble(sorted.get(i));
+            ids[i] = sorted.get(i).getId();
+            flags[i] = flagsFunction.applyAsInt(sorted.get(i));
+        }
+        return new PriceIndex<>(List.copyOf(sorted), prices, ids, flags);
+    }
+
+    /**
+     * Subconjunto das posições aceitas pelo filtro, mantendo a ordem e os arrays alinhados.
+     */
+    public PriceIndex<T> subset(IntPredicate positionFilter) {
+        List<T> subsetItems = new ArrayList<>();
+        double[] subsetPrices = new double[items.size()];
+        long[] subsetIds = new long[items.size()];
+        int[] subsetFlags = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            if (positionFilter.test(i)) {
+                int position = subsetItems.size();
+                subsetItems.add(items.get(i));
+                subsetPrices[position] = prices[i];
+                subsetIds[position] = ids[i];
+                subsetFlags[position] = flags[i];
+            }
+        }
+        int size = subsetItems.size();
+        return new PriceIndex<>(List.copyOf(subsetItems),
+                Arrays.copyOf(subsetPrices, size), Arrays.copyOf(subsetIds, size), Arrays.copyOf(subsetFlags, size));
+    }
+
+    // --- ACESSO POSICIONAL ---
+
+    public int size() { return items.size(); }
+    public T get(int index) { return items.get(index); }
+    public double priceAt(int index) { return prices[index]; }
+    public long idAt(int index) { return ids[index]; }
+    public int flagsAt(int index) { return flags[index]; }
+    public List<T> items() { return items; }
+
+    // --- BUSCAS BINÁRIAS ---
+
+    /**
+     * Quantidade de itens com preço <= budget. Os itens dentro do orçamento são as posições [0, count).
+     */
+    public int countAtMost(double budget) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] <= budget) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * Primeira posição com preço >= price.
+     */
+    public int firstIndexAtLeast(double price) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] < price) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // --- CONSULTAS POR ORÇAMENTO ---
+
+    /**
+     * O item mais caro dentro do orçamento (menor ID em caso de empate), ou null.
+     */
+    public T mostExpensiveAtMost(double budget) {
+        int count = countAtMost(budget);
+        if (count == 0) return null;
+        return items.get(firstIndexAtLeast(prices[count - 1]));
+    }
+
+    /**
+     * O item mais barato dentro do orçamento (menor ID em caso de empate), ou null.
+     */
+    public T cheapestAtMost(double budget) {
+        return countAtMost(budget) > 0 ? items.get(0) : null;
+    }
+
+    /**
+     * O item mais barato entre as posições [0, count) que satisfaz o filtro, ou null.
+     */
+    public T cheapestMatching(int count, Predicate<? super T> filter) {
+        for (int i = 0; i < count; i++) {
+            T item = items.get(i);
+            if (filter.test(item)) return item;
+        }
+        return null;
+    }
+
+    /**
+     * O item mais caro entre as posições [0, count) que satisfaz o filtro (menor ID em caso de empate), ou null.
+     */
+    public T mostExpensiveMatching(int count, Predicate<? super T> filter) {
+        for (int i = count - 1; i >= 0; i--) {
+            if (filter.test(items.get(i))) {
+                // Volta ao início da faixa de mesmo preço para respeitar o desempate por menor ID.
+                for (int j = firstIndexAtLeast(prices[i]); j <= i; j++) {
+                    if (filter.test(items.get(j))) return items.get(j);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * O item de menor ID entre as posições [0, count), ou null.
+     */
+    public T lowestId(int count) {
+        int best = -1;
+        for (int i = 0; i < count; i++) {
+            if (best < 0 || ids[i] < ids[best]) best = i;
+        }
+        return best < 0 ? null : items.get(best);
+    }
+
+    // --- CONSULTAS POR FLAGS ---
+
+    /**
+     * O item mais barato entre as posições [0, count) que tem todas as flags informadas, ou null.
+     */
+    public T cheapestWith(int count, int allFlags) {
+        for (int i = 0; i < count; i++) {
+            if ((flags[i] & allFlags) == allFlags) return items.get(i);
+        }
+        return null;
+    }
+
+    /**
+     * O item mais caro entre as posições [0, count) que tem todas as flags informadas (menor ID em caso de empate), ou null.
+     */
+    public T mostExpensiveWith(int count, int allFlags) {
+        for (int i = count - 1; i >= 0; i--) {
+            if ((flags[i] & allFlags) == allFlags) {
+                for (int j = firstIndexAtLeast(prices[i]); j <= i; j++) {
+                    if ((flags[j] & allFlags) == allFlags) return items.get(j);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,170 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.models.RefrigeracaoModel;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/*
+ * Índice soquete -> refrigerações compatíveis.
+ * Uma refrigeração atende um soquete quando a lista de soquetes dela (RefrigeracaoModel.soquetesCpuSuportados)
+ * contém o soquete da CPU, sem diferenciar maiúsculas e ignorando espaços: a mesma regra do contains()
+ * original, então listas separadas por vírgula, espaço ou "|" continuam funcionando, e "LGA 1700"
+ * também atende "LGA1700". Cada soquete consultado é calculado uma única vez por índice e guarda as
+ * refrigerações já divididas por tipo e tamanho de radiador, cada grupo ordenado por preço; a escolha
+ * da refrigeração vira uma busca binária no grupo certo, sem toUpperCase()/contains() por kit.
+ *
+ * O índice é imutável para quem o lê; cada alteração devolve um novo índice que descarta apenas
+ * os soquetes atendidos pela refrigeração alterada (antes e depois da alteração).
+ */
+public final class RefrigeracaoSocketIndex {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Soquete compactado -> refrigerações, preenchido sob demanda (os soquetes de CPU são poucos)
+    private final Map<String, Coolers> bySocket;
+    private final Map<Long, RefrigeracaoModel> byId;
+    // Lista de soquetes compactada de cada refrigeração, por ID
+    private final Map<Long, String> supportedById;
+
+    private RefrigeracaoSocketIndex(Map<String, Coolers> bySocket, Map<Long, RefrigeracaoModel> byId,
+                                    Map<Long, String> supportedById) {
+        this.bySocket = bySocket;
+        this.byId = byId;
+        this.supportedById = supportedById;
+    }
+
+    public static RefrigeracaoSocketIndex build(List<RefrigeracaoModel> refrigeracoes) {
+        Map<Long, RefrigeracaoModel> byId = new LinkedHashMap<>();
+        Map<Long, String> supportedById = new HashMap<>();
+        for (RefrigeracaoModel refrigeracao : refrigeracoes) {
+            byId.put(refrigeracao.getId(), refrigeracao);
+            supportedById.put(refrigeracao.getId(), compact(refrigeracao.getSoquetesCpuSuportados()));
+        }
+        return new RefrigeracaoSocketIndex(new ConcurrentHashMap<>(), byId, supportedById);
+    }
+
+    /**
+     * Maiúsculas e sem nenhum espaço (ex: " lga 1700 " -> "LGA1700").
+     */
+    static String compact(String value) {
+        return WHITESPACE.matcher(CompatibilityIndex.normalize(value)).replaceAll("");
+    }
+
+    static boolean supports(String compactSupported, String compactSocket) {
+        return compactSupported.contains(compactSocket);
+    }
+
+    /**
+     * As refrigerações que suportam o soquete da CPU (vazio se nenhuma).
+     */
+    public Coolers forSocket(String soqueteCpu) {
+        String key = compact(soqueteCpu);
+        if (key.isEmpty()) return Coolers.NONE; // CPU sem soquete cadastrado não recebe refrigeração
+        return bySocket.computeIfAbsent(key, socket -> {
+            List<RefrigeracaoModel> items = new ArrayList<>();
+            byId.forEach((id, refrigeracao) -> {
+                if (supports(supportedById.get(id), socket)) items.add(refrigeracao);
+            });
+            return items.isEmpty() ? Coolers.NONE : Coolers.of(items);
+        });
+    }
+
+    // --- ATUALIZAÇÕES INCREMENTAIS ---
+
+    public RefrigeracaoSocketIndex withUpserted(RefrigeracaoModel refrigeracao) {
+        Map<Long, RefrigeracaoModel> newById = new LinkedHashMap<>(byId);
+        Map<Long, String> newSupported = new HashMap<>(supportedById);
+        newById.put(refrigeracao.getId(), refrigeracao);
+        String previous = newSupported.put(refrigeracao.getId(), compact(refrigeracao.getSoquetesCpuSuportados()));
+        return withoutAffectedSockets(previous, newSupported.get(refrigeracao.getId()), newById, newSupported);
+    }
+
+    public RefrigeracaoSocketIndex withRemoved(Object id) {
+        if (!byId.containsKey(id)) return this;
+        Map<Long, RefrigeracaoModel> newById = new LinkedHashMap<>(byId);
+        Map<Long, String> newSupported = new HashMap<>(supportedById);
+        newById.remove(id);
+        String previous = newSupported.remove(id);
+        return withoutAffectedSockets(previous, null, newById, newSupported);
+    }
+
+    /**
+     * Mantém os soquetes já calculados que a refrigeração alterada não atende (nem antes, nem depois);
+     * os demais são recalculados na próxima consulta.
+     */
+    private RefrigeracaoSocketIndex withoutAffectedSockets(String previous, String current, Map<Long, RefrigeracaoModel> newById,
+                                                           Map<Long, String> newSupported) {
+        Map<String, Coolers> newBySocket = new ConcurrentHashMap<>();
+        bySocket.forEach((socket, coolers) -> {
+            boolean affected = (previous != null && supports(previous, socket)) || (current != null && supports(current, socket));
+            if (!affected) newBySocket.put(socket, coolers);
+        });
+        return new RefrigeracaoSocketIndex(newBySocket, newById, newSupported);
+    }
+
+    /**
+     * As refrigerações de um soquete, por preço: todas, e separadas por tipo e tamanho de radiador.
+     */
+    public static final class Coolers {
+
+        static final Coolers NONE = of(List.of());
+
+        private final PriceIndex<RefrigeracaoModel> all;
+        private final PriceIndex<RefrigeracaoModel> water;
+        private final PriceIndex<RefrigeracaoModel> waterLargeRadiator;
+        private final PriceIndex<RefrigeracaoModel> air;
+        // lowestIdUpTo[i] = posição (em "all") do menor ID entre as posições [0, i].
+        private final int[] lowestIdUpTo;
+
+        private Coolers(PriceIndex<RefrigeracaoModel> all) {
+            this.all = all;
+            this.water = all.subset(i -> (all.flagsAt(i) & CompatibilityFlags.COOLER_WATER) != 0);
+            this.waterLargeRadiator = water.subset(i -> (water.flagsAt(i) & CompatibilityFlags.COOLER_LARGE_RADIATOR) != 0);
+            this.air = all.subset(i -> (all.flagsAt(i) & CompatibilityFlags.COOLER_AIR) != 0);
+            this.lowestIdUpTo = new int[all.size()];
+            for (int i = 0; i < all.size(); i++) {
+                lowestIdUpTo[i] = i == 0 || all.idAt(i) < all.idAt(lowestIdUpTo[i - 1]) ? i : lowestIdUpTo[i - 1];
+            }
+        }
+
+        static Coolers of(Collection<RefrigeracaoModel> items) {
+            return new Coolers(PriceIndex.of(items, RefrigeracaoModel::getPreco, CompatibilityFlags::ofRefrigeracao));
+        }
+
+        // Todas as refrigerações do soquete, por preço.
+        List<RefrigeracaoModel> items() {
+            return all.items();
+        }
+
+        /**
+         * A refrigeração de menor ID dentro do orçamento, ou null.
+         */
+        public RefrigeracaoModel lowestIdAtMost(double budget) {
+            int count = all.countAtMost(budget);
+            return count == 0 ? null : all.get(lowestIdUpTo[count - 1]);
+        }
+
+        /**
+         * O water cooler de radiador grande (280/360) mais caro dentro do orçamento, ou null.
+         */
+        public RefrigeracaoModel mostExpensiveLargeWaterAtMost(double budget) {
+            return waterLargeRadiator.mostExpensiveAtMost(budget);
+        }
+
+        /**
+         * O water cooler mais barato dentro do orçamento, ou null.
+         */
+        public RefrigeracaoModel cheapestWaterAtMost(double budget) {
+            return water.cheapestAtMost(budget);
+        }
+
+        /**
+         * O air cooler mais barato dentro do orçamento, ou null.
+         */
+        public RefrigeracaoModel cheapestAirAtMost(double budget) {
+            return air.cheapestAtMost(budget);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.idealcomputer.crud_basico.config;
+
+import com.idealcomputer.crud_basico.exceptions.DatabaseBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Bulkhead na frente do pool de conexões: no máximo "permits" conexões emprestadas ao mesmo tempo
+ * (o tamanho do pool do Hikari). As demais requisições esperam em um Semaphore justo, onde uma
+ * virtual thread fica estacionada sem ocupar thread de plataforma, e desistem com
+ * DatabaseBusyException (503) depois de "maxWaitMs", em vez de esperar o connection-timeout do Hikari.
+ *
+ * Métricas (expostas em /actuator/prometheus):
+ * - db.bulkhead.wait{outcome}  tempo de espera por uma permissão (acquired/rejected)
+ * - db.bulkhead.queued         requisições esperando neste momento
+ * - db.bulkhead.available      permissões livres neste momento
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long maxWaitMs;
+    private final Timer acquiredWait;
+    private final Timer rejectedWait;
+    private final Counter rejected;
+
+    public BulkheadDataSource(DataSource target, int permits, long maxWaitMs, MeterRegistry registry) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitMs = maxWaitMs;
+        this.acquiredWait = waitTimer(registry, "acquired");
+        this.rejectedWait = waitTimer(registry, "rejected");
+        this.rejected = Counter.builder("db.bulkhead.rejected")
+                .description("Pedidos de conexão recusados por exceder o tempo máximo de espera")
+                .register(registry);
+        Gauge.builder("db.bulkhead.queued", this.permits, Semaphore::getQueueLength)
+                .description("Pedidos de conexão esperando uma permissão do bulkhead")
+                .register(registry);
+        Gauge.builder("db.bulkhead.available", this.permits, Semaphore::availablePermits)
+                .description("Permissões livres no bulkhead do banco")
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return borrow(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return borrow(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrompido enquanto esperava uma conexão com o banco.");
+        }
+        long waited = System.nanoTime() - start;
+        if (!acquired) {
+            rejectedWait.record(waited, TimeUnit.NANOSECONDS);
+            rejected.increment();
+            throw new DatabaseBusyException("Servidor ocupado: nenhuma conexão com o banco ficou livre em " + maxWaitMs + " ms.");
+        }
+        acquiredWait.record(waited, TimeUnit.NANOSECONDS);
+    }
+
+    private Connection borrow(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return releasingOnClose(connection);
+    }
+
+    /**
+     * Devolve a permissão quando a conexão é fechada (uma única vez, mesmo com close() repetido).
+     */
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private static Timer waitTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("db.bulkhead.wait")
+                .description("Tempo de espera por uma conexão no bulkhead do banco")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
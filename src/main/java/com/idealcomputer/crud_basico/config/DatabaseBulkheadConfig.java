@@ -0,0 +1,39 @@
+package com.idealcomputer.crud_basico.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/*
+ * Envolve o DataSource no BulkheadDataSource, com tantas permissões quanto conexões no pool do Hikari
+ * (ou "database.bulkhead.permits", quando informado). Desligado com database.bulkhead.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(value = "database.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(ObjectProvider<MeterRegistry> registry,
+                                                                  @Value("${database.bulkhead.permits:0}") int permits,
+                                                                  @Value("${database.bulkhead.max-wait-ms:2000}") long maxWaitMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                int size = permits > 0 ? permits
+                        : bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize()
+                        : 10;
+                return new BulkheadDataSource(dataSource, size, maxWaitMs, registry.getObject());
+            }
+        };
+    }
+}
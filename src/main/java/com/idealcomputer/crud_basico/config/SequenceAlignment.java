@@ -0,0 +1,72 @@
+package com.idealcomputer.crud_basico.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Os componentes passaram de IDENTITY para sequences (ver BaseEntity.ID_ALLOCATION_SIZE).
+ * As tabelas já existentes têm IDs gerados pela coluna identity, então, ao subir, cada sequence é
+ * empurrada para depois do maior ID da tabela; assim os novos IDs nunca colidem com os antigos.
+ * Só avança (nunca volta) a sequence, então rodar de novo é seguro.
+ *
+ * Roda em afterSingletonsInstantiated: depois do EntityManagerFactory (e do ddl-auto, que cria as sequences)
+ * e ANTES de o Tomcat começar a aceitar requisições. Um ApplicationRunner rodaria só depois, deixando uma
+ * janela em que um POST receberia IDs já usados.
+ */
+@Slf4j
+@Component
+public class SequenceAlignment implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceAlignment(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            Field idField = idField(type);
+            SequenceGenerator sequence = idField != null ? idField.getAnnotation(SequenceGenerator.class) : null;
+            if (sequence == null) {
+                continue;
+            }
+            // Tabela e coluna com os nomes físicos do Hibernate (mesma estratégia de nomes do ddl-auto);
+            // tudo vem do mapeamento das Models, nunca de entrada do usuário
+            AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMappingMetamodel().getEntityDescriptor(type);
+            String table = persister.getTableName();
+            String sequenceName = sequence.sequenceName().toLowerCase();
+            String sql = "SELECT setval('" + sequenceName + "', GREATEST("
+                    + "(SELECT COALESCE(MAX(" + persister.getIdentifierColumnNames()[0] + "), 0) FROM " + table + ") + " + sequence.allocationSize()
+                    + ", (SELECT last_value FROM " + sequenceName + ")))";
+            try {
+                jdbcTemplate.queryForObject(sql, Long.class);
+            } catch (DataAccessException e) {
+                log.warn("Não foi possível alinhar a sequence {} de {}: {}", sequenceName, table, e.getMessage());
+            }
+        }
+    }
+
+    private static Field idField(Class<?> type) {
+        AtomicReference<Field> found = new AtomicReference<>();
+        ReflectionUtils.doWithFields(type, found::set, field -> field.isAnnotationPresent(Id.class));
+        return found.get();
+    }
+}
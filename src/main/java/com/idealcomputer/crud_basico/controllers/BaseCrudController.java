@@ -1,13 +1,29 @@
 package com.idealcomputer.crud_basico.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.idealcomputer.crud_basico.dto.CatalogFilterDTO;
+import com.idealcomputer.crud_basico.dto.CursorPageDTO;
+import com.idealcomputer.crud_basico.dto.ImportReportDTO;
+import com.idealcomputer.crud_basico.dto.PageResponseDTO;
 import com.idealcomputer.crud_basico.models.BaseEntity;
 import com.idealcomputer.crud_basico.services.BaseCrudService;
+import com.idealcomputer.crud_basico.services.CatalogImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
-import java.util.List;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /*
  * Esta é a nossa classe base de Controller.
@@ -22,20 +38,81 @@ public abstract class BaseCrudController<
 
     protected final S service;
 
+    private CatalogImportService importService;
+
+    // JSON pronto da lista completa e de cada item, por versão da categoria
+    private JsonBodyCache<ID> jsonCache;
+
     public BaseCrudController(S service) {
         this.service = service;
     }
 
+    @Autowired
+    public void setImportService(CatalogImportService importService) {
+        this.importService = importService;
+    }
+
+    @Autowired
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        // Mesmo ObjectMapper das respostas normais, então o JSON em cache é idêntico ao serializado na hora
+        this.jsonCache = new JsonBodyCache<>(objectMapper);
+        service.addVersionListener(jsonCache::clear);
+    }
+
     // --- ENDPOINTS GENÉRICOS (JÁ HERDADOS) ---
 
+    /**
+     * Lista com filtros (?precoMin=&precoMax=&marca=&soquete=&tipo=) e ordenação (?sort=preco,desc),
+     * executados no banco. Com ?page ou ?size a resposta é uma página (PageResponseDTO);
+     * sem eles, continua sendo a lista completa que passa nos filtros, como o frontend espera.
+     * As leituras levam o ETag da versão da categoria: com If-None-Match igual, a resposta é 304
+     * sem consultar o banco. A lista completa (sem filtros nem ordenação) sai do JSON em cache.
+     */
     @GetMapping
-    public ResponseEntity<List<T>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<?> findAll(CatalogFilterDTO filter,
+                                     @PageableDefault(size = 20) Pageable pageable,
+                                     @RequestParam(required = false) Integer page,
+                                     @RequestParam(required = false) Integer size,
+                                     WebRequest request) {
+        long version = service.getVersion();
+        String etag = service.eTagOf(version);
+        if (request.checkNotModified(etag)) {
+            return null; // 304 Not Modified
+        }
+        if (page == null && size == null && !filter.hasFilters() && pageable.getSort().isUnsorted()) {
+            return revalidated(etag, jsonCache.list(version, () -> service.findAll(filter, Sort.unsorted())));
+        }
+        if (page == null && size == null) {
+            return revalidated(etag, service.findAll(filter, pageable.getSort()));
+        }
+        return revalidated(etag, PageResponseDTO.of(service.findPage(filter, pageable)));
+    }
+
+    /**
+     * Paginação por cursor para percorrer a tabela inteira (exportações, auditorias) com custo constante
+     * por página: ?order=preco|id&size=100&after=<next da página anterior>, com os mesmos filtros da listagem.
+     */
+    @GetMapping(value = "/cursor")
+    public ResponseEntity<CursorPageDTO<T>> findAfter(CatalogFilterDTO filter,
+                                                      @RequestParam(defaultValue = "id") String order,
+                                                      @RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = "100") int size,
+                                                      WebRequest request) {
+        String etag = service.currentETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return revalidated(etag, service.findAfter(filter, order, after, size));
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<T> findById(@PathVariable ID id) {
-        return ResponseEntity.ok(service.findById(id));
+    public ResponseEntity<?> findById(@PathVariable ID id, WebRequest request) {
+        long version = service.getVersion();
+        String etag = service.eTagOf(version);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return revalidated(etag, jsonCache.item(id, version, () -> service.findById(id)));
     }
 
     @PostMapping
@@ -47,6 +124,19 @@ public abstract class BaseCrudController<
         return ResponseEntity.created(uri).body(newEntity);
     }
 
+    /**
+     * Importação em massa (text/csv com cabeçalho, ou application/x-ndjson com um objeto por linha).
+     * O corpo é lido registro a registro, sem ser carregado inteiro na memória; os registros inválidos
+     * não impedem os demais e voltam no relatório com a linha do arquivo.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/jsonl"})
+    public ResponseEntity<ImportReportDTO> importRows(HttpServletRequest request) throws IOException {
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+        CatalogImportService.Format format = CatalogImportService.Format.fromContentType(request.getContentType());
+        return ResponseEntity.ok(importService.importRows(service, request.getInputStream(), charset, format));
+    }
+
     @PutMapping(value = "/{id}")
     public ResponseEntity<T> update(@PathVariable ID id, @RequestBody T entity) {
         // Agora podemos chamar setId() com segurança!
@@ -60,4 +150,28 @@ public abstract class BaseCrudController<
         service.deleteById(id);
         return ResponseEntity.noContent().build();
     }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    /**
+     * Resposta 200 com o ETag da versão lida e "Cache-Control: no-cache": o navegador guarda a resposta,
+     * mas sempre revalida com If-None-Match (sem isso, o Spring Security marcaria no-store).
+     */
+    protected <B> ResponseEntity<B> revalidated(String etag, B body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
+    }
+
+    /**
+     * Como revalidated, mas com o JSON já serializado: os bytes vão direto para a resposta, sem passar pelo Jackson.
+     */
+    protected ResponseEntity<byte[]> revalidated(String etag, byte[] json) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.idealcomputer.crud_basico.controllers;
+
+import com.idealcomputer.crud_basico.dto.PriceUpdateDTO;
+import com.idealcomputer.crud_basico.dto.PriceUpdateSummaryDTO;
+import com.idealcomputer.crud_basico.services.PriceFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/api/catalog")
+@RequiredArgsConstructor
+public class CatalogPriceController {
+
+    private final PriceFeedService priceFeedService;
+
+    // Feed de preços: [{"tipo": "cpus", "id": 1, "preco": 999.90}, ...], aplicado numa única transação.
+    @PatchMapping("/prices")
+    public ResponseEntity<PriceUpdateSummaryDTO> updatePrices(@RequestBody List<PriceUpdateDTO> updates) {
+        return ResponseEntity.ok(priceFeedService.updatePrices(updates));
+    }
+}
@@ -3,7 +3,10 @@ package com.idealcomputer.crud_basico.controllers;
 import com.idealcomputer.crud_basico.models.CpuModel;
 import com.idealcomputer.crud_basico.services.CpuService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,4 +18,10 @@ public class CpuController extends BaseCrudController<CpuModel, Long, CpuService
     public CpuController(CpuService service) {
         super(service);
     }
-}
\ No newline at end of file
+
+    // Volta a derivar do nome as capacidades (gráficos integrados, cooler incluso, desempenho), descartando correções.
+    @PostMapping(value = "/{id}/capabilities/reset")
+    public ResponseEntity<CpuModel> resetCapabilities(@PathVariable Long id) {
+        return ResponseEntity.ok(service.resetCapabilities(id));
+    }
+}
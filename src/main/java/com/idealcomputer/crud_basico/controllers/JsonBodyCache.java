@@ -0,0 +1,62 @@
+package com.idealcomputer.crud_basico.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Corpos JSON já serializados das leituras de uma categoria (lista completa e cada item por ID),
+ * guardados junto com a versão da categoria em que foram lidos. Só são reaproveitados enquanto a versão
+ * não muda; o BaseCrudService ainda chama clear() a cada escrita para liberar a memória dos antigos.
+ */
+final class JsonBodyCache<K> {
+
+    private record Entry(long version, byte[] body) {}
+
+    private final ObjectMapper objectMapper;
+    private volatile Entry list;
+    private final Map<K, Entry> byKey = new ConcurrentHashMap<>();
+
+    JsonBodyCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param version A versão lida ANTES de consultar o banco (a mesma do ETag da resposta).
+     */
+    byte[] list(long version, Supplier<?> loader) {
+        Entry cached = list;
+        if (cached != null && cached.version() == version) {
+            return cached.body();
+        }
+        byte[] body = serialize(loader.get());
+        list = new Entry(version, body);
+        return body;
+    }
+
+    byte[] item(K key, long version, Supplier<?> loader) {
+        Entry cached = byKey.get(key);
+        if (cached != null && cached.version() == version) {
+            return cached.body();
+        }
+        byte[] body = serialize(loader.get());
+        byKey.put(key, new Entry(version, body));
+        return body;
+    }
+
+    void clear() {
+        list = null;
+        byKey.clear();
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Falha ao gerar o JSON da resposta: " + e.getOriginalMessage(), e);
+        }
+    }
+}
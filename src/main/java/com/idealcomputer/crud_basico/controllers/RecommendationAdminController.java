@@ -0,0 +1,23 @@
+package com.idealcomputer.crud_basico.controllers;
+
+import com.idealcomputer.crud_basico.dto.RecommendationTableStatusDTO;
+import com.idealcomputer.crud_basico.services.RecommendationTableService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(value = "/api/admin/recommendations")
+@RequiredArgsConstructor
+public class RecommendationAdminController {
+
+    private final RecommendationTableService recommendationTableService;
+
+    // Situação da tabela pré-calculada: versão do catálogo, quantidade de entradas e última reconstrução.
+    @GetMapping("/table")
+    public ResponseEntity<RecommendationTableStatusDTO> getTableStatus() {
+        return ResponseEntity.ok(recommendationTableService.getStatus());
+    }
+}
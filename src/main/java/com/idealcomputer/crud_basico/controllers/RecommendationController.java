@@ -1,119 +1,156 @@
 package com.idealcomputer.crud_basico.controllers;
 
+import com.idealcomputer.crud_basico.dto.RecommendationAlternativeDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationBatchItemDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationJobDTO;
 import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
 import com.idealcomputer.crud_basico.dto.RecommendationResponseDTO;
+import com.idealcomputer.crud_basico.services.RecommendationJobService;
+import com.idealcomputer.crud_basico.services.RecommendationMetrics;
 import com.idealcomputer.crud_basico.services.RecommendationService;
+import com.idealcomputer.crud_basico.services.RecommendationStreamService;
+import com.idealcomputer.crud_basico.services.RecommendationTableService;
+import com.idealcomputer.crud_basico.services.RecommendationTrace;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
+@Slf4j
 @RestController
 @RequestMapping(value = "/api/recommendations")
 @RequiredArgsConstructor
 public class RecommendationController {
 
+    private final RecommendationTableService recommendationTableService;
     private final RecommendationService recommendationService;
-
-    // ✅ Formatter para exibir data/hora nos logs
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+    private final RecommendationStreamService recommendationStreamService;
+    private final RecommendationJobService recommendationJobService;
+    private final RecommendationMetrics recommendationMetrics;
 
     @PostMapping("/generate")
     public ResponseEntity<RecommendationResponseDTO> generate(@RequestBody RecommendationRequestDTO request) {
-        // ✅ LOG: Início da requisição
-        System.out.println("🔵 ========================================");
-        System.out.println("🔵 RECEBIDA REQUISIÇÃO PARA GERAR RECOMENDAÇÃO");
-        System.out.println("🔵 ========================================");
-        System.out.println("🔵 Horário: " + LocalDateTime.now().format(formatter));
-        System.out.println("🔵 Dados recebidos:");
-        System.out.println("🔵   - Usage: " + request.getUsage());
-        System.out.println("🔵   - Budget: " + request.getBudget());
-        System.out.println("🔵   - Detail: " + request.getDetail());
-        System.out.println("🔵 ----------------------------------------");
-
-        long startTime = System.currentTimeMillis();
+        // ✅ Uma única linha de log por requisição, com o tempo de cada fase do motor
+        RecommendationTrace trace = RecommendationTrace.of(request);
 
         try {
-            // ✅ LOG: Chamando o serviço
-            System.out.println("🔵 Chamando o serviço de recomendação...");
-
-            RecommendationResponseDTO response = recommendationService.generateBuild(request);
-
-            long endTime = System.currentTimeMillis();
-            long duration = (endTime - startTime) / 1000; // Segundos
-
-            // ✅ LOG: Sucesso
-            System.out.println("✅ ========================================");
-            System.out.println("✅ RECOMENDAÇÃO GERADA COM SUCESSO!");
-            System.out.println("✅ ========================================");
-            System.out.println("✅ Tempo de processamento: " + duration + " segundos");
-            System.out.println("✅ Componentes retornados:");
-            System.out.println("✅   - CPU: " + (response.getCpu() != null ? response.getCpu().getNome() : "Não encontrada"));
-            System.out.println("✅   - GPU: " + (response.getGpu() != null ? response.getGpu().getNome() : "Nenhuma"));
-            System.out.println("✅   - Placa-mãe: " + (response.getPlacaMae() != null ? response.getPlacaMae().getNome() : "Não encontrada"));
-            System.out.println("✅   - Memória RAM: " + (response.getMemoriaRam() != null ? response.getMemoriaRam().getNome() : "Não encontrada"));
-            System.out.println("✅   - Armazenamento: " + (response.getArmazenamento() != null ? response.getArmazenamento().getNome() : "Não encontrado"));
-            System.out.println("✅   - Fonte: " + (response.getFonte() != null ? response.getFonte().getNome() : "Não encontrada"));
-            System.out.println("✅   - Gabinete: " + (response.getGabinete() != null ? response.getGabinete().getNome() : "Não encontrado"));
-            System.out.println("✅   - Refrigeração: " + (response.getRefrigeracao() != null ? response.getRefrigeracao().getNome() : "Nenhuma"));
-            System.out.println("✅ ========================================");
-
+            RecommendationResponseDTO response = recommendationTableService.recommend(request, trace);
+            log.info("Recomendação gerada: {}", trace.finish());
             return ResponseEntity.ok(response);
 
         } catch (IllegalArgumentException e) {
-            // ✅ LOG: Erro de validação (400)
-            long endTime = System.currentTimeMillis();
-            long duration = (endTime - startTime) / 1000;
-
-            System.err.println("⚠️  ========================================");
-            System.err.println("⚠️  ERRO DE VALIDAÇÃO!");
-            System.err.println("⚠️  ========================================");
-            System.err.println("⚠️  Tempo até o erro: " + duration + " segundos");
-            System.err.println("⚠️  Mensagem: " + e.getMessage());
-            System.err.println("⚠️  ========================================");
+            // ✅ Erro de validação (400)
+            log.warn("Recomendação inválida: {}", trace.finish());
 
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
                     .body(null);
 
         } catch (RuntimeException e) {
-            // ✅ LOG: Erro de runtime (componente não encontrado, etc.)
-            long endTime = System.currentTimeMillis();
-            long duration = (endTime - startTime) / 1000;
-
-            System.err.println("❌ ========================================");
-            System.err.println("❌ ERRO AO GERAR RECOMENDAÇÃO!");
-            System.err.println("❌ ========================================");
-            System.err.println("❌ Tempo até o erro: " + duration + " segundos");
-            System.err.println("❌ Tipo de erro: " + e.getClass().getSimpleName());
-            System.err.println("❌ Mensagem: " + e.getMessage());
-            System.err.println("❌ ========================================");
-            e.printStackTrace();
+            // ✅ Erro de runtime (componente não encontrado, etc.)
+            log.error("Erro ao gerar recomendação: {}", trace.finish(), e);
 
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(null);
+        }
+    }
+
+    // Vários pedidos em uma única chamada (ex: todas as faixas de orçamento de um mesmo uso).
+    @PostMapping("/generate-batch")
+    public ResponseEntity<List<RecommendationBatchItemDTO>> generateBatch(@RequestBody List<RecommendationRequestDTO> requests) {
+        long startTime = System.nanoTime();
+
+        List<RecommendationBatchItemDTO> results = recommendationTableService.recommendBatch(requests);
+
+        if (log.isInfoEnabled()) {
+            long failures = results.stream().filter(item -> item.getError() != null).count();
+            log.info("Lote de recomendações: items={} errors={} totalNs={}", results.size(), failures, System.nanoTime() - startTime);
+        }
+
+        return ResponseEntity.ok(results);
+    }
+
+    // Até K builds distintas, da melhor para a pior (ex: /generate?alternatives=5).
+    @PostMapping(value = "/generate", params = "alternatives")
+    public ResponseEntity<List<RecommendationAlternativeDTO>> generateAlternatives(
+            @RequestBody RecommendationRequestDTO request,
+            @RequestParam int alternatives) {
+        // ✅ Mesmo trace e mesmas métricas de /generate, com source=alternatives
+        RecommendationTrace trace = RecommendationTrace.of(request);
+        trace.source("alternatives");
 
-        } catch (Exception e) {
-            // ✅ LOG: Erro genérico (500)
-            long endTime = System.currentTimeMillis();
-            long duration = (endTime - startTime) / 1000;
+        try {
+            List<RecommendationAlternativeDTO> results = recommendationService.generateAlternatives(request, alternatives, trace);
+            log.info("Alternativas geradas: requested={} returned={} {}", alternatives, results.size(), trace.finish());
+            return ResponseEntity.ok(results);
 
-            System.err.println("❌ ========================================");
-            System.err.println("❌ ERRO CRÍTICO AO GERAR RECOMENDAÇÃO!");
-            System.err.println("❌ ========================================");
-            System.err.println("❌ Tempo até o erro: " + duration + " segundos");
-            System.err.println("❌ Tipo de erro: " + e.getClass().getSimpleName());
-            System.err.println("❌ Mensagem: " + e.getMessage());
-            System.err.println("❌ ========================================");
-            e.printStackTrace();
+        } catch (RuntimeException e) {
+            trace.error(e.getMessage());
+            log.warn("Erro ao gerar alternativas: requested={} {}", alternatives, trace.finish());
+            throw e;
 
+        } finally {
+            recommendationMetrics.record(trace.finish());
+        }
+    }
+
+    // Mesma recomendação de /generate, com o progresso enviado por Server-Sent Events
+    // (ex: /stream?usage=Jogos&budget=Alto&detail=Jogos pesados).
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam String usage,
+                                             @RequestParam String budget,
+                                             @RequestParam String detail) {
+        RecommendationRequestDTO request = new RecommendationRequestDTO();
+        request.setUsage(usage);
+        request.setBudget(budget);
+        request.setDetail(detail);
+
+        try {
+            return ResponseEntity.ok(recommendationStreamService.stream(request));
+        } catch (RejectedExecutionException e) {
+            // ✅ Todas as threads e a fila do stream ocupadas (429)
+            log.warn("Recomendação por SSE recusada: fila cheia");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+
+    // Pedido assíncrono: devolve o ID do job na hora (202); o resultado é consultado em GET /jobs/{id}.
+    @PostMapping("/jobs")
+    public ResponseEntity<RecommendationJobDTO> submitJob(@RequestBody RecommendationRequestDTO request) {
+        try {
+            RecommendationJobDTO job = recommendationJobService.submit(request);
             return ResponseEntity
-                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(null);
+                    .accepted()
+                    .location(URI.create("/api/recommendations/jobs/" + job.getId()))
+                    .body(job);
+
+        } catch (IllegalArgumentException e) {
+            // ✅ Pedido incompleto (400)
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+
+        } catch (RejectedExecutionException e) {
+            // ✅ Executor e fila cheios (429)
+            log.warn("Job de recomendação recusado: fila cheia");
+            return ResponseEntity
+                    .status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<RecommendationJobDTO> getJob(@PathVariable String id) {
+        RecommendationJobDTO job = recommendationJobService.find(id);
+        // ✅ Job inexistente ou já expirado (404)
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.idealcomputer.crud_basico.controllers;
 
+import com.idealcomputer.crud_basico.dto.CatalogFilterDTO;
+import com.idealcomputer.crud_basico.dto.CursorPageDTO;
 import com.idealcomputer.crud_basico.models.UserModel;
 import com.idealcomputer.crud_basico.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +33,17 @@ public class UserController {
         return ResponseEntity.ok(userService.findAll());
     }
 
+    // ===========================
+    // GET CURSOR - Percorrer todos (exportações e auditorias)
+    // ===========================
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAuthority('ADMINISTRADOR')")
+    public ResponseEntity<CursorPageDTO<UserModel>> findAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(userService.findAfter(new CatalogFilterDTO(), "id", after, size));
+    }
+
     // ===========================
     // GET BY ID - Buscar por ID
     // ===========================
@@ -0,0 +1,24 @@
+package com.idealcomputer.crud_basico.dto;
+
+import lombok.Data;
+
+/**
+ * Filtros opcionais da listagem do catálogo (GET /api/cpus?precoMin=500&marca=AMD ...).
+ * Cada componente aceita apenas os filtros que fazem sentido para ele (ver BaseCrudService.textFilters).
+ */
+@Data
+public class CatalogFilterDTO {
+    private Double precoMin;
+    private Double precoMax;
+    private String marca;
+    private String soquete;
+    private String tipo;
+
+    public boolean hasFilters() {
+        return precoMin != null || precoMax != null || hasText(marca) || hasText(soquete) || hasText(tipo);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,17 @@
+package com.idealcomputer.crud_basico.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Uma página da paginação por cursor. "next" é null na última página; caso contrário,
+ * deve ser repassado em ?after= para buscar a página seguinte.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private String next;
+}
@@ -0,0 +1,27 @@
+package com.idealcomputer.crud_basico.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em massa. As linhas válidas são gravadas mesmo quando outras falham;
+ * "errors" traz no máximo as primeiras falhas (errorsTruncated indica que houve mais).
+ */
+@Data
+@AllArgsConstructor
+public class ImportReportDTO {
+    private long total;        // Linhas de dados lidas (sem o cabeçalho do CSV e sem linhas em branco)
+    private long imported;
+    private long failed;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;     // Linha do arquivo em que o registro começa (1 = primeira linha)
+        private String message;
+    }
+}
@@ -0,0 +1,14 @@
+package com.idealcomputer.crud_basico.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceUpdateDTO {
+    private String tipo;    // Categoria como aparece na URL (ex: "cpus", "placas-mae")
+    private Long id;
+    private Double preco;
+}
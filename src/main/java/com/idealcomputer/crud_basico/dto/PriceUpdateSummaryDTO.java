@@ -0,0 +1,19 @@
+package com.idealcomputer.crud_basico.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceUpdateSummaryDTO {
+    private int received;                   // Itens enviados (repetições do mesmo componente contam uma vez só)
+    private int updated;
+    private Map<String, Integer> updatedByTipo;
+    private List<PriceUpdateDTO> notFound;  // Componentes que não existem (os demais preços são aplicados)
+    private long durationMs;
+}
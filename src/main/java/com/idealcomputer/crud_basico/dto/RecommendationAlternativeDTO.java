@@ -0,0 +1,15 @@
+package com.idealcomputer.crud_basico.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationAlternativeDTO {
+    private int rank;                         // 1 = melhor alternativa
+    private int attempt;                      // Tentativa do fallback em que a build foi encontrada (1 = filtros estritos)
+    private double totalPrice;
+    private RecommendationResponseDTO build;
+}
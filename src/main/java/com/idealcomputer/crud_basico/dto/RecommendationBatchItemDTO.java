@@ -0,0 +1,25 @@
+package com.idealcomputer.crud_basico.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecommendationBatchItemDTO {
+    private int index;                           // Posição do pedido na lista enviada
+    private RecommendationRequestDTO request;
+    private RecommendationResponseDTO result;    // Preenchido quando a build foi gerada
+    private String error;                        // Preenchido quando o pedido falhou
+
+    public static RecommendationBatchItemDTO success(int index, RecommendationRequestDTO request, RecommendationResponseDTO result) {
+        return new RecommendationBatchItemDTO(index, request, result, null);
+    }
+
+    public static RecommendationBatchItemDTO failure(int index, RecommendationRequestDTO request, String error) {
+        return new RecommendationBatchItemDTO(index, request, null, error);
+    }
+}
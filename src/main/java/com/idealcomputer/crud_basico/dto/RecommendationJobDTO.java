@@ -0,0 +1,22 @@
+package com.idealcomputer.crud_basico.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.idealcomputer.crud_basico.enums.RecommendationJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecommendationJobDTO {
+    private String id;
+    private RecommendationJobStatus status;
+    private Instant createdAt;
+    private Instant finishedAt;                  // Preenchido quando status é DONE ou FAILED
+    private RecommendationResponseDTO result;    // Preenchido quando status é DONE
+    private String error;                        // Preenchido quando status é FAILED
+}
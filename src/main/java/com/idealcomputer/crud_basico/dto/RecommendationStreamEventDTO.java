@@ -0,0 +1,49 @@
+package com.idealcomputer.crud_basico.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * Dados de um evento de GET /api/recommendations/stream. O nome do evento SSE diz quais campos vêm preenchidos:
+ * - progress:  stage ("kits", "strict" = tentativas 1 a 3, "relaxed" = tentativa 4), kits, attempts e tier
+ * - platform:  tier e build só com CPU, placa-mãe e memória RAM
+ * - component: category e component (ausente quando a build não leva a peça, ex: sem GPU dedicada)
+ * - complete:  tier e a build completa
+ * - error:     message
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecommendationStreamEventDTO {
+    private String stage;
+    private Integer tier;                       // Tentativa do fallback (0 = nenhuma build encontrada na passada)
+    private Integer kits;                       // Kits considerados na etapa
+    private Integer attempts;                   // Kits avaliados na passada
+    private String category;
+    private Object component;
+    private RecommendationResponseDTO build;
+    private String message;
+
+    public static RecommendationStreamEventDTO progress(String stage, Integer tier, Integer kits, Integer attempts) {
+        return new RecommendationStreamEventDTO(stage, tier, kits, attempts, null, null, null, null);
+    }
+
+    public static RecommendationStreamEventDTO platform(int tier, RecommendationResponseDTO platform) {
+        return new RecommendationStreamEventDTO(null, tier, null, null, null, null, platform, null);
+    }
+
+    public static RecommendationStreamEventDTO component(String category, Object component) {
+        return new RecommendationStreamEventDTO(null, null, null, null, category, component, null, null);
+    }
+
+    public static RecommendationStreamEventDTO complete(int tier, RecommendationResponseDTO build) {
+        return new RecommendationStreamEventDTO(null, tier, null, null, null, null, build, null);
+    }
+
+    public static RecommendationStreamEventDTO error(String message) {
+        return new RecommendationStreamEventDTO(null, null, null, null, null, null, null, message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.idealcomputer.crud_basico.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationTableStatusDTO {
+    private boolean enabled;
+    private Long catalogVersion;      // Versão do catálogo usada na última reconstrução
+    private Long currentCatalogVersion;
+    private int entries;              // Combinações (uso × detalhe × orçamento) já calculadas
+    private Instant lastRebuiltAt;
+    private Long lastRebuildDurationMs;
+    private long rebuilds;
+}
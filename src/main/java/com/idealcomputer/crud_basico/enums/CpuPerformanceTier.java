@@ -0,0 +1,10 @@
+package com.idealcomputer.crud_basico.enums;
+
+/**
+ * Faixa de desempenho do processador, usada para escolher a refrigeração.
+ */
+public enum CpuPerformanceTier {
+    ENTRADA,        // Ex: Ryzen 3, Core i3
+    INTERMEDIARIO,  // Ex: Ryzen 5, Core i5
+    ALTO            // Ex: Ryzen 7/9, Core i7/i9, Core i5-13600K
+}
@@ -0,0 +1,27 @@
+package com.idealcomputer.crud_basico.enums;
+
+/**
+ * Formato da placa-mãe, interpretado uma única vez a partir do texto livre de PlacaMaeModel.formato.
+ */
+public enum FormFactor {
+    MINI_ITX,
+    MICRO_ATX,  // "Micro-ATX" ou "M-ATX"
+    ATX,        // Qualquer "ATX" que não seja micro/mini (inclui "mATX" e "E-ATX")
+    OTHER;      // Formato não reconhecido: nenhum gabinete ou fonte é compatível
+
+    public static FormFactor ofBoard(String formato) {
+        if (formato == null) return OTHER;
+        String value = formato.toLowerCase();
+        if (value.contains("mini-itx")) return MINI_ITX;
+        if (value.contains("micro-atx") || value.contains("m-atx")) return MICRO_ATX;
+        if (value.contains("atx") && !value.contains("micro") && !value.contains("mini")) return ATX;
+        return OTHER;
+    }
+
+    /**
+     * Bit deste formato, usado nas máscaras de compatibilidade.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+}
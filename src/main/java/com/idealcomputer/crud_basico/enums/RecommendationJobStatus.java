@@ -0,0 +1,11 @@
+package com.idealcomputer.crud_basico.enums;
+
+/**
+ * Situação de um pedido de recomendação assíncrono (POST /api/recommendations/jobs).
+ */
+public enum RecommendationJobStatus {
+    QUEUED,     // Na fila do executor
+    RUNNING,    // Sendo calculado
+    DONE,       // Build pronta em "result"
+    FAILED      // Sem build possível ou erro; mensagem em "error"
+}
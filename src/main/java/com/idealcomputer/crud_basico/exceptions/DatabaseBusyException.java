@@ -0,0 +1,31 @@
+package com.idealcomputer.crud_basico.exceptions;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Nenhuma conexão do banco ficou livre dentro do tempo máximo de espera do bulkhead
+ * (ver BulkheadDataSource). Vira 503 Service Unavailable no RestExceptionHandler
+ * (e no JwtAuthFilter, que consulta o banco antes do DispatcherServlet).
+ */
+public class DatabaseBusyException extends SQLTransientConnectionException {
+
+    // Valor do header Retry-After (em segundos) das respostas 503
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+
+    /**
+     * Procura a exceção na cadeia de causas, já que ela chega embrulhada pelo Spring/Hibernate.
+     * @return A exceção encontrada, ou null.
+     */
+    public static DatabaseBusyException findIn(Throwable ex) {
+        for (Throwable current = ex; current != null; current = current.getCause() == current ? null : current.getCause()) {
+            if (current instanceof DatabaseBusyException busy) {
+                return busy;
+            }
+        }
+        return null;
+    }
+}
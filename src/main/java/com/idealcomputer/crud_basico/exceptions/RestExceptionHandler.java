@@ -1,6 +1,7 @@
 package com.idealcomputer.crud_basico.exceptions;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -31,6 +32,12 @@ public class RestExceptionHandler {
      */
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Object> handleBusinessException(RuntimeException ex) {
+        // ✅ Bulkhead do banco cheio: chega embrulhado pelo Spring/Hibernate, então procuramos na cadeia de causas
+        DatabaseBusyException busy = DatabaseBusyException.findIn(ex);
+        if (busy != null) {
+            return handleDatabaseBusy(busy);
+        }
+
         // Pega a mensagem de erro que definimos (ex: "Orçamento insuficiente...")
         String errorMessage = ex.getMessage();
 
@@ -40,4 +47,16 @@ public class RestExceptionHandler {
         // O frontend agora pode ler esta mensagem!
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
-}
\ No newline at end of file
+
+    /**
+     * Nenhuma conexão com o banco ficou livre a tempo (ver BulkheadDataSource).
+     * Retorna: 503 Service Unavailable, para o cliente tentar de novo em seguida.
+     */
+    private ResponseEntity<Object> handleDatabaseBusy(DatabaseBusyException ex) {
+        Map<String, String> errorResponse = Map.of("message", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, DatabaseBusyException.RETRY_AFTER_SECONDS)
+                .body(errorResponse);
+    }
+}
@@ -9,10 +9,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "TB_Armazenamento")
+@Table(name = "TB_Armazenamento", indexes = @Index(name = "IDX_ARMAZENAMENTO_PRECO_ID", columnList = "Preco_ARMAZENAMENTO, ID_Armazenamento"))
 public class ArmazenamentoModel implements BaseEntity<Long>{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_ARMAZENAMENTO")
+    @SequenceGenerator(name = "SEQ_ARMAZENAMENTO", sequenceName = "SEQ_ARMAZENAMENTO", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "ID_Armazenamento")
     private Long id;
     @Column(nullable = false, name = "Nome_ARMAZENAMENTO")
@@ -3,6 +3,11 @@ package com.idealcomputer.crud_basico.models;
 // Esta interface genérica garante que qualquer classe que a implemente
 // terá os métodos getId() e setId().
 public interface BaseEntity<ID> {
+
+    // IDs reservados de uma vez por sequence (otimizador "pooled" do Hibernate).
+    // Deve ser igual ao hibernate.jdbc.batch_size para que os INSERTs em massa saiam em lotes reais.
+    int ID_ALLOCATION_SIZE = 50;
+
     ID getId();
     void setId(ID id);
-}
\ No newline at end of file
+}
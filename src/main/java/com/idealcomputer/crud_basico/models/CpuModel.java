@@ -1,5 +1,6 @@
 package com.idealcomputer.crud_basico.models;
 
+import com.idealcomputer.crud_basico.enums.CpuPerformanceTier;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,10 +10,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "TB_Cpu")
+@Table(name = "TB_Cpu", indexes = @Index(name = "IDX_CPU_PRECO_ID", columnList = "Preco_CPU, ID_CPU"))
 public class CpuModel implements BaseEntity<Long>{
     @Id
-    @GeneratedValue (strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_CPU")
+    @SequenceGenerator(name = "SEQ_CPU", sequenceName = "SEQ_CPU", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "ID_CPU")
     private Long id;
     @Column(nullable = false, name = "Nome_CPU")
@@ -25,4 +27,13 @@ public class CpuModel implements BaseEntity<Long>{
     private Double preco;
     @Column(nullable = false, name = "Potencia_Recomendada_W_CPU")
     private Integer potenciaRecomendadaW;
+
+    // ✅ Capacidades do processador. Quando omitidas no cadastro, são derivadas do nome (ver CpuCapabilities).
+    @Column(name = "Graficos_Integrados_CPU")
+    private Boolean graficosIntegrados;
+    @Column(name = "Cooler_Incluso_CPU")
+    private Boolean coolerIncluso;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "Nivel_Desempenho_CPU")
+    private CpuPerformanceTier nivelDesempenho;
 }
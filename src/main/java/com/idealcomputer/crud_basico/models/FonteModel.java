@@ -9,10 +9,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "TB_Fonte")
+@Table(name = "TB_Fonte", indexes = @Index(name = "IDX_FONTE_PRECO_ID", columnList = "Preco_FONTE, ID_FONTE"))
 public class FonteModel implements BaseEntity<Long>{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_FONTE")
+    @SequenceGenerator(name = "SEQ_FONTE", sequenceName = "SEQ_FONTE", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "ID_FONTE")
     private Long id;
     @Column(nullable = false, name = "Nome_FONTE")
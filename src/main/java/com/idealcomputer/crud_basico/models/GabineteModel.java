@@ -9,10 +9,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "TB_Gabinete")
+@Table(name = "TB_Gabinete", indexes = @Index(name = "IDX_GABINETE_PRECO_ID", columnList = "Preco_GABINETE, ID_GABINETE"))
 public class GabineteModel implements BaseEntity<Long>{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_GABINETE")
+    @SequenceGenerator(name = "SEQ_GABINETE", sequenceName = "SEQ_GABINETE", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "ID_GABINETE")
     private Long id;
     @Column(nullable = false, name = "Nome_GABINETE")
@@ -8,10 +8,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "TB_Gpu")
+@Table(name = "TB_Gpu", indexes = @Index(name = "IDX_GPU_PRECO_ID", columnList = "Preco_GPU, ID_GPU"))
 public class GpuModel implements BaseEntity<Long>{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_GPU")
+    @SequenceGenerator(name = "SEQ_GPU", sequenceName = "SEQ_GPU", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "ID_GPU")
     private Long id;
     @Column(nullable = false, name = "Nome_GPU")
@@ -9,10 +9,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "TB_Memoria_Ram")
+@Table(name = "TB_Memoria_Ram", indexes = @Index(name = "IDX_RAM_PRECO_ID", columnList = "Preco_RAM, ID_RAM"))
 public class MemoriaRamModel implements BaseEntity<Long>{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_RAM")
+    @SequenceGenerator(name = "SEQ_RAM", sequenceName = "SEQ_RAM", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "ID_RAM")
     private Long id;
     @Column(nullable = false, name = "Nome_RAM")
@@ -9,10 +9,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "TB_Placa_Mae")
+@Table(name = "TB_Placa_Mae", indexes = @Index(name = "IDX_PLACAMAE_PRECO_ID", columnList = "Preco_PLACAMAE, ID_PLACAMAE"))
 public class PlacaMaeModel implements BaseEntity<Long>{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_PLACAMAE")
+    @SequenceGenerator(name = "SEQ_PLACAMAE", sequenceName = "SEQ_PLACAMAE", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "ID_PLACAMAE")
     private Long id;
     @Column(nullable = false, name = "Nome_PLACAMAE")
@@ -9,10 +9,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "TB_Refrigeracao")
+@Table(name = "TB_Refrigeracao", indexes = @Index(name = "IDX_REFRIGERACAO_PRECO_ID", columnList = "Preco_REFRIGERACAO, ID_REFRIGERACAO"))
 public class RefrigeracaoModel implements BaseEntity<Long>{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SEQ_REFRIGERACAO")
+    @SequenceGenerator(name = "SEQ_REFRIGERACAO", sequenceName = "SEQ_REFRIGERACAO", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
     @Column(name = "ID_REFRIGERACAO")
     private Long id;
     @Column(nullable = false, name = "Nome_REFRIGERACAO")
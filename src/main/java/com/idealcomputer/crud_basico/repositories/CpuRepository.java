@@ -2,8 +2,9 @@ package com.idealcomputer.crud_basico.repositories;
 
 import com.idealcomputer.crud_basico.models.CpuModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface CpuRepository extends JpaRepository<CpuModel, Long> {
+public interface CpuRepository extends JpaRepository<CpuModel, Long>, JpaSpecificationExecutor<CpuModel> {
 }
@@ -2,8 +2,9 @@ package com.idealcomputer.crud_basico.repositories;
 
 import com.idealcomputer.crud_basico.models.GabineteModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface GabineteRepository extends JpaRepository<GabineteModel, Long> {
+public interface GabineteRepository extends JpaRepository<GabineteModel, Long>, JpaSpecificationExecutor<GabineteModel> {
 }
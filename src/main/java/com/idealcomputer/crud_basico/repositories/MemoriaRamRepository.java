@@ -2,8 +2,9 @@ package com.idealcomputer.crud_basico.repositories;
 
 import com.idealcomputer.crud_basico.models.MemoriaRamModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface MemoriaRamRepository extends JpaRepository<MemoriaRamModel, Long> {
+public interface MemoriaRamRepository extends JpaRepository<MemoriaRamModel, Long>, JpaSpecificationExecutor<MemoriaRamModel> {
 }
@@ -50,7 +50,7 @@ public class SecurityConfig {
                 "https://idealcomputer.com.br"                            // ✅ Domínio sem www
         ));
 
-        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
         configuration.setAllowCredentials(true);
 
@@ -68,9 +68,14 @@ public class SecurityConfig {
                         // Rotas públicas
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/recommendations/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
 
                         // Rotas admin - TODAS precisam de autenticação + role ADMINISTRADOR
+                        .requestMatchers("/api/admin/**").hasAuthority("ADMINISTRADOR")
+                        // Inclui /actuator/prometheus: as métricas expõem tamanhos do catálogo, latências e a fila do banco
+                        .requestMatchers("/actuator/**").hasAuthority("ADMINISTRADOR")
                         .requestMatchers("/api/usuarios/**").hasAuthority("ADMINISTRADOR")
+                        .requestMatchers("/api/catalog/**").hasAuthority("ADMINISTRADOR")
                         .requestMatchers("/api/cpus/**").hasAuthority("ADMINISTRADOR")
                         .requestMatchers("/api/gpus/**").hasAuthority("ADMINISTRADOR")
                         .requestMatchers("/api/placas-mae/**").hasAuthority("ADMINISTRADOR")
@@ -6,6 +6,8 @@ import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 // 1. A classe agora "estende" (herda de) nossa BaseCrudService.
 // 2. Nós especificamos os tipos genéricos:
 //    <T> -> ArmazenamentoModel
@@ -28,6 +30,14 @@ public class ArmazenamentoService extends BaseCrudService<ArmazenamentoModel, Lo
         super(repository, "Armazenamento");
     }
 
+    /*
+     * Filtros da listagem: além de "marca", o tipo do armazenamento (ex: ?tipo=SSD NVMe).
+     */
+    @Override
+    protected Map<String, TextFilter> textFilters() {
+        return Map.of("marca", TextFilter.exact("marca"), "tipo", TextFilter.exact("tipo"));
+    }
+
     /*
      * 5. NÃO precisamos mais dos métodos findById() e findAll().
      * Eles já existem na classe BaseCrudService e são herdados!
@@ -1,9 +1,27 @@
 package com.idealcomputer.crud_basico.services;
 
+import com.idealcomputer.crud_basico.catalog.CatalogChangedEvent;
+import com.idealcomputer.crud_basico.dto.CatalogFilterDTO;
+import com.idealcomputer.crud_basico.dto.CursorPageDTO;
+import com.idealcomputer.crud_basico.models.BaseEntity;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ReflectionUtils;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /*
  * Esta é a nossa classe base abstrata e genérica.
@@ -11,7 +29,17 @@ import java.util.Optional;
  * <ID> - Representa o tipo do ID do nosso Model (ex: Long)
  * <R> - Representa o tipo do nosso Repository (ex: CpuRepository)
  */
-public abstract class BaseCrudService<T, ID, R extends JpaRepository<T, ID>> {
+public abstract class BaseCrudService<T, ID, R extends JpaRepository<T, ID> & JpaSpecificationExecutor<T>> {
+
+    // Campos de ordenação comuns a todos os componentes (só os que existem na Model são aceitos).
+    private static final List<String> COMMON_SORT_FIELDS = List.of("id", "nome", "marca", "preco");
+
+    // Maior página da paginação por cursor (exportações e auditorias percorrem a tabela inteira).
+    public static final int MAX_CURSOR_PAGE_SIZE = 500;
+
+    // Identifica esta execução da aplicação: as versões recomeçam do zero a cada inicialização,
+    // então um ETag emitido antes de reiniciar nunca pode coincidir com um novo.
+    private static final String INSTANCE_ID = Long.toString(System.currentTimeMillis(), 36);
 
     // O repositório específico (ex: CpuRepository) será armazenado aqui.
     // É 'protected' para que as classes filhas possam acessá-lo se precisarem de um método muito customizado.
@@ -20,10 +48,73 @@ public abstract class BaseCrudService<T, ID, R extends JpaRepository<T, ID>> {
     // O nome da entidade, para mensagens de erro mais claras.
     private final String entityName;
 
+    // A classe da Model (ex: CpuModel.class), descoberta a partir dos tipos genéricos da classe filha.
+    private final Class<?> entityType;
+
+    // Usado para avisar o restante da aplicação (ex: a fotografia do catálogo) sobre cada alteração.
+    private ApplicationEventPublisher eventPublisher;
+
+    // Versão desta categoria: avança depois do commit de cada save/delete (usada nos ETags das listagens).
+    private final AtomicLong version = new AtomicLong();
+
+    // Avisados a cada nova versão (ex: o cache de JSON pronto do BaseCrudController).
+    private final List<Runnable> versionListeners = new CopyOnWriteArrayList<>();
+
     // O construtor que as classes filhas (CpuService, GpuService) vão chamar.
     public BaseCrudService(R repository, String entityName) {
         this.repository = repository;
         this.entityName = entityName;
+        Class<?>[] typeArguments = GenericTypeResolver.resolveTypeArguments(getClass(), BaseCrudService.class);
+        this.entityType = typeArguments != null ? typeArguments[0] : Object.class;
+    }
+
+    @Autowired
+    public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Class<?> getEntityType() {
+        return entityType;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * ETag forte da versão atual desta categoria. Deve ser lido ANTES da consulta ao banco: se uma escrita
+     * terminar durante a consulta, a resposta sai com o ETag antigo e é revalidada na próxima requisição.
+     */
+    public String currentETag() {
+        return eTagOf(version.get());
+    }
+
+    public String eTagOf(long version) {
+        return "\"" + INSTANCE_ID + "-" + version + "\"";
+    }
+
+    /**
+     * Registra uma ação executada sempre que a versão desta categoria avança (depois do commit).
+     */
+    public void addVersionListener(Runnable listener) {
+        versionListeners.add(listener);
+    }
+
+    /**
+     * Filtros de texto aceitos na listagem (nome do parâmetro -> atributo da Model).
+     * Por padrão só "marca"; as classes filhas acrescentam "soquete" e "tipo" quando fazem sentido.
+     */
+    protected Map<String, TextFilter> textFilters() {
+        return hasAttribute("marca") ? Map.of("marca", TextFilter.exact("marca")) : Map.of();
+    }
+
+    /**
+     * Um filtro de texto sem diferenciar maiúsculas: valor exato, ou contido no atributo
+     * (para listas em texto livre, ex: "AM4, AM5").
+     */
+    protected record TextFilter(String attribute, boolean partial) {
+        public static TextFilter exact(String attribute) { return new TextFilter(attribute, false); }
+        public static TextFilter partial(String attribute) { return new TextFilter(attribute, true); }
     }
 
     // --- MÉTODOS DE CRUD GENÉRICOS ---
@@ -36,6 +127,62 @@ public abstract class BaseCrudService<T, ID, R extends JpaRepository<T, ID>> {
         return repository.findAll();
     }
 
+    /**
+     * Lista as entidades que passam nos filtros, na ordem pedida. Filtros e ordenação viram SQL.
+     * @throws RuntimeException se um filtro ou campo de ordenação não for aceito por esta entidade.
+     */
+    public List<T> findAll(CatalogFilterDTO filter, Sort sort) {
+        return repository.findAll(specificationOf(filter), validatedSort(sort));
+    }
+
+    /**
+     * Busca uma página das entidades que passam nos filtros. Filtros, ordenação e paginação viram SQL.
+     * @throws RuntimeException se um filtro ou campo de ordenação não for aceito por esta entidade.
+     */
+    public Page<T> findPage(CatalogFilterDTO filter, Pageable pageable) {
+        Pageable validated = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), validatedSort(pageable.getSort()));
+        return repository.findAll(specificationOf(filter), validated);
+    }
+
+    /**
+     * Paginação por chave (keyset): os itens depois do cursor, na ordem (preco, id) ou (id).
+     * Cada página é um WHERE sobre a chave do último item + LIMIT, sem OFFSET e sem COUNT.
+     * @param order  "id" ou "preco" (só para entidades com preço).
+     * @param after  O cursor "next" da página anterior, ou null para a primeira página.
+     * @throws RuntimeException se a ordenação, o cursor ou um filtro não forem aceitos.
+     */
+    public CursorPageDTO<T> findAfter(CatalogFilterDTO filter, String order, String after, int size) {
+        if (!KeysetCursor.BY_ID.equals(order) && !KeysetCursor.BY_PRECO.equals(order)) {
+            throw new RuntimeException("Ordenação por cursor inválida: '" + order + "'. Use 'id' ou 'preco'.");
+        }
+        boolean byPreco = KeysetCursor.BY_PRECO.equals(order);
+        if (byPreco && !hasAttribute("preco")) {
+            throw new RuntimeException("Ordenação por preço não disponível para " + entityName + ".");
+        }
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        Specification<T> spec = specificationOf(filter);
+        if (after != null && !after.isBlank()) {
+            KeysetCursor cursor = KeysetCursor.decode(after, order);
+            spec = spec.and(byPreco
+                    ? (root, query, cb) -> cb.or(
+                            cb.greaterThan(root.get("preco"), cursor.preco()),
+                            cb.and(cb.equal(root.get("preco"), cursor.preco()), cb.greaterThan(root.get("id"), cursor.id())))
+                    : (root, query, cb) -> cb.greaterThan(root.get("id"), cursor.id()));
+        }
+        Sort sort = byPreco ? Sort.by("preco", "id") : Sort.by("id");
+
+        // Um item a mais só para saber se existe uma próxima página
+        List<T> rows = repository.findBy(spec, query -> query.sortBy(sort).limit(limit + 1).all());
+        if (rows.size() <= limit) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<T> content = List.copyOf(rows.subList(0, limit));
+        T last = content.get(limit - 1);
+        Double preco = byPreco ? (Double) PropertyAccessorFactory.forBeanPropertyAccess(last).getPropertyValue("preco") : null;
+        return new CursorPageDTO<>(content, new KeysetCursor(order, preco, ((Number) idOf(last)).longValue()).encode());
+    }
+
     /**
      * Busca uma entidade pelo seu ID.
      * @param id O ID da entidade a ser buscada.
@@ -54,7 +201,28 @@ public abstract class BaseCrudService<T, ID, R extends JpaRepository<T, ID>> {
      * @return A entidade salva.
      */
     public T save(T entity) {
-        return repository.save(entity);
+        prepareForSave(entity);
+        T saved = repository.save(entity);
+        publish(CatalogChangedEvent.saved(entityType, idOf(saved), saved));
+        return saved;
+    }
+
+    /**
+     * Ajustes feitos em toda entidade antes de ser gravada, tanto no save quanto na importação em massa.
+     * Por padrão não faz nada; as classes filhas sobrescrevem quando precisam completar campos.
+     */
+    protected void prepareForSave(T entity) {
+    }
+
+    /**
+     * Avisa que a categoria inteira mudou (ex: importação em massa), para que ela seja relida de uma vez.
+     */
+    public void publishBulkChange() {
+        publish(CatalogChangedEvent.reloaded(entityType));
+    }
+
+    public String getEntityName() {
+        return entityName;
     }
 
     /**
@@ -65,5 +233,102 @@ public abstract class BaseCrudService<T, ID, R extends JpaRepository<T, ID>> {
     public void deleteById(ID id) {
         findById(id); // Reutiliza a verificação de existência
         repository.deleteById(id);
+        publish(CatalogChangedEvent.deleted(entityType, id));
+    }
+
+    // --- MÉTODOS AUXILIARES ---
+
+    /**
+     * Só aceita os campos da lista branca e sempre desempata pelo ID, para que as páginas não se sobreponham.
+     */
+    private Sort validatedSort(Sort sort) {
+        Set<String> allowed = new LinkedHashSet<>();
+        for (String field : COMMON_SORT_FIELDS) {
+            if (hasAttribute(field)) allowed.add(field);
+        }
+        textFilters().values().forEach(f -> allowed.add(f.attribute()));
+
+        for (Sort.Order order : sort) {
+            if (!allowed.contains(order.getProperty())) {
+                throw new RuntimeException("Não é possível ordenar " + entityName + " por '" + order.getProperty()
+                        + "'. Campos aceitos: " + String.join(", ", allowed) + ".");
+            }
+        }
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by("id"));
+    }
+
+    private Specification<T> specificationOf(CatalogFilterDTO filter) {
+        List<Specification<T>> predicates = new ArrayList<>();
+        if (filter.getPrecoMin() != null || filter.getPrecoMax() != null) {
+            if (!hasAttribute("preco")) {
+                throw new RuntimeException("Filtro de preço não disponível para " + entityName + ".");
+            }
+            if (filter.getPrecoMin() != null) {
+                predicates.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("preco"), filter.getPrecoMin()));
+            }
+            if (filter.getPrecoMax() != null) {
+                predicates.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("preco"), filter.getPrecoMax()));
+            }
+        }
+        addTextFilter(predicates, "marca", filter.getMarca());
+        addTextFilter(predicates, "soquete", filter.getSoquete());
+        addTextFilter(predicates, "tipo", filter.getTipo());
+        return Specification.allOf(predicates);
+    }
+
+    private void addTextFilter(List<Specification<T>> predicates, String name, String value) {
+        if (value == null || value.isBlank()) return;
+        TextFilter textFilter = textFilters().get(name);
+        if (textFilter == null) {
+            throw new RuntimeException("Filtro '" + name + "' não disponível para " + entityName + ".");
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (textFilter.partial()) {
+            // Escapa os curingas do LIKE digitados pelo usuário
+            String pattern = "%" + normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            predicates.add((root, query, cb) -> cb.like(cb.lower(root.get(textFilter.attribute())), pattern, '\\'));
+        } else {
+            predicates.add((root, query, cb) -> cb.equal(cb.lower(root.get(textFilter.attribute())), normalized));
+        }
+    }
+
+    private boolean hasAttribute(String name) {
+        return ReflectionUtils.findField(entityType, name) != null;
+    }
+
+    /**
+     * Publica o evento de alteração. Os ouvintes só o recebem depois do commit da transação.
+     */
+    private void publish(CatalogChangedEvent event) {
+        bumpVersionAfterCommit();
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    /**
+     * Avança a versão só depois do commit; antes disso, quem lê ainda enxerga os dados antigos
+     * e não pode receber o ETag novo. Sem transação ativa, a alteração já foi gravada.
+     */
+    private void bumpVersionAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bumpVersion();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bumpVersion();
+            }
+        });
+    }
+
+    private void bumpVersion() {
+        version.incrementAndGet();
+        versionListeners.forEach(Runnable::run);
+    }
+
+    private Object idOf(T entity) {
+        return entity instanceof BaseEntity<?> baseEntity ? baseEntity.getId() : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,291 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.idealcomputer.crud_basico.dto.ImportReportDTO;
+import com.idealcomputer.crud_basico.exceptions.DatabaseBusyException;
+import com.idealcomputer.crud_basico.models.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Id;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Importação em massa de componentes (CSV ou NDJSON), lida registro a registro direto do corpo da requisição.
+ * - Os registros válidos são gravados em blocos de BaseEntity.ID_ALLOCATION_SIZE, um bloco por transação:
+ *   como os IDs vêm de sequences com allocationSize igual ao batch_size, o Hibernate envia cada bloco
+ *   como um único lote de INSERTs, sem ida ao banco por linha.
+ * - Se um bloco falhar (ex: valor que o banco recusa), ele é refeito linha a linha para apontar qual registro falhou.
+ * - A fotografia do catálogo é atualizada uma única vez no fim, relendo só a categoria importada.
+ */
+@Service
+public class CatalogImportService {
+
+    // Quantas falhas entram no relatório (as demais só são contadas)
+    public static final int MAX_REPORTED_ERRORS = 200;
+
+    private static final int CHUNK_SIZE = BaseEntity.ID_ALLOCATION_SIZE;
+
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * @throws RuntimeException se o Content-Type não for text/csv nem application/x-ndjson.
+         */
+        public static Format fromContentType(String contentType) {
+            String mediaType = contentType == null ? "" : contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+            return switch (mediaType) {
+                case "text/csv" -> CSV;
+                case "application/x-ndjson", "application/jsonl" -> NDJSON;
+                default -> throw new RuntimeException("Formato de importação não suportado: '" + contentType
+                        + "'. Use text/csv ou application/x-ndjson.");
+            };
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate writeTransaction;
+
+    // Campos obrigatórios (@Column(nullable = false)) de cada Model, descobertos uma única vez
+    private final Map<Class<?>, List<Field>> requiredFields = new ConcurrentHashMap<>();
+
+    public CatalogImportService(ObjectMapper objectMapper, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Importa os registros do corpo da requisição para a categoria do service.
+     * Os IDs informados são ignorados: todo registro importado é um componente novo.
+     * @throws RuntimeException se o formato, o cabeçalho do CSV ou o próprio arquivo forem inválidos.
+     */
+    public <T extends BaseEntity<?>> ImportReportDTO importRows(BaseCrudService<T, ?, ?> service, InputStream body,
+                                                                 Charset charset, Format format) throws IOException {
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) service.getEntityType();
+        ImportRun<T> run = new ImportRun<>(service);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset))) {
+            if (format == Format.CSV) {
+                readCsv(reader, type, run);
+            } else {
+                readNdjson(reader, type, run);
+            }
+            run.flush();
+        } finally {
+            // Mesmo se o arquivo quebrar no meio, os blocos já gravados precisam aparecer no catálogo
+            if (run.imported > 0) {
+                service.publishBulkChange();
+            }
+        }
+        return run.report();
+    }
+
+    private <T extends BaseEntity<?>> void readCsv(BufferedReader reader, Class<T> type, ImportRun<T> run) throws IOException {
+        CsvRowReader csv = new CsvRowReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Set<String> known = knownProperties(type);
+        List<String> columns = new ArrayList<>(header.size());
+        for (String column : header) {
+            String name = column.replace("\uFEFF", "").trim();
+            if (!known.contains(name)) {
+                throw new RuntimeException("Coluna desconhecida no CSV: '" + name + "'. Colunas aceitas: "
+                        + String.join(", ", known) + ".");
+            }
+            columns.add(name);
+        }
+
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            long line = csv.recordLine();
+            if (fields.size() != columns.size()) {
+                run.reject(line, "Esperadas " + columns.size() + " colunas, encontradas " + fields.size() + ".");
+                continue;
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                String value = fields.get(i).trim();
+                if (!value.isEmpty()) values.put(columns.get(i), value); // Célula vazia = campo ausente
+            }
+            try {
+                run.add(line, objectMapper.convertValue(values, type));
+            } catch (IllegalArgumentException e) {
+                run.reject(line, messageOf(e));
+            }
+        }
+    }
+
+    private <T extends BaseEntity<?>> void readNdjson(BufferedReader reader, Class<T> type, ImportRun<T> run) throws IOException {
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) continue;
+            try {
+                run.add(line, objectMapper.readValue(text, type));
+            } catch (JsonProcessingException e) {
+                run.reject(line, messageOf(e));
+            }
+        }
+    }
+
+    /**
+     * Nomes das propriedades como aparecem no JSON da API (respeitando a estratégia de nomes do Jackson).
+     */
+    private Set<String> knownProperties(Class<?> type) {
+        BeanDescription description = objectMapper.getDeserializationConfig().introspect(objectMapper.constructType(type));
+        Set<String> names = new LinkedHashSet<>();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.couldDeserialize()) names.add(property.getName());
+        }
+        return names;
+    }
+
+    private String missingRequiredField(Object entity) {
+        List<Field> fields = requiredFields.computeIfAbsent(entity.getClass(), type -> {
+            List<Field> found = new ArrayList<>();
+            ReflectionUtils.doWithFields(type, field -> {
+                ReflectionUtils.makeAccessible(field);
+                found.add(field);
+            }, field -> field.isAnnotationPresent(Column.class) && !field.getAnnotation(Column.class).nullable()
+                    && !field.isAnnotationPresent(Id.class));
+            return List.copyOf(found);
+        });
+        for (Field field : fields) {
+            Object value = ReflectionUtils.getField(field, entity);
+            if (value == null || (value instanceof String text && text.isBlank())) {
+                return field.getName();
+            }
+        }
+        return null;
+    }
+
+    private String jsonName(String fieldName) {
+        PropertyNamingStrategy strategy = objectMapper.getPropertyNamingStrategy();
+        return strategy instanceof PropertyNamingStrategies.NamingBase naming ? naming.translate(fieldName) : fieldName;
+    }
+
+    private static String messageOf(Throwable error) {
+        Throwable current = error;
+        while (current != null) {
+            if (current instanceof JsonProcessingException json) {
+                return json.getOriginalMessage();
+            }
+            if (current.getCause() == null || current.getCause() == current) break;
+            current = current.getCause();
+        }
+        String message = current != null ? current.getMessage() : null;
+        return message != null ? message : error.getClass().getSimpleName();
+    }
+
+    private static boolean isDatabaseBusy(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof DatabaseBusyException) return true;
+            if (current.getCause() == current) break;
+        }
+        return false;
+    }
+
+    /**
+     * Estado de uma importação: o bloco pendente, os contadores e as falhas já reportadas.
+     */
+    private final class ImportRun<T extends BaseEntity<?>> {
+        private final BaseCrudService<T, ?, ?> service;
+        private final List<Long> pendingLines = new ArrayList<>(CHUNK_SIZE);
+        private final List<T> pending = new ArrayList<>(CHUNK_SIZE);
+        private final List<ImportReportDTO.RowError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        ImportRun(BaseCrudService<T, ?, ?> service) {
+            this.service = service;
+        }
+
+        void add(long line, T entity) {
+            total++;
+            String missing = missingRequiredField(entity);
+            if (missing != null) {
+                reportFailure(line, "Campo obrigatório ausente: " + jsonName(missing) + ".");
+                return;
+            }
+            entity.setId(null);
+            service.prepareForSave(entity);
+            pendingLines.add(line);
+            pending.add(entity);
+            if (pending.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            total++;
+            reportFailure(line, message);
+        }
+
+        void flush() {
+            if (pending.isEmpty()) return;
+            try {
+                writeTransaction.executeWithoutResult(status -> persistAll(pending));
+                imported += pending.size();
+            } catch (RuntimeException chunkError) {
+                if (isDatabaseBusy(chunkError)) throw chunkError;
+                // Refaz o bloco linha a linha só para descobrir quais registros o banco recusou
+                for (int i = 0; i < pending.size(); i++) {
+                    T entity = pending.get(i);
+                    entity.setId(null); // O ID reservado na tentativa anterior foi desfeito pelo rollback
+                    try {
+                        writeTransaction.executeWithoutResult(status -> persistAll(List.of(entity)));
+                        imported++;
+                    } catch (RuntimeException rowError) {
+                        if (isDatabaseBusy(rowError)) throw rowError;
+                        reportFailure(pendingLines.get(i), messageOf(rowError));
+                    }
+                }
+            } finally {
+                pending.clear();
+                pendingLines.clear();
+            }
+        }
+
+        private void persistAll(List<T> entities) {
+            for (T entity : entities) {
+                entityManager.persist(entity);
+            }
+            entityManager.flush();
+            entityManager.clear(); // Não acumula as entidades importadas no contexto de persistência
+        }
+
+        private void reportFailure(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReportDTO.RowError(line, message));
+            }
+        }
+
+        ImportReportDTO report() {
+            return new ImportReportDTO(total, imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
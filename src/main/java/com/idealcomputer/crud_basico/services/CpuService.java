@@ -1,11 +1,14 @@
 package com.idealcomputer.crud_basico.services;
 
+import com.idealcomputer.crud_basico.catalog.CpuCapabilities;
 import com.idealcomputer.crud_basico.models.CpuModel;
 import com.idealcomputer.crud_basico.repositories.CpuRepository;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 @Service
 public class CpuService extends BaseCrudService<CpuModel, Long, CpuRepository> {
 
@@ -14,12 +17,45 @@ public class CpuService extends BaseCrudService<CpuModel, Long, CpuRepository> {
         super(repository, "Processador (CPU)");
     }
 
+    @Override
+    protected Map<String, TextFilter> textFilters() {
+        return Map.of("marca", TextFilter.exact("marca"), "soquete", TextFilter.exact("soquete"));
+    }
+
     @Override
     @Transactional
     public CpuModel save(CpuModel entity) {
         return super.save(entity);
     }
 
+    @Override
+    protected void prepareForSave(CpuModel entity) {
+        // ✅ Edição: o frontend reenvia o corpo antigo, sem as capacidades. Campos ausentes mantêm o valor gravado
+        // (inclusive a correção feita pelo admin), em vez de voltarem a ser derivados do nome.
+        if (entity.getId() != null) {
+            repository.findById(entity.getId()).ifPresent(stored -> {
+                if (entity.getGraficosIntegrados() == null) entity.setGraficosIntegrados(stored.getGraficosIntegrados());
+                if (entity.getCoolerIncluso() == null) entity.setCoolerIncluso(stored.getCoolerIncluso());
+                if (entity.getNivelDesempenho() == null) entity.setNivelDesempenho(stored.getNivelDesempenho());
+            });
+        }
+        // ✅ Capacidades ainda em branco (cadastro novo ou registro anterior às colunas) são derivadas do nome
+        CpuCapabilities.fillMissing(entity);
+    }
+
+    /**
+     * Descarta as capacidades gravadas (inclusive correções do admin) e volta a derivá-las do nome.
+     */
+    @Transactional
+    public CpuModel resetCapabilities(Long id) {
+        CpuModel cpu = findById(id);
+        cpu.setGraficosIntegrados(null);
+        cpu.setCoolerIncluso(null);
+        cpu.setNivelDesempenho(null);
+        CpuCapabilities.fillMissing(cpu);
+        return super.save(cpu);
+    }
+
     @Override
     @Transactional
     public void deleteById(Long id) {
@@ -0,0 +1,42 @@
+package com.idealcomputer.crud_basico.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * Cursor opaco da paginação por chave (keyset): guarda a ordenação e a chave do último item entregue.
+ * A próxima página começa logo depois dessa chave, com um WHERE (preco, id) > (?, ?) no lugar do OFFSET,
+ * então uma página profunda custa o mesmo que a primeira.
+ *
+ * Formato (antes do Base64 URL-safe): "<ordem>:<preço>:<id>"; o preço fica vazio na ordem por ID.
+ */
+record KeysetCursor(String order, Double preco, long id) {
+
+    static final String BY_ID = "id";
+    static final String BY_PRECO = "preco";
+
+    String encode() {
+        String raw = order + ":" + (preco != null ? preco : "") + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws RuntimeException se o cursor não foi gerado por esta API ou é de outra ordenação.
+     */
+    static KeysetCursor decode(String cursor, String expectedOrder) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", -1);
+            if (parts.length != 3 || !parts[0].equals(expectedOrder)) {
+                throw new IllegalArgumentException(raw);
+            }
+            Double preco = parts[1].isEmpty() ? null : Double.valueOf(parts[1]);
+            if (BY_PRECO.equals(expectedOrder) && preco == null) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new KeysetCursor(parts[0], preco, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor inválido para a ordenação '" + expectedOrder + "'.");
+        }
+    }
+}
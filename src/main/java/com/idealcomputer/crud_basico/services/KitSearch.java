@@ -0,0 +1,193 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.catalog.KitRanking;
+import com.idealcomputer.crud_basico.catalog.PlatformKit;
+import com.idealcomputer.crud_basico.dto.RecommendationResponseDTO;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+/*
+ * Busca de um kit dentro de uma faixa do ranking, do jeito que o fallback escolhe:
+ * vence o kit da tentativa mais estrita (menor tier) que monta uma build e, entre esses,
+ * o primeiro na ordem. Cada kit vira a chave (tier, posição) e o resultado é a menor chave
+ * entre os kits que montam uma build.
+ *
+ * A busca pode ser serial ou dividida em faixas contínuas em um ForkJoinPool. Nos dois casos
+ * a melhor chave encontrada até o momento é compartilhada: um kit só é avaliado se a sua chave
+ * ainda puder vencer, e uma faixa é abandonada assim que nenhuma posição restante pode vencer.
+ * Como o vencedor é sempre a menor chave, o resultado paralelo é idêntico ao serial.
+ *
+ * O vencedor é entregue a "onFinal" uma única vez, na thread que chamou runSerial/runParallel, assim que
+ * nenhum outro kit pode mais vencê-lo: na busca serial, logo no primeiro kit da menor tentativa que monta
+ * uma build (todas as posições anteriores já foram decididas); nos demais casos, ao fim da busca.
+ *
+ * "cancelRequested" é consultado antes de cada kit; quando fica true, a busca para e nada é anunciado.
+ */
+final class KitSearch {
+
+    private final KitRanking.Slice kits;
+    private final int minTier;
+    private final ToIntFunction<PlatformKit> tierOf;
+    private final Function<PlatformKit, RecommendationResponseDTO> tryKit;
+    private final ObjIntConsumer<RecommendationResponseDTO> onFinal;
+    private final BooleanSupplier cancelRequested;
+
+    private final AtomicLong bestKey = new AtomicLong(Long.MAX_VALUE);
+    private RecommendationResponseDTO bestResponse;
+    private boolean serial;
+    private boolean announced;
+    private volatile boolean cancelled;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder selectionNanos = new LongAdder();
+
+    /**
+     * @param kits    Os kits, na ordem em que o fallback os testa.
+     * @param minTier A menor tentativa que um kit pode ter nesta busca.
+     * @param tierOf  A tentativa mais estrita que aceita o kit.
+     * @param tryKit  Monta a build em volta do kit, ou retorna null.
+     * @param onFinal Recebe a build vencedora e a sua tentativa, assim que ela fica definitiva.
+     * @param cancelRequested True interrompe a busca (consultado antes de cada kit).
+     */
+    KitSearch(KitRanking.Slice kits,
+              int minTier,
+              ToIntFunction<PlatformKit> tierOf,
+              Function<PlatformKit, RecommendationResponseDTO> tryKit,
+              ObjIntConsumer<RecommendationResponseDTO> onFinal,
+              BooleanSupplier cancelRequested) {
+        this.kits = kits;
+        this.minTier = minTier;
+        this.tierOf = tierOf;
+        this.tryKit = tryKit;
+        this.onFinal = onFinal;
+        this.cancelRequested = cancelRequested;
+    }
+
+    /**
+     * Percorre toda a faixa na thread atual.
+     */
+    KitSearch runSerial() {
+        serial = true;
+        scan(0, kits.size());
+        announce();
+        return this;
+    }
+
+    /**
+     * Divide a faixa entre as threads do pool, em faixas de até "leafSize" kits.
+     * As faixas mais cedo na ordem são executadas primeiro pela thread que divide o trabalho.
+     */
+    KitSearch runParallel(ForkJoinPool pool, int leafSize) {
+        pool.invoke(new RangeTask(0, kits.size(), Math.max(1, leafSize)));
+        announce();
+        return this;
+    }
+
+    // --- RESULTADO ---
+
+    synchronized RecommendationResponseDTO response() {
+        return bestResponse;
+    }
+
+    int tier() {
+        long key = bestKey.get();
+        return key == Long.MAX_VALUE ? 0 : (int) (key >>> 32);
+    }
+
+    int attempts() {
+        return attempts.intValue();
+    }
+
+    boolean cancelled() {
+        return cancelled;
+    }
+
+    long selectionNanos() {
+        return selectionNanos.sum();
+    }
+
+    // --- BUSCA ---
+
+    private static long key(int tier, int position) {
+        return ((long) tier << 32) | position;
+    }
+
+    private void scan(int from, int to) {
+        for (int position = from; position < to; position++) {
+            if (stopRequested()) return;
+            // Nenhum kit desta posição em diante tem chave menor que a melhor já encontrada.
+            if (key(minTier, position) >= bestKey.get()) return;
+
+            PlatformKit kit = kits.get(position);
+            int tier = tierOf.applyAsInt(kit);
+            long key = key(tier, position);
+            if (key >= bestKey.get()) continue;
+
+            long start = System.nanoTime();
+            RecommendationResponseDTO response = tryKit.apply(kit);
+            selectionNanos.add(System.nanoTime() - start);
+            attempts.increment();
+
+            if (response != null) {
+                offer(key, response);
+                if (serial && tier == minTier) announce();
+            }
+        }
+    }
+
+    private boolean stopRequested() {
+        if (!cancelled && cancelRequested.getAsBoolean()) {
+            cancelled = true;
+        }
+        return cancelled;
+    }
+
+    private void announce() {
+        if (!announced && !cancelled && bestResponse != null) {
+            announced = true;
+            onFinal.accept(bestResponse, tier());
+        }
+    }
+
+    private synchronized void offer(long key, RecommendationResponseDTO response) {
+        if (key < bestKey.get()) {
+            bestKey.set(key);
+            bestResponse = response;
+        }
+    }
+
+    private final class RangeTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        RangeTask(int from, int to, int leafSize) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (stopRequested() || key(minTier, from) >= bestKey.get()) return;
+
+            if (to - from <= leafSize) {
+                scan(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask later = new RangeTask(middle, to, leafSize);
+            later.fork();
+            new RangeTask(from, middle, leafSize).compute();
+            later.join();
+        }
+    }
+}
@@ -6,6 +6,8 @@ import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 @Service
 public class MemoriaRamService extends BaseCrudService<MemoriaRamModel, Long, MemoriaRamRepository> {
 
@@ -14,6 +16,11 @@ public class MemoriaRamService extends BaseCrudService<MemoriaRamModel, Long, Me
         super(repository, "Memória RAM");
     }
 
+    @Override
+    protected Map<String, TextFilter> textFilters() {
+        return Map.of("marca", TextFilter.exact("marca"), "tipo", TextFilter.exact("tipo"));
+    }
+
     @Override
     @Transactional
     public MemoriaRamModel save(MemoriaRamModel entity) {
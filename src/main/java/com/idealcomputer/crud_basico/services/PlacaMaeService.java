@@ -6,6 +6,8 @@ import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 @Service
 public class PlacaMaeService extends BaseCrudService<PlacaMaeModel, Long, PlacaMaeRepository> {
 
@@ -14,6 +16,13 @@ public class PlacaMaeService extends BaseCrudService<PlacaMaeModel, Long, PlacaM
         super(repository, "Placa-mãe");
     }
 
+    @Override
+    protected Map<String, TextFilter> textFilters() {
+        return Map.of("marca", TextFilter.exact("marca"),
+                "soquete", TextFilter.exact("soqueteCpu"),
+                "tipo", TextFilter.exact("tipoRamSuportado"));
+    }
+
     @Override
     @Transactional
     public PlacaMaeModel save(PlacaMaeModel entity) {
@@ -0,0 +1,143 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshot;
+import com.idealcomputer.crud_basico.dto.PriceUpdateDTO;
+import com.idealcomputer.crud_basico.dto.PriceUpdateSummaryDTO;
+import com.idealcomputer.crud_basico.models.*;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Statement;
+import java.util.*;
+
+/*
+ * Atualização de preços em massa (feed de preços).
+ * - Só a coluna de preço é alterada: um UPDATE ... SET preco = ? WHERE id = ? por item, sem ler a entidade antes
+ *   (o save() faz SELECT + UPDATE da linha inteira).
+ * - Os UPDATEs de cada categoria vão ao banco em lotes JDBC, todos na mesma transação: ou todos os preços
+ *   são aplicados, ou nenhum.
+ * - Depois do commit, cada categoria alterada é relida uma única vez na fotografia do catálogo.
+ */
+@Service
+public class PriceFeedService {
+
+    // Maior quantidade de itens por requisição (tudo roda numa única transação)
+    public static final int MAX_UPDATES = 50_000;
+
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    // Categorias aceitas, com os mesmos nomes das URLs (/api/cpus, /api/placas-mae...)
+    private static final Map<String, Class<?>> TYPES_BY_TIPO = Map.of(
+            "cpus", CpuModel.class,
+            "placas-mae", PlacaMaeModel.class,
+            "memorias-ram", MemoriaRamModel.class,
+            "gpus", GpuModel.class,
+            "armazenamentos", ArmazenamentoModel.class,
+            "fontes", FonteModel.class,
+            "gabinetes", GabineteModel.class,
+            "refrigeracoes", RefrigeracaoModel.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Class<?>, BaseCrudService<?, ?, ?>> servicesByType = new HashMap<>();
+    private final Map<Class<?>, String> updateSqlByType = new HashMap<>();
+
+    public PriceFeedService(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                            List<BaseCrudService<?, ?, ?>> services) {
+        this.jdbcTemplate = jdbcTemplate;
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        for (BaseCrudService<?, ?, ?> service : services) {
+            if (CatalogSnapshot.isCatalogType(service.getEntityType())) {
+                servicesByType.put(service.getEntityType(), service);
+            }
+        }
+        for (Class<?> type : TYPES_BY_TIPO.values()) {
+            updateSqlByType.put(type, updateSqlOf(sessionFactory, type));
+        }
+    }
+
+    /**
+     * Aplica os preços numa única transação. Se o mesmo componente aparecer mais de uma vez, vale o último.
+     * Componentes inexistentes não impedem os demais e voltam em "notFound".
+     * @throws RuntimeException se algum item tiver categoria desconhecida, ID ausente ou preço inválido.
+     */
+    @Transactional
+    public PriceUpdateSummaryDTO updatePrices(List<PriceUpdateDTO> updates) {
+        long start = System.nanoTime();
+        if (updates == null || updates.isEmpty()) {
+            throw new RuntimeException("Nenhum preço informado.");
+        }
+        if (updates.size() > MAX_UPDATES) {
+            throw new RuntimeException("No máximo " + MAX_UPDATES + " preços por requisição.");
+        }
+
+        // Valida tudo antes de tocar no banco e agrupa por categoria (ID -> preço, o último vence)
+        Map<String, LinkedHashMap<Long, Double>> byTipo = new LinkedHashMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            PriceUpdateDTO update = updates.get(i);
+            String tipo = update.getTipo() == null ? null : update.getTipo().trim().toLowerCase(Locale.ROOT);
+            if (tipo == null || !TYPES_BY_TIPO.containsKey(tipo)) {
+                throw new RuntimeException("Item " + i + ": categoria inválida '" + update.getTipo()
+                        + "'. Categorias aceitas: " + String.join(", ", new TreeSet<>(TYPES_BY_TIPO.keySet())) + ".");
+            }
+            if (update.getId() == null) {
+                throw new RuntimeException("Item " + i + ": ID não informado.");
+            }
+            if (update.getPreco() == null || !Double.isFinite(update.getPreco()) || update.getPreco() <= 0) {
+                throw new RuntimeException("Item " + i + ": preço inválido para " + tipo + " " + update.getId() + ".");
+            }
+            byTipo.computeIfAbsent(tipo, t -> new LinkedHashMap<>()).put(update.getId(), update.getPreco());
+        }
+
+        int received = 0;
+        int updated = 0;
+        Map<String, Integer> updatedByTipo = new LinkedHashMap<>();
+        List<PriceUpdateDTO> notFound = new ArrayList<>();
+        for (Map.Entry<String, LinkedHashMap<Long, Double>> entry : byTipo.entrySet()) {
+            String tipo = entry.getKey();
+            Class<?> type = TYPES_BY_TIPO.get(tipo);
+            List<Map.Entry<Long, Double>> prices = new ArrayList<>(entry.getValue().entrySet());
+            received += prices.size();
+
+            int[][] counts = jdbcTemplate.batchUpdate(updateSqlByType.get(type), prices, JDBC_BATCH_SIZE, (ps, price) -> {
+                ps.setDouble(1, price.getValue());
+                ps.setLong(2, price.getKey());
+            });
+
+            int updatedOfTipo = 0;
+            int index = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    Map.Entry<Long, Double> price = prices.get(index++);
+                    if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                        updatedOfTipo++;
+                    } else {
+                        notFound.add(new PriceUpdateDTO(tipo, price.getKey(), price.getValue()));
+                    }
+                }
+            }
+            updated += updatedOfTipo;
+            updatedByTipo.put(tipo, updatedOfTipo);
+
+            // ✅ A categoria é relida na fotografia só depois do commit
+            if (updatedOfTipo > 0 && servicesByType.containsKey(type)) {
+                servicesByType.get(type).publishBulkChange();
+            }
+        }
+        return new PriceUpdateSummaryDTO(received, updated, updatedByTipo, notFound, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Monta o UPDATE com os nomes físicos de tabela e colunas que o Hibernate usa (depois da estratégia
+     * de nomes do Spring, ex: "TB_Cpu"/"Preco_CPU" -> tb_cpu/preco_cpu), e não com os nomes das anotações.
+     */
+    static String updateSqlOf(SessionFactoryImplementor sessionFactory, Class<?> type) {
+        AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMappingMetamodel().getEntityDescriptor(type);
+        return "UPDATE " + persister.getTableName()
+                + " SET " + persister.getPropertyColumnNames("preco")[0]
+                + " = ? WHERE " + persister.getIdentifierColumnNames()[0] + " = ?";
+    }
+}
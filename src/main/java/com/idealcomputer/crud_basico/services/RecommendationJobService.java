@@ -0,0 +1,160 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.dto.RecommendationJobDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationResponseDTO;
+import com.idealcomputer.crud_basico.enums.RecommendationJobStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Recomendações assíncronas: o pedido é aceito na hora e calculado em um executor próprio,
+ * com threads e fila limitadas, sem prender uma thread do Tomcat enquanto espera.
+ * O cliente consulta o resultado depois pelo ID do job.
+ *
+ * Os jobs ficam em memória: os concluídos expiram depois de "result-ttl-seconds" e,
+ * se o limite "max-entries" for atingido, os concluídos mais antigos saem primeiro.
+ */
+@Slf4j
+@Service
+public class RecommendationJobService {
+
+    private final RecommendationTableService recommendationTableService;
+    private final ThreadPoolExecutor executor;
+    private final Duration resultTtl;
+    private final int maxEntries;
+
+    // Jobs na ordem de criação. Acesso sempre sincronizado em "jobs".
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    public RecommendationJobService(RecommendationTableService recommendationTableService,
+                                    @Value("${recommendation.jobs.max-concurrent:2}") int maxConcurrent,
+                                    @Value("${recommendation.jobs.queue-size:50}") int queueSize,
+                                    @Value("${recommendation.jobs.result-ttl-seconds:600}") long resultTtlSeconds,
+                                    @Value("${recommendation.jobs.max-entries:1000}") int maxEntries) {
+        this.recommendationTableService = recommendationTableService;
+        this.resultTtl = Duration.ofSeconds(resultTtlSeconds);
+        // Jobs na fila ou em execução nunca são descartados, então o limite precisa comportá-los.
+        this.maxEntries = Math.max(maxEntries, maxConcurrent + queueSize);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "recommendation-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Registra o pedido e agenda o cálculo.
+     * @throws IllegalArgumentException   se o pedido estiver incompleto.
+     * @throws RejectedExecutionException se todas as threads e a fila de espera estiverem ocupadas.
+     */
+    public RecommendationJobDTO submit(RecommendationRequestDTO request) {
+        if (request == null || RecommendationKey.from(request) == null) {
+            throw new IllegalArgumentException("Os campos usage, budget e detail são obrigatórios.");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), Instant.now());
+        synchronized (jobs) {
+            executor.execute(() -> run(job, request));
+            jobs.put(job.id, job);
+            evict(Instant.now());
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * A situação atual do job, ou null se ele não existe ou já expirou.
+     */
+    public RecommendationJobDTO find(String id) {
+        synchronized (jobs) {
+            evict(Instant.now());
+            Job job = jobs.get(id);
+            return job != null ? job.toDTO() : null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Job job, RecommendationRequestDTO request) {
+        job.status = RecommendationJobStatus.RUNNING;
+        RecommendationTrace trace = RecommendationTrace.of(request);
+        try {
+            job.result = recommendationTableService.recommend(request, trace);
+            job.finish(RecommendationJobStatus.DONE);
+            log.info("Job de recomendação concluído: id={} {}", job.id, trace.finish());
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.finish(RecommendationJobStatus.FAILED);
+            log.warn("Job de recomendação falhou: id={} {}", job.id, trace.finish());
+        }
+    }
+
+    // Chamado sempre com o lock de "jobs".
+    private void evict(Instant now) {
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            Job job = iterator.next();
+            Instant finishedAt = job.finishedAt;
+            if (finishedAt != null && finishedAt.plus(resultTtl).isBefore(now)) {
+                iterator.remove();
+            }
+        }
+        iterator = jobs.values().iterator();
+        while (jobs.size() > maxEntries && iterator.hasNext()) {
+            if (iterator.next().finishedAt != null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /*
+     * Estado de um job; escrito pela thread do executor e lido pelas requisições de consulta.
+     */
+    private static final class Job {
+
+        final String id;
+        final Instant createdAt;
+        volatile RecommendationJobStatus status = RecommendationJobStatus.QUEUED;
+        volatile RecommendationResponseDTO result;
+        volatile String error;
+        volatile Instant finishedAt;
+
+        Job(String id, Instant createdAt) {
+            this.id = id;
+            this.createdAt = createdAt;
+        }
+
+        void finish(RecommendationJobStatus finalStatus) {
+            finishedAt = Instant.now();
+            status = finalStatus;
+        }
+
+        RecommendationJobDTO toDTO() {
+            // "status" é lido primeiro: se já está concluído, result/error já foram escritos.
+            RecommendationJobStatus currentStatus = status;
+            return new RecommendationJobDTO(id, currentStatus, createdAt,
+                    currentStatus == RecommendationJobStatus.DONE || currentStatus == RecommendationJobStatus.FAILED ? finishedAt : null,
+                    currentStatus == RecommendationJobStatus.DONE ? result : null,
+                    currentStatus == RecommendationJobStatus.FAILED ? error : null);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forma canônica de um pedido de recomendação.
+ * O motor só olha para o uso (jogos/trabalho/estudos), para a faixa de orçamento
+ * e para algumas palavras-chave do detalhe, então dois pedidos com a mesma chave
+ * sempre produzem o mesmo resultado.
+ *
+ * @param usage      O uso normalizado ("jogos", "trabalho", "estudos" ou "outro").
+ * @param budget     A faixa de orçamento normalizada (valores desconhecidos caem em "intermediário").
+ * @param detailMask Bits das palavras-chave encontradas no detalhe (ver DETAIL_KEYWORDS).
+ */
+public record RecommendationKey(String usage, String budget, int detailMask) {
+
+    // Todas as palavras-chave de "detail" consultadas pelo RecommendationService.
+    static final String[] DETAIL_KEYWORDS = {
+            "pesados", "todo tipo", "leves", "edição", "design", "engenharia", "office", "básico"
+    };
+
+    static final List<String> USAGES = List.of("jogos", "trabalho", "estudos");
+    static final List<String> BUDGETS = List.of("econômico", "intermediário", "alto", "extremo");
+
+    /**
+     * Calcula a chave de um pedido, ou null se o pedido estiver incompleto.
+     */
+    public static RecommendationKey from(RecommendationRequestDTO request) {
+        if (request.getUsage() == null || request.getBudget() == null || request.getDetail() == null) {
+            return null;
+        }
+        String usage = request.getUsage().toLowerCase();
+        String budget = request.getBudget().toLowerCase();
+        String detail = request.getDetail().toLowerCase();
+
+        int mask = 0;
+        for (int i = 0; i < DETAIL_KEYWORDS.length; i++) {
+            if (detail.contains(DETAIL_KEYWORDS[i])) mask |= 1 << i;
+        }
+        return new RecommendationKey(
+                USAGES.contains(usage) ? usage : "outro",
+                BUDGETS.contains(budget) ? budget : "intermediário",
+                mask);
+    }
+
+    /**
+     * Todas as combinações válidas: cada uso × cada faixa × (nenhuma ou uma palavra-chave no detalhe).
+     */
+    public static List<RecommendationKey> allValid() {
+        List<RecommendationKey> keys = new ArrayList<>();
+        for (String usage : USAGES) {
+            for (String budget : BUDGETS) {
+                keys.add(new RecommendationKey(usage, budget, 0));
+                for (int i = 0; i < DETAIL_KEYWORDS.length; i++) {
+                    keys.add(new RecommendationKey(usage, budget, 1 << i));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Monta um pedido que o motor trata exatamente como qualquer outro pedido com esta chave.
+     */
+    public RecommendationRequestDTO toRequest() {
+        StringBuilder detail = new StringBuilder();
+        for (int i = 0; i < DETAIL_KEYWORDS.length; i++) {
+            if ((detailMask & (1 << i)) != 0) {
+                if (!detail.isEmpty()) detail.append(' ');
+                detail.append(DETAIL_KEYWORDS[i]);
+            }
+        }
+        RecommendationRequestDTO request = new RecommendationRequestDTO();
+        request.setUsage(usage);
+        request.setBudget(budget);
+        request.setDetail(detail.toString());
+        return request;
+    }
+}
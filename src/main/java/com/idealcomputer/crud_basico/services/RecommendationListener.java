@@ -0,0 +1,50 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.models.CpuModel;
+import com.idealcomputer.crud_basico.models.MemoriaRamModel;
+import com.idealcomputer.crud_basico.models.PlacaMaeModel;
+
+/*
+ * Acompanha o RecommendationService durante uma recomendação (ex: para enviar o progresso por SSE).
+ * Os eventos são chamados na thread que chamou generateBuild, mesmo quando a busca de kits
+ * roda em paralelo, e na ordem: kitsLoaded e, para cada passada do fallback, passStarted,
+ * platformSelected + componentSelected (se a passada encontrou a build) e passFinished.
+ */
+public interface RecommendationListener {
+
+    RecommendationListener NONE = new RecommendationListener() { };
+
+    /**
+     * Consultado pela busca antes de cada kit (em qualquer thread da busca paralela): true interrompe
+     * a recomendação, que termina com CancellationException (ex: o cliente do SSE desconectou).
+     */
+    default boolean cancelled() { return false; }
+
+    /**
+     * Os kits compatíveis da fotografia foram obtidos.
+     */
+    default void kitsLoaded(int totalKits) { }
+
+    /**
+     * Início de uma passada do fallback: tentativas 1 a 3 (firstTier=1, lastTier=3) ou tentativa 4.
+     */
+    default void passStarted(int firstTier, int lastTier, int kits) { }
+
+    /**
+     * Fim de uma passada do fallback; tier = tentativa da build encontrada, ou 0 se nenhuma.
+     */
+    default void passFinished(int firstTier, int lastTier, int attempts, int tier) { }
+
+    /**
+     * O kit CPU + placa-mãe + RAM da recomendação foi definido. Chamado de dentro da passada, assim que
+     * nenhum outro kit pode vencê-lo: logo no primeiro kit da tentativa mais estrita possível que monta
+     * uma build (busca serial), ou ao fim da passada, antes da próxima.
+     */
+    default void platformSelected(int tier, CpuModel cpu, PlacaMaeModel placaMae, MemoriaRamModel memoriaRam) { }
+
+    /**
+     * Uma peça da build vencedora (component pode ser null, ex: sem GPU dedicada). As peças são escolhidas
+     * junto com o kit, então chegam todas logo depois de platformSelected, uma chamada por categoria.
+     */
+    default void componentSelected(String category, Object component) { }
+}
@@ -0,0 +1,91 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshot;
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshotService;
+import com.idealcomputer.crud_basico.services.RecommendationTrace.Phase;
+import io.micrometer.core.instrument.*;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/*
+ * Métricas do motor de recomendação (expostas em /actuator/prometheus):
+ * - recommendation.phase{phase}          tempo de cada fase do generateBuild (só quando o motor roda na requisição)
+ * - recommendation.requests{source,outcome} tempo total por requisição (source: engine, table ou alternatives)
+ * - recommendation.builds{tier}          tentativa do fallback que produziu a build ("none" = nenhuma)
+ * - recommendation.attempts              kits avaliados por requisição
+ * Nas respostas da tabela pré-calculada, tier e attempts são os medidos quando a combinação foi calculada.
+ * - catalog.components{category}         tamanho de cada categoria na fotografia atual
+ */
+@Component
+public class RecommendationMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<Phase, Timer> phaseTimers = new EnumMap<>(Phase.class);
+    private final Counter[] buildsByTier = new Counter[5];
+    private final DistributionSummary attempts;
+
+    public RecommendationMetrics(MeterRegistry registry, CatalogSnapshotService catalogSnapshotService) {
+        this.registry = registry;
+
+        for (Phase phase : Phase.values()) {
+            phaseTimers.put(phase, Timer.builder("recommendation.phase")
+                    .description("Tempo de cada fase do motor de recomendação")
+                    .tag("phase", phase.name().toLowerCase())
+                    .register(registry));
+        }
+        for (int tier = 0; tier <= 4; tier++) {
+            buildsByTier[tier] = Counter.builder("recommendation.builds")
+                    .description("Recomendações por tentativa do fallback que produziu a build")
+                    .tag("tier", tier == 0 ? "none" : String.valueOf(tier))
+                    .register(registry);
+        }
+        this.attempts = DistributionSummary.builder("recommendation.attempts")
+                .description("Kits avaliados até encontrar (ou não) uma build")
+                .publishPercentileHistogram()
+                .register(registry);
+
+        registerCatalogGauge(catalogSnapshotService, "cpus", c -> c.getCpus().size());
+        registerCatalogGauge(catalogSnapshotService, "placas_mae", c -> c.getPlacasMae().size());
+        registerCatalogGauge(catalogSnapshotService, "memorias_ram", c -> c.getMemoriasRam().size());
+        registerCatalogGauge(catalogSnapshotService, "gpus", c -> c.getGpus().size());
+        registerCatalogGauge(catalogSnapshotService, "armazenamentos", c -> c.getArmazenamentos().size());
+        registerCatalogGauge(catalogSnapshotService, "fontes", c -> c.getFontes().size());
+        registerCatalogGauge(catalogSnapshotService, "gabinetes", c -> c.getGabinetes().size());
+        registerCatalogGauge(catalogSnapshotService, "refrigeracoes", c -> c.getRefrigeracoes().size());
+        registerCatalogGauge(catalogSnapshotService, "kits", c -> c.getCompatibilityIndex().kits().size());
+    }
+
+    /**
+     * Registra uma requisição já concluída, qualquer que seja a origem da resposta. Fases só são
+     * registradas quando o motor rodou na requisição (consultas à tabela pré-calculada não passam por elas).
+     */
+    public void record(RecommendationTrace trace) {
+        Tags tags = Tags.of("source", trace.source(), "outcome", trace.error() == null ? "ok" : "error");
+        registry.timer("recommendation.requests", tags).record(trace.totalNanos(), TimeUnit.NANOSECONDS);
+
+        for (Phase phase : Phase.values()) {
+            long nanos = trace.phaseNanos(phase);
+            if (nanos > 0) {
+                phaseTimers.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        buildsByTier[trace.tier()].increment();
+        attempts.record(trace.attempts());
+    }
+
+    private void registerCatalogGauge(CatalogSnapshotService catalogSnapshotService, String category, ToIntFunction<CatalogSnapshot> size) {
+        // Lê a fotografia já carregada, sem forçar uma ida ao banco durante a coleta.
+        Gauge.builder("catalog.components", catalogSnapshotService, service -> {
+                    CatalogSnapshot snapshot = service.currentIfLoaded();
+                    return snapshot != null ? size.applyAsInt(snapshot) : Double.NaN;
+                })
+                .description("Quantidade de itens por categoria na fotografia atual do catálogo")
+                .tags(List.of(Tag.of("category", category)))
+                .register(registry);
+    }
+}
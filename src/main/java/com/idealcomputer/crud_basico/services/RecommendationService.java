@@ -1,97 +1,133 @@
 package com.idealcomputer.crud_basico.services;
 
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshot;
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshotService;
+import com.idealcomputer.crud_basico.catalog.CompatibilityFlags;
+import com.idealcomputer.crud_basico.catalog.KitRanking;
+import com.idealcomputer.crud_basico.catalog.PlatformKit;
+import com.idealcomputer.crud_basico.catalog.PriceIndex;
+import com.idealcomputer.crud_basico.catalog.RefrigeracaoSocketIndex;
+import com.idealcomputer.crud_basico.dto.RecommendationAlternativeDTO;
 import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
 import com.idealcomputer.crud_basico.dto.RecommendationResponseDTO;
+import com.idealcomputer.crud_basico.enums.FormFactor;
 import com.idealcomputer.crud_basico.models.*;
-import com.idealcomputer.crud_basico.repositories.*;
-import lombok.RequiredArgsConstructor;
+import com.idealcomputer.crud_basico.services.RecommendationTrace.Phase;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class RecommendationService {
 
-    private final CpuRepository cpuRepository;
-    private final PlacaMaeRepository placaMaeRepository;
-    private final GpuRepository gpuRepository;
-    private final MemoriaRamRepository memoriaRamRepository;
-    private final ArmazenamentoRepository armazenamentoRepository;
-    private final FonteRepository fonteRepository;
-    private final GabineteRepository gabineteRepository;
-    private final RefrigeracaoRepository refrigeracaoRepository;
+    // ✅ Toda a recomendação é feita sobre uma fotografia do catálogo em memória (sem findAll por requisição)
+    private final CatalogSnapshotService catalogSnapshotService;
 
-    private static class PlatformKit {
-        CpuModel cpu;
-        PlacaMaeModel placaMae;
-        MemoriaRamModel memoriaRam;
-        double totalCost;
+    // ✅ Busca paralela de kits: só para faixas com pelo menos parallelThreshold kits (null = sempre serial)
+    private final ForkJoinPool searchPool;
+    private final int parallelThreshold;
 
-        PlatformKit(CpuModel cpu, PlacaMaeModel placaMae, MemoriaRamModel memoriaRam) {
-            this.cpu = cpu;
-            this.placaMae = placaMae;
-            this.memoriaRam = memoriaRam;
-            this.totalCost = cpu.getPreco() + placaMae.getPreco() + memoriaRam.getPreco();
+    // Limite de alternativas por pedido (?alternatives=K)
+    public static final int MAX_ALTERNATIVES = 10;
+
+    /**
+     * Motor sempre serial (usado fora do Spring, ex: benchmarks e testes).
+     */
+    public RecommendationService(CatalogSnapshotService catalogSnapshotService) {
+        this(catalogSnapshotService, 0, 0);
+    }
+
+    /**
+     * @param parallelThreshold Quantidade mínima de kits para a busca paralela (0 = sempre serial).
+     * @param parallelism       Threads da busca paralela (0 = número de processadores).
+     */
+    @Autowired
+    public RecommendationService(CatalogSnapshotService catalogSnapshotService,
+                                 @Value("${recommendation.parallel.threshold:4096}") int parallelThreshold,
+                                 @Value("${recommendation.parallel.parallelism:0}") int parallelism) {
+        this.catalogSnapshotService = catalogSnapshotService;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        // Com uma única thread a divisão só acrescentaria custo.
+        if (parallelThreshold > 0 && threads > 1) {
+            this.searchPool = new ForkJoinPool(threads, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("recommendation-search-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+            this.parallelThreshold = parallelThreshold;
+        } else {
+            this.searchPool = null;
+            this.parallelThreshold = Integer.MAX_VALUE;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (searchPool != null) {
+            searchPool.shutdownNow();
         }
     }
 
     public RecommendationResponseDTO generateBuild(RecommendationRequestDTO request) {
-        System.out.println("🔵 ========================================");
-        System.out.println("🔵 INICIANDO GERAÇÃO DE RECOMENDAÇÃO");
-        System.out.println("🔵 ========================================");
-        System.out.println("🔵 Usage: " + request.getUsage());
-        System.out.println("🔵 Detail: " + request.getDetail());
-        System.out.println("🔵 Budget: " + request.getBudget());
-        System.out.println("🔵 ========================================");
+        return generateBuild(request, catalogSnapshotService.current());
+    }
+
+    /**
+     * Gera a recomendação usando exatamente a fotografia de catálogo informada.
+     * Nenhum acesso ao banco é feito durante o cálculo.
+     */
+    public RecommendationResponseDTO generateBuild(RecommendationRequestDTO request, CatalogSnapshot catalog) {
+        return generateBuild(request, catalog, RecommendationTrace.of(request));
+    }
 
+    /**
+     * Igual a generateBuild(request, catalog), registrando o tempo de cada fase em "trace".
+     */
+    public RecommendationResponseDTO generateBuild(RecommendationRequestDTO request, CatalogSnapshot catalog, RecommendationTrace trace) {
+        return generateBuild(request, catalog, trace, RecommendationListener.NONE);
+    }
+
+    /**
+     * Igual a generateBuild(request, catalog, trace), avisando "listener" a cada etapa
+     * (passadas do fallback, kit escolhido e cada componente).
+     */
+    public RecommendationResponseDTO generateBuild(RecommendationRequestDTO request,
+                                                   CatalogSnapshot catalog,
+                                                   RecommendationTrace trace,
+                                                   RecommendationListener listener) {
+        trace.catalogVersion(catalog.getVersion());
         double maxBudget = getBudgetLimit(request.getBudget());
-        System.out.println("🔵 Orçamento máximo: R$ " + maxBudget);
-
-        // Gera todos os kits possíveis
-        System.out.println("🔵 Gerando kits de plataforma...");
-        List<PlatformKit> allPossibleKits = new ArrayList<>();
-        List<CpuModel> allCpus = cpuRepository.findAll();
-        List<PlacaMaeModel> allPlacasMae = placaMaeRepository.findAll();
-        List<MemoriaRamModel> allRams = memoriaRamRepository.findAll();
-
-        System.out.println("🔵 Componentes no banco:");
-        System.out.println("🔵   - CPUs: " + allCpus.size());
-        System.out.println("🔵   - Placas-mãe: " + allPlacasMae.size());
-        System.out.println("🔵   - RAMs: " + allRams.size());
-
-        for (CpuModel cpu : allCpus) {
-            for (PlacaMaeModel pm : allPlacasMae) {
-                if (pm.getSoqueteCpu().equalsIgnoreCase(cpu.getSoquete())) {
-                    for (MemoriaRamModel ram : allRams) {
-                        if (ram.getTipo().equalsIgnoreCase(pm.getTipoRamSuportado())) {
-                            allPossibleKits.add(new PlatformKit(cpu, pm, ram));
-                        }
-                    }
-                }
-            }
-        }
 
-        System.out.println("🔵 Total de kits gerados: " + allPossibleKits.size());
+        // ✅ Kits já combinados pelo índice de compatibilidade e ordenados por custo uma única vez por fotografia
+        long phaseStart = System.nanoTime();
+        KitRanking ranking = catalog.getCompatibilityIndex().ranking();
+        trace.addPhase(Phase.KITS, System.nanoTime() - phaseStart);
+        trace.totalKits(ranking.size());
+        listener.kitsLoaded(ranking.size());
 
-        if (allPossibleKits.isEmpty()) {
+        if (ranking.size() == 0) {
             throw new RuntimeException("Nenhum kit compatível de CPU/Placa-mãe/RAM foi encontrado no banco. Verifique as compatibilidades.");
         }
 
         // ✅ Calcula orçamentos de cada componente
         BudgetAllocation allocation = calculateBudgetAllocation(maxBudget, request);
-        System.out.println("🔵 Alocação de orçamento:");
-        System.out.println("🔵   - Plataforma: R$ " + String.format("%.2f", allocation.platformBudget));
-        System.out.println("🔵   - GPU: R$ " + String.format("%.2f", allocation.gpuBudget));
-        System.out.println("🔵   - Armazenamento: R$ " + String.format("%.2f", allocation.storageBudget));
-        System.out.println("🔵   - Gabinete: R$ " + String.format("%.2f", allocation.caseBudget));
-        System.out.println("🔵   - Refrigeração: R$ " + String.format("%.2f", allocation.coolerBudget));
+        log.debug("Orçamento máximo R$ {}: plataforma={} gpu={} armazenamento={} gabinete={} refrigeração={}",
+                maxBudget, allocation.platformBudget, allocation.gpuBudget, allocation.storageBudget,
+                allocation.caseBudget, allocation.coolerBudget);
 
         // ✅ FALLBACK: Tenta com filtros estritos, depois relaxa gradualmente
-        RecommendationResponseDTO response = tryBuildWithFallback(allPossibleKits, request, maxBudget, allocation);
+        RecommendationResponseDTO response = tryBuildWithFallback(catalog, ranking, request, maxBudget, allocation, trace, listener);
 
         if (response != null) {
             return response;
@@ -104,160 +140,436 @@ public class RecommendationService {
     // ✅ FALLBACK INTELIGENTE
     // ========================================
 
+    /*
+     * As tentativas do fallback eram:
+     *   1. filtros de uso e de RAM;  2. só o filtro de RAM;  3. sem filtros  (todas com o orçamento normal)
+     *   4. sem filtros, com +20% em cada orçamento.
+     *
+     * As tentativas 1 a 3 usam os mesmos orçamentos e a mesma ordem de kits; só muda o conjunto aceito,
+     * e cada conjunto contém o anterior. Por isso elas viram uma única passada: cada kit é classificado
+     * uma vez pela tentativa mais estrita que o aceita, e só é avaliado se puder melhorar a melhor build
+     * já encontrada. O resultado é o mesmo da cascata: o primeiro kit (na ordem) que monta uma build
+     * dentro da tentativa mais estrita possível.
+     *
+     * A tentativa 4 só roda se nenhum kit dentro do orçamento normal montar uma build.
+     */
     private RecommendationResponseDTO tryBuildWithFallback(
-            List<PlatformKit> allKits,
+            CatalogSnapshot catalog,
+            KitRanking ranking,
             RecommendationRequestDTO request,
             double maxBudget,
-            BudgetAllocation allocation) {
+            BudgetAllocation allocation,
+            RecommendationTrace trace,
+            RecommendationListener listener) {
+
+        // ✅ Tentativas 1 a 3: uma única passada pelos kits dentro do orçamento da plataforma
+        long passStart = System.nanoTime();
+        KitRanking.Slice kits = kitsInOrder(ranking, request, allocation.platformBudget);
+        trace.budgetKits(kits.size());
+        listener.passStarted(1, 3, kits.size());
+
+        KitSearch strict = search(kits, 1, kit -> strictestTier(kit, request),
+                kit -> tryKit(catalog, kit, request, maxBudget, allocation), trace, listener);
+        trace.addPhase(Phase.STRICT_PASS, System.nanoTime() - passStart);
+        listener.passFinished(1, 3, strict.attempts(), strict.tier());
+        log.debug("Tentativas 1-3: {} kits no orçamento, {} avaliados, build {}", kits.size(), strict.attempts(),
+                strict.response() != null ? "encontrada na tentativa " + strict.tier() : "não encontrada");
+
+        if (strict.response() != null) {
+            trace.tier(strict.tier());
+            return strict.response();
+        }
 
-        System.out.println("🔵 ----------------------------------------");
-        System.out.println("🔵 TENTATIVA 1: Filtros estritos");
+        // ✅ Tentativa 4: Aumentando orçamento de cada componente em 20%
+        passStart = System.nanoTime();
+        BudgetAllocation relaxedAllocation = allocation.scaled(1.2);
+        double relaxedMaxBudget = maxBudget * 1.2;
+        KitRanking.Slice relaxedKits = kitsInOrder(ranking, request, relaxedAllocation.platformBudget);
+        trace.relaxedKits(relaxedKits.size());
+        listener.passStarted(4, 4, relaxedKits.size());
+
+        KitSearch relaxed = search(relaxedKits, 4, kit -> 4,
+                kit -> tryKit(catalog, kit, request, relaxedMaxBudget, relaxedAllocation), trace, listener);
+        trace.addPhase(Phase.RELAXED_PASS, System.nanoTime() - passStart);
+        listener.passFinished(4, 4, relaxed.attempts(), relaxed.tier());
+        log.debug("Tentativa 4: {} kits no orçamento, {} avaliados", relaxedKits.size(), relaxed.attempts());
+
+        if (relaxed.response() != null) {
+            trace.tier(4);
+        }
+        return relaxed.response();
+    }
 
-        // ✅ Tentativa 1: Filtros estritos
-        List<PlatformKit> validKits = filterKits(allKits, request, allocation, true, true);
-        System.out.println("🔵 Kits válidos: " + validKits.size());
+    /**
+     * Executa a busca na thread atual ou, quando a faixa tem pelo menos "parallelThreshold" kits,
+     * dividida entre as threads do searchPool. O resultado é o mesmo nos dois casos.
+     * A build vencedora vai para o listener assim que fica definitiva, ainda dentro da passada.
+     * @throws CancellationException se o listener pediu o cancelamento durante a busca.
+     */
+    private KitSearch search(KitRanking.Slice kits,
+                             int minTier,
+                             ToIntFunction<PlatformKit> tierOf,
+                             Function<PlatformKit, RecommendationResponseDTO> tryKit,
+                             RecommendationTrace trace,
+                             RecommendationListener listener) {
+        KitSearch search = new KitSearch(kits, minTier, tierOf, tryKit,
+                (response, tier) -> announceBuild(listener, tier, response), listener::cancelled);
+        if (searchPool != null && kits.size() >= parallelThreshold) {
+            // Várias faixas por thread, para que threads livres roubem trabalho das mais lentas.
+            search.runParallel(searchPool, kits.size() / (searchPool.getParallelism() * 8));
+            trace.parallel(true);
+        } else {
+            search.runSerial();
+        }
+        trace.addAttempts(search.attempts());
+        trace.addPhase(Phase.SELECTION, search.selectionNanos());
+        if (search.cancelled()) {
+            throw new CancellationException("Recomendação cancelada.");
+        }
+        return search;
+    }
+
+    /**
+     * Envia a build vencedora ao listener: primeiro a plataforma, depois cada peça na ordem da seleção em tryKit.
+     * tryKit escolhe todas as peças antes de se saber se o kit vence, então as peças vão juntas, logo após a plataforma.
+     */
+    private static void announceBuild(RecommendationListener listener, int tier, RecommendationResponseDTO response) {
+        listener.platformSelected(tier, response.getCpu(), response.getPlacaMae(), response.getMemoriaRam());
+        listener.componentSelected("refrigeracao", response.getRefrigeracao());
+        listener.componentSelected("gpu", response.getGpu());
+        listener.componentSelected("armazenamento", response.getArmazenamento());
+        listener.componentSelected("gabinete", response.getGabinete());
+        listener.componentSelected("fonte", response.getFonte());
+    }
 
-        RecommendationResponseDTO response = tryBuildFromKits(validKits, request, maxBudget, allocation);
-        if (response != null) return response;
+    /**
+     * Kits dentro do orçamento da plataforma, na ordem em que o fallback os testa:
+     * do mais barato para o mais caro em builds econômicas, do mais caro para o mais barato nas demais.
+     */
+    private KitRanking.Slice kitsInOrder(KitRanking ranking, RecommendationRequestDTO request, double platformBudget) {
+        boolean isBudgetBuild = request.getBudget().equalsIgnoreCase("econômico");
+        return isBudgetBuild ? ranking.cheapestFirst(platformBudget) : ranking.mostExpensiveFirst(platformBudget);
+    }
 
-        // ✅ Tentativa 2: Sem filtro de usage (aceita qualquer CPU)
-        System.out.println("🔵 ----------------------------------------");
-        System.out.println("🔵 TENTATIVA 2: Relaxando filtro de CPU");
-        validKits = filterKits(allKits, request, allocation, false, true);
-        System.out.println("🔵 Kits válidos: " + validKits.size());
+    /**
+     * A tentativa mais estrita do fallback que aceita o kit:
+     * 1 = passa nos filtros de uso e de RAM, 2 = só no de RAM, 3 = nenhum.
+     */
+    private int strictestTier(PlatformKit kit, RecommendationRequestDTO request) {
+        if (!filterRamByBudget(kit, request.getBudget())) return 3;
+        return filterKitByUsage(kit, request) ? 1 : 2;
+    }
 
-        response = tryBuildFromKits(validKits, request, maxBudget, allocation);
-        if (response != null) return response;
+    /**
+     * Tenta montar a build completa em volta de um kit, ou retorna null.
+     */
+    private RecommendationResponseDTO tryKit(
+            CatalogSnapshot catalog,
+            PlatformKit currentKit,
+            RecommendationRequestDTO request,
+            double maxBudget,
+            BudgetAllocation allocation) {
 
-        // ✅ Tentativa 3: Sem filtro de RAM (aceita qualquer capacidade)
-        System.out.println("🔵 ----------------------------------------");
-        System.out.println("🔵 TENTATIVA 3: Relaxando filtro de RAM");
-        validKits = filterKits(allKits, request, allocation, false, false);
-        System.out.println("🔵 Kits válidos: " + validKits.size());
+        double remainingBudget = maxBudget - currentKit.totalCost();
 
-        response = tryBuildFromKits(validKits, request, maxBudget, allocation);
-        if (response != null) return response;
+        // ✅ 1. Refrigeração (se necessária)
+        RefrigeracaoModel selectedRefrigeracao = null;
+        if (requiresSeparateCooler(currentKit)) {
+            selectedRefrigeracao = selectRefrigeracao(catalog, currentKit, allocation.coolerBudget, maxBudget);
+            if (selectedRefrigeracao != null) {
+                remainingBudget -= selectedRefrigeracao.getPreco();
+            }
+        }
 
-        // ✅ Tentativa 4: Aumentando orçamento de cada componente em 20%
-        System.out.println("🔵 ----------------------------------------");
-        System.out.println("🔵 TENTATIVA 4: Aumentando orçamentos em 20%");
-        BudgetAllocation relaxedAllocation = new BudgetAllocation();
-        relaxedAllocation.platformBudget = allocation.platformBudget * 1.2;
-        relaxedAllocation.gpuBudget = allocation.gpuBudget * 1.2;
-        relaxedAllocation.storageBudget = allocation.storageBudget * 1.2;
-        relaxedAllocation.caseBudget = allocation.caseBudget * 1.2;
-        relaxedAllocation.coolerBudget = allocation.coolerBudget * 1.2;
+        // ✅ 2. GPU (prioridade em builds gaming)
+        GpuModel selectedGpu = null;
+        if (requiresGpu(request)) {
+            selectedGpu = selectGpu(catalog, allocation.gpuBudget, request);
+            if (selectedGpu != null) {
+                remainingBudget -= selectedGpu.getPreco();
+            }
+        }
 
-        validKits = filterKits(allKits, request, relaxedAllocation, false, false);
-        System.out.println("🔵 Kits válidos: " + validKits.size());
+        // ✅ 3. Armazenamento (escalável)
+        ArmazenamentoModel selectedArmazenamento = selectArmazenamento(catalog, allocation.storageBudget, maxBudget);
+        if (selectedArmazenamento == null) return null;
+        remainingBudget -= selectedArmazenamento.getPreco();
+
+        // ✅ 4. Gabinete (compatível e escalável)
+        PriceIndex<GabineteModel> compatibleCases = catalog.getComponentIndexes().gabinetesFor(currentKit.formFactor());
+        int casePosition = selectGabinete(compatibleCases, allocation.caseBudget);
+        if (casePosition < 0) return null;
+        GabineteModel selectedGabinete = compatibleCases.get(casePosition);
+        remainingBudget -= selectedGabinete.getPreco();
+
+        // ✅ 5. Fonte (compatível e adequada)
+        double potenciaNecessaria = calculateRequiredWattage(currentKit.cpu(), selectedGpu, maxBudget);
+        FonteModel selectedFonte = selectFonte(catalog, currentKit.formFactor(), compatibleCases.flagsAt(casePosition), remainingBudget, potenciaNecessaria);
+        if (selectedFonte == null) return null;
+        remainingBudget -= selectedFonte.getPreco();
+
+        // Verifica se todos os componentes obrigatórios foram encontrados
+        if (remainingBudget < -500) { // ✅ Tolera até R$ 500 de estouro
+            return null;
+        }
 
-        response = tryBuildFromKits(validKits, request, maxBudget * 1.2, relaxedAllocation);
-        if (response != null) return response;
+        if (log.isDebugEnabled()) {
+            log.debug("Build encontrada: total R$ {} ({}% do orçamento) cpu={} placaMae={} ram={} gpu={} armazenamento={} fonte={} gabinete={} refrigeracao={}",
+                    maxBudget - remainingBudget, Math.round((maxBudget - remainingBudget) / maxBudget * 100),
+                    currentKit.cpu().getNome(), currentKit.placaMae().getNome(), currentKit.memoriaRam().getNome(),
+                    selectedGpu != null ? selectedGpu.getNome() : "Nenhuma", selectedArmazenamento.getNome(),
+                    selectedFonte.getNome(), selectedGabinete.getNome(),
+                    selectedRefrigeracao != null ? selectedRefrigeracao.getNome() : "Nenhuma");
+        }
 
-        return null;
+        RecommendationResponseDTO response = new RecommendationResponseDTO();
+        response.setCpu(currentKit.cpu());
+        response.setPlacaMae(currentKit.placaMae());
+        response.setMemoriaRam(currentKit.memoriaRam());
+        response.setGpu(selectedGpu);
+        response.setArmazenamento(selectedArmazenamento);
+        response.setFonte(selectedFonte);
+        response.setGabinete(selectedGabinete);
+        response.setRefrigeracao(selectedRefrigeracao);
+        return response;
     }
 
-    private List<PlatformKit> filterKits(
-            List<PlatformKit> allKits,
-            RecommendationRequestDTO request,
-            BudgetAllocation allocation,
-            boolean applyUsageFilter,
-            boolean applyRamFilter) {
+    // ========================================
+    // ✅ ALTERNATIVAS (TOP-K COM BRANCH-AND-BOUND)
+    // ========================================
 
-        return allKits.stream()
-                .filter(kit -> kit.totalCost <= allocation.platformBudget)
-                .filter(kit -> !applyUsageFilter || filterKitByUsage(kit, request))
-                .filter(kit -> !applyRamFilter || filterRamByBudget(kit, request.getBudget()))
-                .sorted(Comparator.comparingDouble((PlatformKit kit) -> kit.totalCost).reversed())
-                .collect(Collectors.toList());
+    /**
+     * Gera até "alternatives" builds distintas, da melhor para a pior.
+     *
+     * Uma build é melhor quando investe mais nas peças de desempenho (CPU + placa-mãe + RAM,
+     * GPU e SSD) respeitando o orçamento de cada categoria e o estouro máximo de R$ 500.
+     * Em caso de empate, a mais barata vem primeiro. Refrigeração e gabinete seguem as mesmas
+     * regras da recomendação única, e a fonte é a mais barata compatível.
+     *
+     * As tentativas do fallback continuam valendo: builds com filtros estritos vêm antes
+     * das builds encontradas com filtros relaxados.
+     */
+    public List<RecommendationAlternativeDTO> generateAlternatives(RecommendationRequestDTO request, int alternatives, RecommendationTrace trace) {
+        return generateAlternatives(request, catalogSnapshotService.current(), alternatives, trace);
     }
 
-    private RecommendationResponseDTO tryBuildFromKits(
-            List<PlatformKit> validKits,
-            RecommendationRequestDTO request,
-            double maxBudget,
-            BudgetAllocation allocation) {
+    public List<RecommendationAlternativeDTO> generateAlternatives(RecommendationRequestDTO request, CatalogSnapshot catalog, int alternatives) {
+        return generateAlternatives(request, catalog, alternatives, RecommendationTrace.of(request));
+    }
 
-        if (validKits.isEmpty()) return null;
+    /**
+     * Igual a generateAlternatives(request, catalog, alternatives), registrando em "trace" os kits avaliados
+     * e a tentativa do fallback da melhor alternativa.
+     */
+    public List<RecommendationAlternativeDTO> generateAlternatives(RecommendationRequestDTO request,
+                                                                   CatalogSnapshot catalog,
+                                                                   int alternatives,
+                                                                   RecommendationTrace trace) {
+        if (alternatives < 1 || alternatives > MAX_ALTERNATIVES) {
+            throw new IllegalArgumentException("O número de alternativas deve estar entre 1 e " + MAX_ALTERNATIVES + ".");
+        }
+        trace.catalogVersion(catalog.getVersion());
+        double maxBudget = getBudgetLimit(request.getBudget());
+        KitRanking ranking = catalog.getCompatibilityIndex().ranking();
+        trace.totalKits(ranking.size());
+        if (ranking.size() == 0) {
+            throw new RuntimeException("Nenhum kit compatível de CPU/Placa-mãe/RAM foi encontrado no banco. Verifique as compatibilidades.");
+        }
 
-        boolean isBudgetBuild = request.getBudget().equalsIgnoreCase("econômico");
-        if (isBudgetBuild) {
-            validKits.sort(Comparator.comparingDouble(kit -> kit.totalCost));
-        }
-
-        // Tenta montar a build completa
-        int attempts = 0;
-        for (PlatformKit currentKit : validKits) {
-            attempts++;
-            double remainingBudget = maxBudget - currentKit.totalCost;
-
-            // ✅ 1. Refrigeração (se necessária)
-            RefrigeracaoModel selectedRefrigeracao = null;
-            if (requiresSeparateCooler(currentKit.cpu)) {
-                selectedRefrigeracao = selectRefrigeracao(currentKit.cpu, allocation.coolerBudget, maxBudget);
-                if (selectedRefrigeracao != null) {
-                    remainingBudget -= selectedRefrigeracao.getPreco();
-                }
+        BudgetAllocation allocation = calculateBudgetAllocation(maxBudget, request);
+        BudgetAllocation relaxedAllocation = allocation.scaled(1.2);
+
+        List<BuildCandidate> found = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        KitRanking.Slice kits = ranking.mostExpensiveFirst(allocation.platformBudget);
+        KitRanking.Slice relaxedKits = ranking.mostExpensiveFirst(relaxedAllocation.platformBudget);
+        trace.budgetKits(kits.size());
+        trace.relaxedKits(relaxedKits.size());
+        trace.addAttempts(searchTopK(catalog, kits, 1, request, maxBudget, allocation, 1, alternatives, found, seen));
+        trace.addAttempts(searchTopK(catalog, kits, 2, request, maxBudget, allocation, 2, alternatives, found, seen));
+        trace.addAttempts(searchTopK(catalog, kits, 3, request, maxBudget, allocation, 3, alternatives, found, seen));
+        trace.addAttempts(searchTopK(catalog, relaxedKits, 3, request, maxBudget * 1.2, relaxedAllocation, 4, alternatives, found, seen));
+
+        if (found.isEmpty()) {
+            throw new RuntimeException("Não foi possível montar uma configuração completa. Tente aumentar o orçamento ou adicionar mais peças ao banco.");
+        }
+        trace.tier(found.get(0).attempt);
+
+        List<RecommendationAlternativeDTO> result = new ArrayList<>(found.size());
+        for (BuildCandidate candidate : found) {
+            result.add(new RecommendationAlternativeDTO(result.size() + 1, candidate.attempt, candidate.totalCost, candidate.toResponse()));
+        }
+        return result;
+    }
+
+    /**
+     * Busca as melhores builds de uma tentativa do fallback e as acrescenta em "found"
+     * até completar "alternatives".
+     *
+     * Só entram os kits aceitos pela tentativa (strictestTier <= maxTier).
+     * Os kits chegam ordenados do mais caro para o mais barato e GPUs/SSDs são percorridos
+     * do mais caro para o mais barato, então o limite superior de cada ramo
+     * (kit + GPU mais cara possível + SSD mais caro possível) só diminui: assim que ele fica
+     * abaixo da pior build guardada, o restante do ramo é descartado.
+     * @return Quantidade de kits avaliados (os que não foram descartados pelo filtro ou pelo limite).
+     */
+    private int searchTopK(
+            CatalogSnapshot catalog,
+            KitRanking.Slice kits,
+            int maxTier,
+            RecommendationRequestDTO request,
+            double maxBudget,
+            BudgetAllocation allocation,
+            int attempt,
+            int alternatives,
+            List<BuildCandidate> found,
+            Set<String> seen) {
+
+        int slots = alternatives - found.size();
+        if (slots <= 0 || kits.size() == 0) return 0;
+
+        PriceIndex<GpuModel> gpus = catalog.getComponentIndexes().getGpus();
+        PriceIndex<ArmazenamentoModel> ssds = catalog.getComponentIndexes().getSsds();
+        double maxTotal = maxBudget + 500; // ✅ Mesmo estouro tolerado pela recomendação única
+
+        int ssdCount = ssds.countAtMost(allocation.storageBudget);
+        if (ssdCount == 0) return 0;
+        double bestSsdPrice = ssds.priceAt(ssdCount - 1);
+
+        // GPUs candidatas (da mais cara para a mais barata); null quando a build não usa ou não cabe GPU.
+        List<GpuModel> gpuOptions = gpuOptions(gpus, request, allocation.gpuBudget);
+        double bestGpuPrice = gpuOptions.get(0) != null ? gpuOptions.get(0).getPreco() : 0;
+
+        // Pior build guardada fica no topo da fila.
+        Comparator<BuildCandidate> ranking = BuildCandidate.RANKING;
+        PriorityQueue<BuildCandidate> best = new PriorityQueue<>(ranking.reversed());
+        int evaluated = 0;
+
+        for (int k = 0; k < kits.size(); k++) {
+            PlatformKit kit = kits.get(k);
+            if (strictestTier(kit, request) > maxTier) continue;
+            double kitBound = kit.totalCost() + bestGpuPrice + bestSsdPrice;
+            if (best.size() == slots && kitBound < best.peek().score) break;
+            evaluated++;
+
+            RefrigeracaoModel cooler = null;
+            if (requiresSeparateCooler(kit)) {
+                cooler = selectRefrigeracao(catalog, kit, allocation.coolerBudget, maxBudget);
             }
+            PriceIndex<GabineteModel> compatibleCases = catalog.getComponentIndexes().gabinetesFor(kit.formFactor());
+            int casePosition = selectGabinete(compatibleCases, allocation.caseBudget);
+            if (casePosition < 0) continue;
+            GabineteModel gabinete = compatibleCases.get(casePosition);
+            int caseFlags = compatibleCases.flagsAt(casePosition);
+            double fixedCost = kit.totalCost() + gabinete.getPreco() + (cooler != null ? cooler.getPreco() : 0);
+
+            for (GpuModel gpu : gpuOptions) {
+                double gpuPrice = gpu != null ? gpu.getPreco() : 0;
+                if (best.size() == slots && kit.totalCost() + gpuPrice + bestSsdPrice < best.peek().score) break;
+
+                double requiredWattage = calculateRequiredWattage(kit.cpu(), gpu, maxBudget);
+                FonteModel fonte = selectFonte(catalog, kit.formFactor(), caseFlags, maxTotal - fixedCost - gpuPrice, requiredWattage);
+                if (fonte == null) continue;
+
+                double ssdBudget = Math.min(allocation.storageBudget, maxTotal - fixedCost - gpuPrice - fonte.getPreco());
+                for (int i = ssds.countAtMost(ssdBudget) - 1; i >= 0; i--) {
+                    ArmazenamentoModel ssd = ssds.get(i);
+                    BuildCandidate candidate = new BuildCandidate(attempt, kit, gpu, ssd, fonte, gabinete, cooler,
+                            fixedCost + gpuPrice + fonte.getPreco() + ssd.getPreco());
+                    if (best.size() == slots) {
+                        if (candidate.score < best.peek().score) break;
+                        if (ranking.compare(candidate, best.peek()) >= 0) continue;
+                    }
+                    if (seen.contains(candidate.key())) continue;
 
-            // ✅ 2. GPU (prioridade em builds gaming)
-            GpuModel selectedGpu = null;
-            if (requiresGpu(request)) {
-                selectedGpu = selectGpu(allocation.gpuBudget, request);
-                if (selectedGpu != null) {
-                    remainingBudget -= selectedGpu.getPreco();
+                    best.add(candidate);
+                    if (best.size() > slots) best.poll();
                 }
             }
+        }
+
+        List<BuildCandidate> ordered = new ArrayList<>(best);
+        ordered.sort(ranking);
+        for (BuildCandidate candidate : ordered) {
+            seen.add(candidate.key());
+            found.add(candidate);
+        }
+        return evaluated;
+    }
 
-            // ✅ 3. Armazenamento (escalável)
-            ArmazenamentoModel selectedArmazenamento = selectArmazenamento(allocation.storageBudget, maxBudget);
-            if (selectedArmazenamento == null) continue;
-            remainingBudget -= selectedArmazenamento.getPreco();
-
-            // ✅ 4. Gabinete (compatível e escalável)
-            GabineteModel selectedGabinete = selectGabinete(currentKit.placaMae, allocation.caseBudget);
-            if (selectedGabinete == null) continue;
-            remainingBudget -= selectedGabinete.getPreco();
-
-            // ✅ 5. Fonte (compatível e adequada)
-            double potenciaNecessaria = calculateRequiredWattage(currentKit.cpu, selectedGpu, maxBudget);
-            FonteModel selectedFonte = selectFonte(currentKit.placaMae, selectedGabinete, remainingBudget, potenciaNecessaria);
-            if (selectedFonte == null) continue;
-            remainingBudget -= selectedFonte.getPreco();
-
-            // Verifica se todos os componentes obrigatórios foram encontrados
-            if (remainingBudget >= -500) { // ✅ Tolera até R$ 500 de estouro
-                double totalPrice = maxBudget - remainingBudget;
-                System.out.println("✅ ========================================");
-                System.out.println("✅ BUILD ENCONTRADA!");
-                System.out.println("✅ ========================================");
-                System.out.println("✅ Tentativas necessárias: " + attempts);
-                System.out.println("✅ Preço total: R$ " + String.format("%.2f", totalPrice));
-                System.out.println("✅ Orçamento usado: " + String.format("%.2f%%", (totalPrice / maxBudget) * 100));
-                System.out.println("✅ Componentes:");
-                System.out.println("✅   - CPU: " + currentKit.cpu.getNome());
-                System.out.println("✅   - Placa-mãe: " + currentKit.placaMae.getNome());
-                System.out.println("✅   - RAM: " + currentKit.memoriaRam.getNome());
-                System.out.println("✅   - GPU: " + (selectedGpu != null ? selectedGpu.getNome() : "Nenhuma"));
-                System.out.println("✅   - Armazenamento: " + selectedArmazenamento.getNome());
-                System.out.println("✅   - Fonte: " + selectedFonte.getNome());
-                System.out.println("✅   - Gabinete: " + selectedGabinete.getNome());
-                System.out.println("✅   - Refrigeração: " + (selectedRefrigeracao != null ? selectedRefrigeracao.getNome() : "Nenhuma"));
-
-                RecommendationResponseDTO response = new RecommendationResponseDTO();
-                response.setCpu(currentKit.cpu);
-                response.setPlacaMae(currentKit.placaMae);
-                response.setMemoriaRam(currentKit.memoriaRam);
-                response.setGpu(selectedGpu);
-                response.setArmazenamento(selectedArmazenamento);
-                response.setFonte(selectedFonte);
-                response.setGabinete(selectedGabinete);
-                response.setRefrigeracao(selectedRefrigeracao);
-                return response;
+    private List<GpuModel> gpuOptions(PriceIndex<GpuModel> gpus, RecommendationRequestDTO request, double budget) {
+        List<GpuModel> options = new ArrayList<>();
+        if (requiresGpu(request)) {
+            String detail = request.getDetail().toLowerCase();
+            boolean needsHighVram = budget > 5000 && (detail.contains("pesados") || detail.contains("todo tipo") || detail.contains("edição"));
+            int withinBudget = gpus.countAtMost(budget);
+            boolean hasHighVram = needsHighVram && gpus.cheapestMatching(withinBudget, g -> g.getMemoriaVram() >= 16) != null;
+
+            for (int i = withinBudget - 1; i >= 0; i--) {
+                GpuModel gpu = gpus.get(i);
+                // ✅ Mesma regra da seleção única: jogos pesados/edição só com 16GB+ de VRAM, quando houver
+                if (!hasHighVram || gpu.getMemoriaVram() >= 16) options.add(gpu);
             }
         }
+        if (options.isEmpty()) options.add(null);
+        return options;
+    }
+
+    /*
+     * Uma build completa encontrada pela busca de alternativas.
+     * score = valor investido em desempenho (kit + GPU + SSD).
+     */
+    private static final class BuildCandidate {
+
+        // Maior score primeiro; empate: menor preço total; depois menores IDs.
+        static final Comparator<BuildCandidate> RANKING = Comparator
+                .comparingDouble((BuildCandidate c) -> -c.score)
+                .thenComparingDouble(c -> c.totalCost)
+                .thenComparing(BuildCandidate::key);
+
+        final int attempt;
+        final PlatformKit kit;
+        final GpuModel gpu;
+        final ArmazenamentoModel armazenamento;
+        final FonteModel fonte;
+        final GabineteModel gabinete;
+        final RefrigeracaoModel refrigeracao;
+        final double score;
+        final double totalCost;
+        private final String key;
+
+        BuildCandidate(int attempt, PlatformKit kit, GpuModel gpu, ArmazenamentoModel armazenamento,
+                       FonteModel fonte, GabineteModel gabinete, RefrigeracaoModel refrigeracao, double totalCost) {
+            this.attempt = attempt;
+            this.kit = kit;
+            this.gpu = gpu;
+            this.armazenamento = armazenamento;
+            this.fonte = fonte;
+            this.gabinete = gabinete;
+            this.refrigeracao = refrigeracao;
+            this.score = kit.totalCost() + (gpu != null ? gpu.getPreco() : 0) + armazenamento.getPreco();
+            this.totalCost = totalCost;
+            // Duas alternativas são distintas quando diferem em alguma peça de desempenho.
+            this.key = kit.cpu().getId() + "/" + kit.placaMae().getId() + "/" + kit.memoriaRam().getId()
+                    + "/" + (gpu != null ? gpu.getId() : "-") + "/" + armazenamento.getId();
+        }
+
+        String key() {
+            return key;
+        }
 
-        return null;
+        RecommendationResponseDTO toResponse() {
+            RecommendationResponseDTO response = new RecommendationResponseDTO();
+            response.setCpu(kit.cpu());
+            response.setPlacaMae(kit.placaMae());
+            response.setMemoriaRam(kit.memoriaRam());
+            response.setGpu(gpu);
+            response.setArmazenamento(armazenamento);
+            response.setFonte(fonte);
+            response.setGabinete(gabinete);
+            response.setRefrigeracao(refrigeracao);
+            return response;
+        }
     }
 
     // ========================================
@@ -270,6 +582,16 @@ public class RecommendationService {
         double storageBudget;
         double caseBudget;
         double coolerBudget;
+
+        BudgetAllocation scaled(double factor) {
+            BudgetAllocation scaled = new BudgetAllocation();
+            scaled.platformBudget = platformBudget * factor;
+            scaled.gpuBudget = gpuBudget * factor;
+            scaled.storageBudget = storageBudget * factor;
+            scaled.caseBudget = caseBudget * factor;
+            scaled.coolerBudget = coolerBudget * factor;
+            return scaled;
+        }
     }
 
     private BudgetAllocation calculateBudgetAllocation(double maxBudget, RecommendationRequestDTO request) {
@@ -312,164 +634,108 @@ public class RecommendationService {
     // ✅ SELEÇÃO INTELIGENTE DE GPU (COM LOGS)
     // ========================================
 
-    private GpuModel selectGpu(double budget, RecommendationRequestDTO request) {
+    private GpuModel selectGpu(CatalogSnapshot catalog, double budget, RecommendationRequestDTO request) {
         String detail = request.getDetail().toLowerCase();
 
-        List<GpuModel> allGpus = gpuRepository.findAll();
-        System.out.println("🔵 [GPU] Total no banco: " + allGpus.size());
-
-        List<GpuModel> gpus = allGpus.stream()
-                .filter(g -> g.getPreco() <= budget)
-                .sorted(Comparator.comparing(GpuModel::getPreco).reversed())
-                .collect(Collectors.toList());
+        // ✅ GPUs já ordenadas por preço no catálogo: busca binária em vez de filtrar + ordenar
+        PriceIndex<GpuModel> gpus = catalog.getComponentIndexes().getGpus();
+        int withinBudget = gpus.countAtMost(budget);
 
-        System.out.println("🔵 [GPU] Dentro do orçamento (R$ " + String.format("%.2f", budget) + "): " + gpus.size());
+        if (withinBudget == 0) return null;
 
-        if (gpus.isEmpty()) return null;
+        GpuModel mostExpensive = gpus.mostExpensiveAtMost(budget);
 
         if (budget > 5000 && (detail.contains("pesados") || detail.contains("todo tipo") || detail.contains("edição"))) {
-            return gpus.stream()
-                    .filter(g -> g.getMemoriaVram() >= 16)
-                    .max(Comparator.comparing(GpuModel::getPreco))
-                    .orElse(gpus.get(0));
+            GpuModel highVram = gpus.mostExpensiveMatching(withinBudget, g -> g.getMemoriaVram() >= 16);
+            return highVram != null ? highVram : mostExpensive;
         }
 
-        return gpus.get(0);
+        return mostExpensive;
     }
 
-    private ArmazenamentoModel selectArmazenamento(double budget, double maxBudget) {
-        List<ArmazenamentoModel> nvmes = armazenamentoRepository.findAll().stream()
-                .filter(a -> a.getTipo().equalsIgnoreCase("SSD NVMe"))
-                .filter(a -> a.getPreco() <= budget)
-                .sorted(Comparator.comparing(ArmazenamentoModel::getCapacidadeGb).reversed()
-                        .thenComparing(ArmazenamentoModel::getPreco))
-                .collect(Collectors.toList());
-
-        if (!nvmes.isEmpty()) {
-            if (maxBudget >= 12000) {
-                return nvmes.stream()
-                        .filter(a -> a.getCapacidadeGb() >= 2000)
-                        .findFirst()
-                        .orElse(nvmes.get(0));
-            }
-            else if (maxBudget >= 7000) {
-                return nvmes.stream()
-                        .filter(a -> a.getCapacidadeGb() >= 1000)
-                        .findFirst()
-                        .orElse(nvmes.get(0));
+    private ArmazenamentoModel selectArmazenamento(CatalogSnapshot catalog, double budget, double maxBudget) {
+        // ✅ NVMe já ordenados por capacidade (desc) e preço (asc); só filtramos pelo orçamento
+        List<ArmazenamentoModel> nvmes = catalog.getComponentIndexes().getNvmesByCapacity();
+
+        ArmazenamentoModel firstWithinBudget = null;
+        ArmazenamentoModel preferred = null;
+        int minCapacity = maxBudget >= 12000 ? 2000 : (maxBudget >= 7000 ? 1000 : 500);
+        boolean cheapestOfMinCapacity = maxBudget < 7000;
+
+        for (ArmazenamentoModel a : nvmes) {
+            if (a.getPreco() > budget) continue;
+            if (firstWithinBudget == null) firstWithinBudget = a;
+            if (a.getCapacidadeGb() >= minCapacity) {
+                if (!cheapestOfMinCapacity) {
+                    preferred = a;
+                    break;
+                }
+                if (preferred == null || a.getPreco() < preferred.getPreco()) {
+                    preferred = a;
+                }
             }
-            return nvmes.stream()
-                    .filter(a -> a.getCapacidadeGb() >= 500)
-                    .min(Comparator.comparing(ArmazenamentoModel::getPreco))
-                    .orElse(nvmes.get(0));
         }
 
-        return armazenamentoRepository.findAll().stream()
-                .filter(a -> a.getTipo().equalsIgnoreCase("SSD SATA"))
-                .filter(a -> a.getPreco() <= budget)
-                .min(Comparator.comparing(ArmazenamentoModel::getPreco))
-                .orElse(null);
-    }
+        if (firstWithinBudget != null) {
+            return preferred != null ? preferred : firstWithinBudget;
+        }
 
-    private GabineteModel selectGabinete(PlacaMaeModel placaMae, double budget) {
-        String formatoPlacaMae = placaMae.getFormato().toLowerCase();
+        return catalog.getComponentIndexes().getSatas().cheapestAtMost(budget);
+    }
 
-        List<GabineteModel> compatibleCases = gabineteRepository.findAll().stream()
-                .filter(g -> g.getPreco() <= budget)
-                .filter(g -> {
-                    String suportados = g.getFormatosPlacaMaeSuportados().toLowerCase();
-                    if (formatoPlacaMae.contains("mini-itx")) return true;
-                    if (formatoPlacaMae.contains("micro-atx") || formatoPlacaMae.contains("m-atx")) {
-                        return suportados.contains("micro-atx") || suportados.contains("m-atx") || suportados.contains("atx");
-                    }
-                    if (formatoPlacaMae.contains("atx") && !formatoPlacaMae.contains("micro") && !formatoPlacaMae.contains("mini")) {
-                        return suportados.contains("atx");
-                    }
-                    return false;
-                })
-                .sorted(Comparator.comparing(GabineteModel::getPreco))
-                .collect(Collectors.toList());
+    /**
+     * Escolhe o gabinete entre os compatíveis com a placa-mãe (já ordenados por preço).
+     * @return A posição do gabinete em compatibleCases, ou -1 se nenhum couber no orçamento.
+     */
+    private int selectGabinete(PriceIndex<GabineteModel> compatibleCases, double budget) {
+        int withinBudget = compatibleCases.countAtMost(budget);
 
-        if (compatibleCases.isEmpty()) return null;
+        if (withinBudget == 0) return -1;
 
         if (budget > 600) {
-            int index = Math.min(compatibleCases.size() / 2, compatibleCases.size() - 1);
-            return compatibleCases.get(index);
+            return Math.min(withinBudget / 2, withinBudget - 1);
         }
 
-        return compatibleCases.get(0);
+        return 0;
     }
 
-    private RefrigeracaoModel selectRefrigeracao(CpuModel cpu, double budget, double maxBudget) {
-        String cpuSocket = cpu.getSoquete();
-        boolean isHighEnd = isHighEndCpu(cpu);
+    private RefrigeracaoModel selectRefrigeracao(CatalogSnapshot catalog, PlatformKit kit, double budget, double maxBudget) {
+        boolean isHighEnd = kit.hasCpuFlag(CompatibilityFlags.CPU_HIGH_END);
 
-        List<RefrigeracaoModel> coolers = refrigeracaoRepository.findAll().stream()
-                .filter(c -> c.getSoquetesCpuSuportados().toUpperCase().contains(cpuSocket.toUpperCase()))
-                .filter(c -> c.getPreco() <= budget)
-                .collect(Collectors.toList());
+        // ✅ Só refrigerações compatíveis com o soquete, já separadas por tipo e ordenadas por preço
+        RefrigeracaoSocketIndex.Coolers coolers = catalog.getComponentIndexes().refrigeracoesFor(kit.cpu().getSoquete());
 
-        if (coolers.isEmpty()) return null;
+        // Mantém a regra antiga: o fallback é o primeiro cooler compatível do catálogo (menor ID)
+        RefrigeracaoModel firstCompatible = coolers.lowestIdAtMost(budget);
+        if (firstCompatible == null) return null;
 
         if (isHighEnd && maxBudget >= 10000) {
-            RefrigeracaoModel waterCooler = coolers.stream()
-                    .filter(c -> c.getTipo().equalsIgnoreCase("Water Cooler"))
-                    .filter(c -> c.getNome().contains("360") || c.getNome().contains("280"))
-                    .max(Comparator.comparing(RefrigeracaoModel::getPreco))
-                    .orElse(null);
+            RefrigeracaoModel waterCooler = coolers.mostExpensiveLargeWaterAtMost(budget);
 
             if (waterCooler != null) return waterCooler;
         }
 
         if (isHighEnd) {
-            RefrigeracaoModel waterCooler = coolers.stream()
-                    .filter(c -> c.getTipo().equalsIgnoreCase("Water Cooler"))
-                    .min(Comparator.comparing(RefrigeracaoModel::getPreco))
-                    .orElse(null);
+            RefrigeracaoModel waterCooler = coolers.cheapestWaterAtMost(budget);
 
             if (waterCooler != null) return waterCooler;
         }
 
-        return coolers.stream()
-                .filter(c -> c.getTipo().equalsIgnoreCase("Air Cooler"))
-                .min(Comparator.comparing(RefrigeracaoModel::getPreco))
-                .orElse(coolers.get(0));
+        RefrigeracaoModel airCooler = coolers.cheapestAirAtMost(budget);
+        return airCooler != null ? airCooler : firstCompatible;
     }
 
-    private FonteModel selectFonte(PlacaMaeModel placaMae, GabineteModel gabinete, double budget, double requiredWattage) {
-        String formatoPlacaMae = placaMae.getFormato().toLowerCase();
-        String formatosGabinete = gabinete.getFormatosPlacaMaeSuportados().toLowerCase();
-
-        return fonteRepository.findAll().stream()
-                .filter(f -> f.getPotenciaWatts() >= requiredWattage)
-                .filter(f -> f.getPreco() <= budget)
-                .filter(f -> {
-                    String formatoFonte = f.getFormato().toLowerCase();
-
-                    if (formatoPlacaMae.contains("mini-itx")) {
-                        if (formatoFonte.contains("sfx")) return true;
-                        return formatoFonte.contains("atx") && formatosGabinete.contains("atx");
-                    }
-
-                    if (formatoPlacaMae.contains("micro-atx") || formatoPlacaMae.contains("m-atx")) {
-                        if (!formatosGabinete.contains("atx") || formatosGabinete.contains("micro-atx")) {
-                            return formatoFonte.contains("sfx");
-                        }
-                        return formatoFonte.contains("atx") || formatoFonte.contains("sfx");
-                    }
-
-                    if (formatoPlacaMae.contains("atx") && !formatoPlacaMae.contains("micro") && !formatoPlacaMae.contains("mini")) {
-                        return formatoFonte.contains("atx") || formatoFonte.contains("sfx");
-                    }
+    private FonteModel selectFonte(CatalogSnapshot catalog, FormFactor formFactor, int caseFlags, double budget, double requiredWattage) {
+        // ✅ Formatos aceitos para a combinação placa-mãe × gabinete, testados com um AND
+        int acceptedForms = CompatibilityFlags.acceptedPsuForms(formFactor, caseFlags);
+        if (acceptedForms == 0) return null;
 
-                    return false;
-                })
-                .min(Comparator.comparing(FonteModel::getPreco))
-                .orElse(null);
+        // ✅ Fontes ordenadas por potência: busca binária pela potência mínima e leitura do mínimo de sufixo
+        return catalog.getComponentIndexes().getFontesByWattage().cheapestAtLeast(acceptedForms, requiredWattage, budget);
     }
 
     private boolean filterRamByBudget(PlatformKit kit, String budgetCategory) {
-        int ramCapacity = kit.memoriaRam.getCapacidadeGb();
+        int ramCapacity = kit.memoriaRam().getCapacidadeGb();
 
         return switch (budgetCategory.toLowerCase()) {
             case "econômico" -> ramCapacity <= 16;
@@ -502,44 +768,34 @@ public class RecommendationService {
     private boolean filterKitByUsage(PlatformKit kit, RecommendationRequestDTO request) {
         String usage = request.getUsage().toLowerCase();
         String detail = request.getDetail().toLowerCase();
-        String cpuName = kit.cpu.getNome().toLowerCase();
+        boolean integratedGraphics = kit.hasCpuFlag(CompatibilityFlags.CPU_INTEGRATED_GRAPHICS);
 
         if (usage.equals("jogos")) {
             if (detail.contains("leves")) {
-                return cpuName.contains("g");
+                return integratedGraphics;
             }
-            return !cpuName.contains("g");
+            return !integratedGraphics;
         }
 
         if (usage.equals("estudos")) {
             if (detail.contains("engenharia")) {
-                return !cpuName.contains("g");
+                return !integratedGraphics;
             }
-            return cpuName.contains("g");
+            return integratedGraphics;
         }
 
         if (usage.equals("trabalho")) {
             if (detail.contains("office") || detail.contains("básico")) {
-                return cpuName.contains("g");
+                return integratedGraphics;
             }
-            return !cpuName.contains("g");
+            return !integratedGraphics;
         }
 
         return true;
     }
 
-    private boolean requiresSeparateCooler(CpuModel cpu) {
-        String name = cpu.getNome().toUpperCase();
-        if (name.endsWith("G")) return false;
-        if (name.contains("I3-12100F") || name.contains("RYZEN 5 5600")) return false;
-        return true;
-    }
-
-    private boolean isHighEndCpu(CpuModel cpu) {
-        String name = cpu.getNome().toUpperCase();
-        return name.contains("RYZEN 7") || name.contains("RYZEN 9") ||
-                name.contains("I7") || name.contains("I9") ||
-                name.contains("13600K");
+    private boolean requiresSeparateCooler(PlatformKit kit) {
+        return !kit.hasCpuFlag(CompatibilityFlags.CPU_BUNDLED_COOLER);
     }
 
     private double calculateRequiredWattage(CpuModel cpu, GpuModel gpu, double budget) {
@@ -0,0 +1,176 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshotService;
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationResponseDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationStreamEventDTO;
+import com.idealcomputer.crud_basico.models.CpuModel;
+import com.idealcomputer.crud_basico.models.MemoriaRamModel;
+import com.idealcomputer.crud_basico.models.PlacaMaeModel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Recomendação com progresso em tempo real (Server-Sent Events).
+ * O motor roda em um pool próprio e limitado, fora das threads do Tomcat. Início e fim de cada passada
+ * do fallback viram eventos assim que acontecem; o kit vencedor, assim que nenhum outro pode vencê-lo,
+ * seguido das suas peças (ver RecommendationListener).
+ * Ver RecommendationStreamEventDTO para o formato dos eventos.
+ */
+@Slf4j
+@Service
+public class RecommendationStreamService {
+
+    private final RecommendationService recommendationService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final RecommendationMetrics metrics;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    public RecommendationStreamService(RecommendationService recommendationService,
+                                       CatalogSnapshotService catalogSnapshotService,
+                                       RecommendationMetrics metrics,
+                                       @Value("${recommendation.stream.max-concurrent:4}") int maxConcurrent,
+                                       @Value("${recommendation.stream.queue-size:16}") int queueSize,
+                                       @Value("${recommendation.stream.timeout-ms:60000}") long timeoutMs) {
+        this.recommendationService = recommendationService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.metrics = metrics;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "recommendation-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Inicia a recomendação em segundo plano e devolve o emitter que vai receber os eventos.
+     * @throws RejectedExecutionException quando todas as threads e a fila de espera estão ocupadas.
+     */
+    public SseEmitter stream(RecommendationRequestDTO request) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        EmitterListener listener = new EmitterListener(emitter, new AtomicBoolean());
+        // ✅ Cliente desconectou, o emitter expirou ou deu erro: a busca para no próximo kit,
+        // sem esperar o próximo evento (entre o início e o fim de uma passada nada é enviado)
+        emitter.onCompletion(listener::close);
+        emitter.onTimeout(listener::close);
+        emitter.onError(error -> listener.close());
+        executor.execute(() -> run(request, emitter, listener));
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(RecommendationRequestDTO request, SseEmitter emitter, EmitterListener listener) {
+        RecommendationTrace trace = RecommendationTrace.of(request);
+        try {
+            RecommendationResponseDTO response = recommendationService.generateBuild(
+                    request, catalogSnapshotService.current(), trace, listener);
+            send(emitter, "complete", RecommendationStreamEventDTO.complete(trace.tier(), response));
+            emitter.complete();
+            log.info("Recomendação enviada por SSE: {}", trace.finish());
+
+        } catch (UncheckedIOException e) {
+            // ✅ Cliente fechou a conexão: a busca é interrompida no próximo evento
+            trace.error("Conexão encerrada pelo cliente");
+            log.info("Recomendação por SSE interrompida: {}", trace.finish());
+            emitter.completeWithError(e.getCause());
+
+        } catch (CancellationException e) {
+            // ✅ Conexão encerrada no meio da busca: o motor parou no kit seguinte, o emitter já foi fechado
+            trace.error("Conexão encerrada pelo cliente");
+            log.info("Recomendação por SSE cancelada: {}", trace.finish());
+
+        } catch (RuntimeException e) {
+            // ✅ Sem build possível (ou pedido inválido): o erro também vai como evento
+            trace.error(e.getMessage());
+            log.warn("Erro na recomendação por SSE: {}", trace.finish());
+            try {
+                send(emitter, "error", RecommendationStreamEventDTO.error(e.getMessage()));
+                emitter.complete();
+            } catch (RuntimeException closed) {
+                // Conexão já encerrada (cliente saiu ou o emitter expirou).
+                emitter.completeWithError(closed);
+            }
+        } finally {
+            metrics.record(trace.finish());
+        }
+    }
+
+    private static void send(SseEmitter emitter, String name, RecommendationStreamEventDTO data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Converte cada etapa do motor em um evento SSE. "closed" fica true quando o emitter termina
+     * (por qualquer motivo) e cancela a busca.
+     */
+    private record EmitterListener(SseEmitter emitter, AtomicBoolean closed) implements RecommendationListener {
+
+        void close() {
+            closed.set(true);
+        }
+
+        @Override
+        public boolean cancelled() {
+            return closed.get();
+        }
+
+        @Override
+        public void kitsLoaded(int totalKits) {
+            send(emitter, "progress", RecommendationStreamEventDTO.progress("kits", null, totalKits, null));
+        }
+
+        @Override
+        public void passStarted(int firstTier, int lastTier, int kits) {
+            send(emitter, "progress", RecommendationStreamEventDTO.progress(stage(firstTier), null, kits, null));
+        }
+
+        @Override
+        public void passFinished(int firstTier, int lastTier, int attempts, int tier) {
+            send(emitter, "progress", RecommendationStreamEventDTO.progress(stage(firstTier), tier, null, attempts));
+        }
+
+        @Override
+        public void platformSelected(int tier, CpuModel cpu, PlacaMaeModel placaMae, MemoriaRamModel memoriaRam) {
+            RecommendationResponseDTO platform = new RecommendationResponseDTO();
+            platform.setCpu(cpu);
+            platform.setPlacaMae(placaMae);
+            platform.setMemoriaRam(memoriaRam);
+            send(emitter, "platform", RecommendationStreamEventDTO.platform(tier, platform));
+        }
+
+        @Override
+        public void componentSelected(String category, Object component) {
+            send(emitter, "component", RecommendationStreamEventDTO.component(category, component));
+        }
+
+        private static String stage(int firstTier) {
+            return firstTier == 4 ? "relaxed" : "strict";
+        }
+    }
+}
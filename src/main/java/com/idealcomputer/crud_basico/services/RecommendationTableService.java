@@ -0,0 +1,228 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshot;
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshotService;
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshotUpdatedEvent;
+import com.idealcomputer.crud_basico.dto.RecommendationBatchItemDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationResponseDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationTableStatusDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/*
+ * Tabela de recomendações pré-calculadas.
+ * O pedido só tem uso × detalhe × orçamento, então todas as combinações válidas
+ * (RecommendationKey.allValid) são calculadas na inicialização e depois de cada
+ * alteração no catálogo. Os pedidos passam a ser uma consulta O(1) na tabela.
+ *
+ * A tabela guarda a versão do catálogo com que foi calculada; se o catálogo já mudou
+ * e a reconstrução ainda não terminou, o pedido é calculado na hora, como antes.
+ */
+@Slf4j
+@Service
+public class RecommendationTableService {
+
+    private final RecommendationService recommendationService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final RecommendationMetrics metrics;
+    private final boolean enabled;
+    private final int maxBatchSize;
+
+    // Uma reconstrução por vez, fora das threads do Tomcat.
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "recommendation-table");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private volatile Table table;
+    private final AtomicLong rebuilds = new AtomicLong();
+
+    public RecommendationTableService(RecommendationService recommendationService,
+                                      CatalogSnapshotService catalogSnapshotService,
+                                      RecommendationMetrics metrics,
+                                      @Value("${recommendation.precomputed-table.enabled:true}") boolean enabled,
+                                      @Value("${recommendation.batch.max-size:32}") int maxBatchSize) {
+        this.recommendationService = recommendationService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Devolve a recomendação para o pedido: da tabela, quando ela está em dia com o catálogo,
+     * ou calculada na hora pelo RecommendationService.
+     */
+    public RecommendationResponseDTO recommend(RecommendationRequestDTO request) {
+        return recommend(request, catalogSnapshotService.current());
+    }
+
+    /**
+     * Igual a recommend(request), registrando em "trace" de onde veio o resultado e,
+     * quando o motor é executado, o tempo de cada fase.
+     */
+    public RecommendationResponseDTO recommend(RecommendationRequestDTO request, RecommendationTrace trace) {
+        return recommend(request, catalogSnapshotService.current(), trace);
+    }
+
+    /**
+     * Igual a recommend(request), mas usando a fotografia de catálogo informada.
+     */
+    public RecommendationResponseDTO recommend(RecommendationRequestDTO request, CatalogSnapshot catalog) {
+        return recommend(request, catalog, RecommendationTrace.of(request));
+    }
+
+    private RecommendationResponseDTO recommend(RecommendationRequestDTO request, CatalogSnapshot catalog, RecommendationTrace trace) {
+        try {
+            return lookupOrGenerate(request, catalog, trace);
+        } catch (RuntimeException e) {
+            trace.error(e.getMessage());
+            throw e;
+        } finally {
+            metrics.record(trace.finish());
+        }
+    }
+
+    private RecommendationResponseDTO lookupOrGenerate(RecommendationRequestDTO request, CatalogSnapshot catalog, RecommendationTrace trace) {
+        trace.catalogVersion(catalog.getVersion());
+        RecommendationKey key = RecommendationKey.from(request);
+        Table current = table;
+        if (!enabled || key == null || current == null || current.catalogVersion != catalog.getVersion()) {
+            return recommendationService.generateBuild(request, catalog, trace);
+        }
+        trace.source("table");
+        // Combinações fora da lista pré-calculada também ficam guardadas depois da primeira vez.
+        Entry entry = current.entries.computeIfAbsent(key, k -> compute(k, catalog));
+        // ✅ Tentativa e kits avaliados de quando a combinação foi calculada: cada consulta conta nas métricas
+        trace.tier(entry.tier());
+        trace.addAttempts(entry.attempts());
+        return entry.resolve();
+    }
+
+    /**
+     * Gera várias recomendações de uma vez, em paralelo, todas sobre a mesma fotografia do catálogo.
+     * O resultado segue a ordem dos pedidos; um pedido que falha vira um item com "error"
+     * e não derruba os demais.
+     */
+    public List<RecommendationBatchItemDTO> recommendBatch(List<RecommendationRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("A lista de pedidos não pode ser vazia.");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("No máximo " + maxBatchSize + " pedidos por lote.");
+        }
+        CatalogSnapshot catalog = catalogSnapshotService.current();
+        return IntStream.range(0, requests.size())
+                .parallel()
+                .mapToObj(i -> recommendItem(i, requests.get(i), catalog))
+                .toList();
+    }
+
+    private RecommendationBatchItemDTO recommendItem(int index, RecommendationRequestDTO request, CatalogSnapshot catalog) {
+        if (request == null || RecommendationKey.from(request) == null) {
+            return RecommendationBatchItemDTO.failure(index, request, "Os campos usage, budget e detail são obrigatórios.");
+        }
+        try {
+            return RecommendationBatchItemDTO.success(index, request, recommend(request, catalog));
+        } catch (RuntimeException e) {
+            return RecommendationBatchItemDTO.failure(index, request, e.getMessage());
+        }
+    }
+
+    public RecommendationTableStatusDTO getStatus() {
+        Table current = table;
+        return new RecommendationTableStatusDTO(
+                enabled,
+                current != null ? current.catalogVersion : null,
+                catalogSnapshotService.current().getVersion(),
+                current != null ? current.entries.size() : 0,
+                current != null ? current.builtAt : null,
+                current != null ? current.durationMs : null,
+                rebuilds.get());
+    }
+
+    // --- RECONSTRUÇÃO ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @EventListener
+    public void onCatalogUpdated(CatalogSnapshotUpdatedEvent event) {
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        // Várias alterações seguidas geram uma única reconstrução com a fotografia mais recente.
+        if (enabled && rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        rebuildScheduled.set(false);
+        try {
+            long start = System.nanoTime();
+            CatalogSnapshot catalog = catalogSnapshotService.current();
+            Map<RecommendationKey, Entry> entries = new ConcurrentHashMap<>();
+            for (RecommendationKey key : RecommendationKey.allValid()) {
+                entries.put(key, compute(key, catalog));
+            }
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            table = new Table(catalog.getVersion(), entries, Instant.now(), durationMs);
+            rebuilds.incrementAndGet();
+            log.info("Tabela de recomendações reconstruída: catalogVersion={} entries={} durationMs={}",
+                    catalog.getVersion(), entries.size(), durationMs);
+        } catch (RuntimeException e) {
+            log.error("Falha ao reconstruir a tabela de recomendações", e);
+        }
+    }
+
+    private Entry compute(RecommendationKey key, CatalogSnapshot catalog) {
+        RecommendationRequestDTO request = key.toRequest();
+        RecommendationTrace trace = RecommendationTrace.of(request);
+        try {
+            RecommendationResponseDTO response = recommendationService.generateBuild(request, catalog, trace);
+            return new Entry(response, null, trace.tier(), trace.attempts());
+        } catch (RuntimeException e) {
+            // "Sem build possível" também é um resultado válido para a combinação.
+            return new Entry(null, e.getMessage(), trace.tier(), trace.attempts());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private record Table(long catalogVersion, Map<RecommendationKey, Entry> entries, Instant builtAt, long durationMs) {
+    }
+
+    // tier e attempts: medidos no cálculo e repetidos no trace de cada consulta (ver RecommendationMetrics).
+    private record Entry(RecommendationResponseDTO response, String errorMessage, int tier, int attempts) {
+        RecommendationResponseDTO resolve() {
+            if (response == null) {
+                throw new RuntimeException(errorMessage);
+            }
+            return response;
+        }
+    }
+}
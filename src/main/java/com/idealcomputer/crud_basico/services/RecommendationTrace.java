@@ -0,0 +1,116 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+
+/*
+ * Medições de uma única recomendação: tempo (em nanossegundos) de cada fase do motor
+ * e os contadores de kits. Cada requisição tem a sua instância, preenchida pelo
+ * RecommendationService e registrada pelo controller em uma única linha de log.
+ */
+public final class RecommendationTrace {
+
+    public enum Phase {
+        KITS("kitsNs"),                 // Obtenção dos kits CPU × placa-mãe × RAM já ordenados por custo
+        SELECTION("selectionNs"),       // Seleção de GPU, SSD, gabinete, fonte e refrigeração
+        STRICT_PASS("strictPassNs"),    // Passada única pelas tentativas 1 a 3 (orçamento normal)
+        RELAXED_PASS("relaxedPassNs");  // Passada da tentativa 4 (orçamento +20%)
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+
+    private String usage;
+    private String budget;
+    private String detail;
+    private String source = "engine";
+    private long catalogVersion = -1;
+    private int totalKits;
+    private int budgetKits;
+    private int relaxedKits;
+    private int attempts;
+    private int tier;
+    private boolean parallel;
+    private long totalNanos = -1;
+    private String error;
+
+    public static RecommendationTrace of(RecommendationRequestDTO request) {
+        RecommendationTrace trace = new RecommendationTrace();
+        trace.usage = request.getUsage();
+        trace.budget = request.getBudget();
+        trace.detail = request.getDetail();
+        return trace;
+    }
+
+    // --- REGISTRO ---
+
+    public void addPhase(Phase phase, long nanos) {
+        phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    public void catalogVersion(long catalogVersion) { this.catalogVersion = catalogVersion; }
+    public void source(String source) { this.source = source; }
+    public void totalKits(int totalKits) { this.totalKits = totalKits; }
+    public void budgetKits(int budgetKits) { this.budgetKits = budgetKits; }
+    public void relaxedKits(int relaxedKits) { this.relaxedKits = relaxedKits; }
+    public void addAttempts(int attempts) { this.attempts += attempts; }
+    public void tier(int tier) { this.tier = tier; }
+    public void parallel(boolean parallel) { this.parallel = parallel; }
+    public void error(String error) { this.error = error; }
+
+    /**
+     * Encerra a medição; as próximas chamadas não alteram o tempo total.
+     */
+    public RecommendationTrace finish() {
+        if (totalNanos < 0) {
+            totalNanos = System.nanoTime() - startNanos;
+        }
+        return this;
+    }
+
+    // --- LEITURA ---
+
+    public long phaseNanos(Phase phase) { return phaseNanos[phase.ordinal()]; }
+    public long totalNanos() { return totalNanos >= 0 ? totalNanos : System.nanoTime() - startNanos; }
+    public String source() { return source; }
+    public int totalKits() { return totalKits; }
+    public int budgetKits() { return budgetKits; }
+    public int relaxedKits() { return relaxedKits; }
+    public int attempts() { return attempts; }
+    public int tier() { return tier; }
+    public boolean parallel() { return parallel; }
+    public String error() { return error; }
+
+    /**
+     * Linha única no formato chave=valor, pronta para ser filtrada/agrupada no agregador de logs.
+     */
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder(256)
+                .append("usage=\"").append(usage).append('"')
+                .append(" budget=\"").append(budget).append('"')
+                .append(" detail=\"").append(detail).append('"')
+                .append(" source=").append(source)
+                .append(" catalogVersion=").append(catalogVersion)
+                .append(" outcome=").append(error == null ? "ok" : "error")
+                .append(" tier=").append(tier)
+                .append(" kits=").append(totalKits)
+                .append(" budgetKits=").append(budgetKits)
+                .append(" relaxedKits=").append(relaxedKits)
+                .append(" attempts=").append(attempts)
+                .append(" parallel=").append(parallel)
+                .append(" totalNs=").append(totalNanos());
+        for (Phase phase : Phase.values()) {
+            line.append(' ').append(phase.label).append('=').append(phaseNanos[phase.ordinal()]);
+        }
+        if (error != null) {
+            line.append(" error=\"").append(error).append('"');
+        }
+        return line.toString();
+    }
+}
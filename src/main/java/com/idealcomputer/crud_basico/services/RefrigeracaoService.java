@@ -6,6 +6,8 @@ import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 @Service
 public class RefrigeracaoService extends BaseCrudService<RefrigeracaoModel, Long, RefrigeracaoRepository> {
 
@@ -14,6 +16,14 @@ public class RefrigeracaoService extends BaseCrudService<RefrigeracaoModel, Long
         super(repository, "Refrigeração");
     }
 
+    @Override
+    protected Map<String, TextFilter> textFilters() {
+        // ✅ Os soquetes ficam numa lista em texto livre (ex: "AM4, AM5"), então o filtro procura dentro dela
+        return Map.of("marca", TextFilter.exact("marca"),
+                "soquete", TextFilter.partial("soquetesCpuSuportados"),
+                "tipo", TextFilter.exact("tipo"));
+    }
+
     @Override
     @Transactional
     public RefrigeracaoModel save(RefrigeracaoModel entity) {
@@ -0,0 +1,68 @@
+package com.idealcomputer.crud_basico.catalog;
+
+import com.idealcomputer.crud_basico.models.RefrigeracaoModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * O índice precisa aceitar as mesmas refrigerações do contains() original, qualquer que seja o separador
+ * da lista de soquetes, e as atualizações incrementais precisam chegar ao mesmo resultado de um índice novo.
+ */
+class RefrigeracaoSocketIndexTest {
+
+    @Test
+    void matchesSocketListsWithAnySeparatorAndSpacedSpellings() {
+        RefrigeracaoSocketIndex index = RefrigeracaoSocketIndex.build(List.of(
+                cooler(1, "AM4, AM5", 100),
+                cooler(2, "AM4 AM5 LGA1700", 200),
+                cooler(3, "AM5|LGA1700", 300),
+                cooler(4, "LGA 1700", 400),
+                cooler(5, "lga1200 / am4", 500)));
+
+        assertEquals(List.of(1L, 2L, 5L), ids(index.forSocket("AM4")));
+        assertEquals(List.of(2L, 3L, 4L), ids(index.forSocket("LGA1700")));
+        assertEquals(List.of(2L, 3L, 4L), ids(index.forSocket(" lga 1700 ")));
+        assertEquals(List.of(), ids(index.forSocket("")));
+    }
+
+    @Test
+    void incrementalUpdatesMatchAFullRebuild() {
+        List<RefrigeracaoModel> coolers = new ArrayList<>(List.of(
+                cooler(1, "AM4, AM5", 100),
+                cooler(2, "LGA1700", 200),
+                cooler(3, "AM5 LGA1700", 300)));
+        RefrigeracaoSocketIndex index = RefrigeracaoSocketIndex.build(coolers);
+        // Consulta antes de alterar, para que os soquetes já estejam calculados
+        index.forSocket("AM4");
+        index.forSocket("LGA1700");
+
+        RefrigeracaoModel moved = cooler(2, "AM4", 150);
+        coolers.set(1, moved);
+        index = index.withUpserted(moved).withRemoved(3L);
+        coolers.remove(2);
+
+        RefrigeracaoSocketIndex rebuilt = RefrigeracaoSocketIndex.build(coolers);
+        for (String socket : List.of("AM4", "AM5", "LGA1700")) {
+            assertEquals(ids(rebuilt.forSocket(socket)), ids(index.forSocket(socket)), socket);
+        }
+    }
+
+    private static List<Long> ids(RefrigeracaoSocketIndex.Coolers coolers) {
+        return coolers.items().stream().map(RefrigeracaoModel::getId).toList();
+    }
+
+    private static RefrigeracaoModel cooler(long id, String sockets, double preco) {
+        RefrigeracaoModel cooler = new RefrigeracaoModel();
+        cooler.setId(id);
+        cooler.setNome("Cooler " + id);
+        cooler.setMarca("Marca");
+        cooler.setTipo("Air Cooler");
+        cooler.setSoquetesCpuSuportados(sockets);
+        cooler.setPreco(preco);
+        return cooler;
+    }
+}
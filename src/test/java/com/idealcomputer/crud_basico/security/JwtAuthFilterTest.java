@@ -0,0 +1,105 @@
+package com.idealcomputer.crud_basico.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.idealcomputer.crud_basico.config.BulkheadDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+ * A busca do usuário do token acontece no filtro, antes do DispatcherServlet. Com o bulkhead do banco
+ * cheio, a requisição autenticada precisa receber o mesmo 503 + Retry-After do RestExceptionHandler.
+ */
+class JwtAuthFilterTest {
+
+    private static final String EMAIL = "admin@idealcomputer.com";
+
+    private BulkheadDataSource dataSource;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        // Uma única permissão, e pouca espera para o teste não demorar
+        dataSource = new BulkheadDataSource(pool, 1, 50, new SimpleMeterRegistry());
+
+        // Mesmo caminho do UserDetailsServiceImpl: a conexão é pedida pelo Spring, que embrulha a exceção
+        UserDetailsService userDetailsService = email -> {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            return new User(email, "senha", List.of());
+        };
+
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.extractUsername("token")).thenReturn(EMAIL);
+        when(jwtUtil.validateToken(anyString(), any())).thenReturn(true);
+        filter = new JwtAuthFilter(jwtUtil, userDetailsService, new ObjectMapper());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void saturatedBulkheadAnswers503WithRetryAfter() throws Exception {
+        Connection held = dataSource.getConnection();
+        try {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            FilterChain chain = mock(FilterChain.class);
+
+            filter.doFilter(authenticatedRequest(), response, chain);
+
+            assertEquals(503, response.getStatus());
+            assertEquals("1", response.getHeader("Retry-After"));
+            Map<?, ?> body = new ObjectMapper().readValue(response.getContentAsByteArray(), Map.class);
+            assertNotNull(body.get("message"));
+            verify(chain, never()).doFilter(any(), any());
+        } finally {
+            held.close();
+        }
+    }
+
+    @Test
+    void freePermitAuthenticatesAndContinuesTheChain() throws Exception {
+        MockHttpServletRequest request = authenticatedRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(EMAIL, SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(chain).doFilter(request, response);
+    }
+
+    private static MockHttpServletRequest authenticatedRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.setServletPath("/api/users");
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+}
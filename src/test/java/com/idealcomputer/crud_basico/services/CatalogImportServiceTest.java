@@ -0,0 +1,143 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.dto.ImportReportDTO;
+import com.idealcomputer.crud_basico.models.GpuModel;
+import com.idealcomputer.crud_basico.repositories.GpuRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+ * Importação sem banco: o EntityManager é simulado e cada transação só "grava" o que foi persistido
+ * se terminar sem erro, como um rollback de verdade.
+ */
+class CatalogImportServiceTest {
+
+    private static final String HEADER = "nome,marca,memoriaVram,preco,potenciaRecomendadaW\n";
+
+    private final List<String> committed = new ArrayList<>();
+    private final List<String> pending = new ArrayList<>();
+    private int transactions;
+    private CatalogImportService importService;
+    private GpuService gpuService;
+
+    @BeforeEach
+    void setUp() {
+        EntityManager entityManager = mock(EntityManager.class);
+        doAnswer(invocation -> {
+            GpuModel gpu = invocation.getArgument(0);
+            // Simula um valor que o banco recusa (ex: violação de constraint)
+            if (gpu.getNome().startsWith("Recusada")) throw new PersistenceException("valor recusado pelo banco");
+            pending.add(gpu.getNome());
+            return null;
+        }).when(entityManager).persist(any());
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            transactions++;
+            pending.clear();
+            return new SimpleTransactionStatus();
+        });
+        doAnswer(invocation -> {
+            committed.addAll(pending);
+            return null;
+        }).when(transactionManager).commit(any());
+
+        importService = new CatalogImportService(Jackson2ObjectMapperBuilder.json().build(), entityManager, transactionManager);
+        gpuService = new GpuService(mock(GpuRepository.class));
+    }
+
+    @Test
+    void importsCsvWithQuotedFieldsAndBom() throws IOException {
+        ImportReportDTO report = importCsv("\uFEFF" + HEADER
+                + "\"RTX 4060, 8GB\",NVIDIA,8,1999.90,450\n"
+                + "\"Radeon \"\"RX\"\" 7600\",AMD,8,1799,450\n");
+
+        assertEquals(2, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertEquals(List.of("RTX 4060, 8GB", "Radeon \"RX\" 7600"), committed);
+    }
+
+    @Test
+    void rejectsUnknownColumnsBeforeImportingAnything() {
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> importCsv("nome,marca,vram\nRTX,NVIDIA,8\n"));
+
+        assertEquals(true, error.getMessage().contains("'vram'"));
+        assertEquals(List.of(), committed);
+    }
+
+    @Test
+    void reportsInvalidRowsWithTheirFileLine() throws IOException {
+        ImportReportDTO report = importCsv(HEADER
+                + "RTX 4060,NVIDIA,8,1999.90,450\n"
+                + ",NVIDIA,8,1999.90,450\n"                 // linha 3: nome ausente
+                + "RTX 4070,NVIDIA,doze,3999,650\n"         // linha 4: número inválido
+                + "RTX 4080,NVIDIA,16\n");                  // linha 5: colunas faltando
+
+        assertEquals(4, report.getTotal());
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(3L, 4L, 5L), report.getErrors().stream().map(ImportReportDTO.RowError::getLine).toList());
+        assertEquals("Campo obrigatório ausente: nome.", report.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void retriesAFailedChunkRowByRowAndKeepsTheGoodRows() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 1; i <= 60; i++) {
+            String nome = i == 7 || i == 55 ? "Recusada " + i : "GPU " + i;
+            csv.append(nome).append(",Marca,8,").append(1000 + i).append(",450\n");
+        }
+
+        ImportReportDTO report = importCsv(csv.toString());
+
+        assertEquals(60, report.getTotal());
+        assertEquals(58, report.getImported());
+        assertEquals(2, report.getFailed());
+        // Linha do arquivo = linha de dados + 1 (cabeçalho)
+        assertEquals(List.of(8L, 56L), report.getErrors().stream().map(ImportReportDTO.RowError::getLine).toList());
+        assertEquals("valor recusado pelo banco", report.getErrors().get(0).getMessage());
+        assertEquals(58, committed.size());
+        assertEquals(58, committed.stream().distinct().count());
+        // Dois blocos (50 + 10) que falharam, cada um refeito linha a linha
+        assertEquals(2 + 60, transactions);
+    }
+
+    @Test
+    void importsNdjsonAndReportsMalformedLines() throws IOException {
+        String ndjson = "{\"nome\":\"RTX 4060\",\"marca\":\"NVIDIA\",\"memoriaVram\":8,\"preco\":1999.9,\"potenciaRecomendadaW\":450}\n"
+                + "\n"
+                + "{\"nome\": \"quebrado\"\n";
+
+        ImportReportDTO report = importService.importRows(gpuService, stream(ndjson), StandardCharsets.UTF_8,
+                CatalogImportService.Format.NDJSON);
+
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(3L), report.getErrors().stream().map(ImportReportDTO.RowError::getLine).toList());
+    }
+
+    private ImportReportDTO importCsv(String csv) throws IOException {
+        return importService.importRows(gpuService, stream(csv), StandardCharsets.UTF_8, CatalogImportService.Format.CSV);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,95 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.enums.CpuPerformanceTier;
+import com.idealcomputer.crud_basico.models.CpuModel;
+import com.idealcomputer.crud_basico.repositories.CpuRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+ * As capacidades corrigidas pelo admin precisam sobreviver às edições comuns: o frontend reenvia
+ * o corpo antigo, sem esses campos, ao mudar só o preço.
+ */
+class CpuServiceTest {
+
+    private final Map<Long, CpuModel> table = new HashMap<>();
+    private CpuService service;
+
+    @BeforeEach
+    void setUp() {
+        CpuRepository repository = mock(CpuRepository.class);
+        when(repository.save(any(CpuModel.class))).thenAnswer(invocation -> {
+            CpuModel cpu = copy(invocation.getArgument(0));
+            if (cpu.getId() == null) cpu.setId((long) table.size() + 1);
+            table.put(cpu.getId(), cpu);
+            return copy(cpu);
+        });
+        when(repository.findById(anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(table.get(invocation.<Long>getArgument(0))).map(CpuServiceTest::copy));
+        service = new CpuService(repository);
+    }
+
+    @Test
+    void priceOnlyUpdateKeepsAdminOverrides() {
+        // O nome sugere "sem gráficos, sem cooler, entrada"; o admin corrigiu os três
+        CpuModel created = service.save(cpu(null, "Intel Core i3-12100F", 500.0, true, false, CpuPerformanceTier.INTERMEDIARIO));
+
+        CpuModel updated = service.save(cpu(created.getId(), "Intel Core i3-12100F", 450.0, null, null, null));
+
+        assertEquals(450.0, updated.getPreco());
+        assertEquals(true, updated.getGraficosIntegrados());
+        assertEquals(false, updated.getCoolerIncluso());
+        assertEquals(CpuPerformanceTier.INTERMEDIARIO, updated.getNivelDesempenho());
+    }
+
+    @Test
+    void insertWithoutCapabilitiesDerivesThemFromTheName() {
+        CpuModel created = service.save(cpu(null, "AMD Ryzen 5 5600G", 900.0, null, null, null));
+
+        assertEquals(true, created.getGraficosIntegrados());
+        assertEquals(true, created.getCoolerIncluso());
+        assertEquals(CpuPerformanceTier.INTERMEDIARIO, created.getNivelDesempenho());
+    }
+
+    @Test
+    void resetDiscardsOverridesAndDerivesFromTheName() {
+        CpuModel created = service.save(cpu(null, "Intel Core i3-12100F", 500.0, true, false, CpuPerformanceTier.ALTO));
+
+        CpuModel reset = service.resetCapabilities(created.getId());
+
+        assertEquals(false, reset.getGraficosIntegrados());
+        assertEquals(true, reset.getCoolerIncluso());
+        assertEquals(CpuPerformanceTier.ENTRADA, reset.getNivelDesempenho());
+    }
+
+    private static CpuModel cpu(Long id, String nome, double preco, Boolean igpu, Boolean cooler, CpuPerformanceTier tier) {
+        CpuModel cpu = new CpuModel();
+        cpu.setId(id);
+        cpu.setNome(nome);
+        cpu.setMarca(nome.split(" ")[0]);
+        cpu.setSoquete("LGA1700");
+        cpu.setPreco(preco);
+        cpu.setGraficosIntegrados(igpu);
+        cpu.setCoolerIncluso(cooler);
+        cpu.setNivelDesempenho(tier);
+        return cpu;
+    }
+
+    private static CpuModel copy(CpuModel source) {
+        CpuModel cpu = cpu(source.getId(), source.getNome(), source.getPreco(),
+                source.getGraficosIntegrados(), source.getCoolerIncluso(), source.getNivelDesempenho());
+        cpu.setMarca(source.getMarca());
+        cpu.setSoquete(source.getSoquete());
+        return cpu;
+    }
+}
@@ -0,0 +1,64 @@
+package com.idealcomputer.crud_basico.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvRowReaderTest {
+
+    @Test
+    void readsQuotedFieldsWithCommasNewlinesAndEscapedQuotes() throws IOException {
+        List<String> rows = readAll("nome,preco\n"
+                + "\"Ryzen 5, box\",900\n"
+                + "\"Linha 1\nLinha 2\",10\n"
+                + "\"Cooler \"\"Pro\"\"\",\"\"\n");
+
+        assertEquals(List.of(
+                "1 [nome, preco]",
+                "2 [Ryzen 5, box, 900]",
+                "3 [Linha 1\nLinha 2, 10]",
+                "5 [Cooler \"Pro\", ]"), rows);
+    }
+
+    @Test
+    void handlesCrlfBlankLinesAndMissingFinalNewline() throws IOException {
+        List<String> rows = readAll("a,b\r\n\r\n1,2\r\n\n3,");
+
+        assertEquals(List.of("1 [a, b]", "3 [1, 2]", "5 [3, ]"), rows);
+    }
+
+    @Test
+    void keepsTheBomForTheCallerToStrip() throws IOException {
+        // O CatalogImportService remove o BOM do cabeçalho; o leitor não altera os campos
+        CsvRowReader reader = new CsvRowReader(new StringReader("\uFEFFnome,preco\n"));
+        assertEquals(List.of("\uFEFFnome", "preco"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void rejectsUnclosedQuotes() {
+        CsvRowReader reader = new CsvRowReader(new StringReader("nome\n\"sem fim\n"));
+        assertThrows(RuntimeException.class, () -> {
+            while (reader.next() != null) {
+                // consome até o erro
+            }
+        });
+    }
+
+    private static List<String> readAll(String csv) throws IOException {
+        CsvRowReader reader = new CsvRowReader(new StringReader(csv));
+        List<String> rows = new ArrayList<>();
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            rows.add(reader.recordLine() + " " + fields);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,222 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.dto.CatalogFilterDTO;
+import com.idealcomputer.crud_basico.dto.CursorPageDTO;
+import com.idealcomputer.crud_basico.models.GpuModel;
+import com.idealcomputer.crud_basico.repositories.GpuRepository;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+ * Percorre o catálogo com BaseCrudService.findAfter e confere que as páginas, concatenadas, são exatamente
+ * a tabela ordenada: sem repetir nem pular itens, inclusive com vários itens de mesmo preço.
+ * A Specification gerada pelo service é avaliada em memória (InMemoryCriteria), então o teste exercita o
+ * mesmo predicado (preco, id) > (?, ?) que vira SQL.
+ */
+class CursorPaginationTest {
+
+    private final List<GpuModel> table = new ArrayList<>();
+    private final List<Integer> requestedLimits = new ArrayList<>();
+    private GpuService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Preços repetidos de propósito (empates em várias fronteiras de página) e IDs fora de ordem de preço
+        double[] prices = {300, 100, 200, 100, 300, 100, 200, 200, 100, 300, 150};
+        for (int i = 0; i < prices.length; i++) {
+            table.add(gpu(i + 1, prices[i]));
+        }
+
+        GpuRepository repository = mock(GpuRepository.class);
+        when(repository.findBy(any(Specification.class), any(Function.class))).thenAnswer(invocation -> {
+            Specification<GpuModel> spec = invocation.getArgument(0);
+            Function<FluentQuery.FetchableFluentQuery<GpuModel>, ?> queryFunction = invocation.getArgument(1);
+            return queryFunction.apply(fluentQuery(spec));
+        });
+        service = new GpuService(repository);
+    }
+
+    @Test
+    void walksByPrecoWithTiesWithoutGapsOrRepeats() {
+        List<Long> expected = table.stream()
+                .sorted(Comparator.comparing(GpuModel::getPreco).thenComparing(GpuModel::getId))
+                .map(GpuModel::getId).toList();
+
+        for (int size = 1; size <= 4; size++) {
+            assertEquals(expected, walk(KeysetCursor.BY_PRECO, size), "size=" + size);
+        }
+    }
+
+    @Test
+    void walksById() {
+        List<Long> expected = table.stream().map(GpuModel::getId).sorted().toList();
+        assertEquals(expected, walk(KeysetCursor.BY_ID, 3));
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        CursorPageDTO<GpuModel> page = service.findAfter(new CatalogFilterDTO(), KeysetCursor.BY_ID, null, table.size());
+        assertEquals(table.size(), page.getContent().size());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void clampsPageSize() {
+        service.findAfter(new CatalogFilterDTO(), KeysetCursor.BY_ID, null, 0);
+        service.findAfter(new CatalogFilterDTO(), KeysetCursor.BY_ID, null, -5);
+        service.findAfter(new CatalogFilterDTO(), KeysetCursor.BY_ID, null, 100_000);
+        // Sempre um item a mais, para saber se existe próxima página
+        assertEquals(List.of(2, 2, BaseCrudService.MAX_CURSOR_PAGE_SIZE + 1), requestedLimits);
+    }
+
+    @Test
+    void rejectsUnknownOrderAndCursorOfAnotherOrder() {
+        assertThrows(RuntimeException.class, () -> service.findAfter(new CatalogFilterDTO(), "nome", null, 10));
+
+        String byId = service.findAfter(new CatalogFilterDTO(), KeysetCursor.BY_ID, null, 2).getNext();
+        assertThrows(RuntimeException.class, () -> service.findAfter(new CatalogFilterDTO(), KeysetCursor.BY_PRECO, byId, 2));
+    }
+
+    private List<Long> walk(String order, int size) {
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        do {
+            // Um cursor que não avança repetiria a mesma página para sempre
+            assertTrue(seen.size() <= table.size(), "o cursor não avançou: " + seen);
+            CursorPageDTO<GpuModel> page = service.findAfter(new CatalogFilterDTO(), order, after, size);
+            page.getContent().forEach(gpu -> seen.add(gpu.getId()));
+            after = page.getNext();
+        } while (after != null);
+        return seen;
+    }
+
+    @SuppressWarnings("unchecked")
+    private FluentQuery.FetchableFluentQuery<GpuModel> fluentQuery(Specification<GpuModel> spec) {
+        FluentQuery.FetchableFluentQuery<GpuModel> query = mock(FluentQuery.FetchableFluentQuery.class);
+        Sort[] sort = {Sort.unsorted()};
+        int[] limit = {Integer.MAX_VALUE};
+        when(query.sortBy(any(Sort.class))).thenAnswer(invocation -> {
+            sort[0] = invocation.getArgument(0);
+            return query;
+        });
+        when(query.limit(anyInt())).thenAnswer(invocation -> {
+            limit[0] = invocation.getArgument(0);
+            requestedLimits.add(limit[0]);
+            return query;
+        });
+        when(query.all()).thenAnswer(invocation -> table.stream()
+                .filter(row -> InMemoryCriteria.matches(spec, row))
+                .sorted(comparatorOf(sort[0]))
+                .limit(limit[0])
+                .toList());
+        return query;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<GpuModel> comparatorOf(Sort sort) {
+        Comparator<GpuModel> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<GpuModel> byProperty = Comparator.comparing(
+                    row -> (Comparable) PropertyAccessorFactory.forBeanPropertyAccess(row).getPropertyValue(order.getProperty()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    private static GpuModel gpu(long id, double preco) {
+        GpuModel gpu = new GpuModel();
+        gpu.setId(id);
+        gpu.setNome("GPU " + id);
+        gpu.setMarca("Marca");
+        gpu.setPreco(preco);
+        return gpu;
+    }
+
+    /**
+     * Avalia em memória as Specifications do BaseCrudService: só o que o keyset usa
+     * (root.get, equal, greaterThan, and, or).
+     */
+    static final class InMemoryCriteria {
+
+        static <T> boolean matches(Specification<T> spec, T row) {
+            Map<Object, String> paths = new IdentityHashMap<>();
+            Map<Object, java.util.function.Predicate<Object>> predicates = new IdentityHashMap<>();
+
+            Root<T> root = proxy(Root.class, (method, args) -> {
+                if (!method.equals("get")) throw new UnsupportedOperationException(method);
+                Object path = proxy(Path.class, (m, a) -> { throw new UnsupportedOperationException(m); });
+                paths.put(path, (String) args[0]);
+                return path;
+            });
+            CriteriaBuilder cb = proxy(CriteriaBuilder.class, (method, args) -> {
+                java.util.function.Predicate<Object> test = switch (method) {
+                    case "equal" -> r -> Objects.equals(value(r, paths.get(args[0])), args[1]);
+                    case "greaterThan" -> r -> compare(value(r, paths.get(args[0])), args[1]) > 0;
+                    case "and" -> r -> operands(args, predicates).stream().allMatch(p -> p.test(r));
+                    case "or" -> r -> operands(args, predicates).stream().anyMatch(p -> p.test(r));
+                    default -> throw new UnsupportedOperationException(method);
+                };
+                Object predicate = proxy(Predicate.class, (m, a) -> { throw new UnsupportedOperationException(m); });
+                predicates.put(predicate, test);
+                return predicate;
+            });
+
+            Predicate predicate = spec.toPredicate(root, null, cb);
+            return predicate == null || predicates.get(predicate).test(row);
+        }
+
+        private static List<java.util.function.Predicate<Object>> operands(Object[] args,
+                                                                           Map<Object, java.util.function.Predicate<Object>> predicates) {
+            Object[] expressions = args.length == 1 && args[0] instanceof Object[] array ? array : args;
+            List<java.util.function.Predicate<Object>> operands = new ArrayList<>();
+            for (Object expression : expressions) operands.add(predicates.get(expression));
+            return operands;
+        }
+
+        private static Object value(Object row, String property) {
+            return PropertyAccessorFactory.forBeanPropertyAccess(row).getPropertyValue(property);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(Object left, Object right) {
+            return ((Comparable) left).compareTo(right);
+        }
+
+        private interface Handler {
+            Object handle(String method, Object[] args);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <P> P proxy(Class<?> type, Handler handler) {
+            return (P) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) ->
+                    switch (method.getName()) {
+                        case "hashCode" -> System.identityHashCode(self);
+                        case "equals" -> self == args[0];
+                        case "toString" -> type.getSimpleName() + "@" + System.identityHashCode(self);
+                        default -> handler.handle(method.getName(), args);
+                    });
+        }
+    }
+}
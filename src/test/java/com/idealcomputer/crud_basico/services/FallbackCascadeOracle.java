@@ -0,0 +1,649 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshot;
+import com.idealcomputer.crud_basico.catalog.CpuCapabilities;
+import com.idealcomputer.crud_basico.enums.CpuPerformanceTier;
+import com.idealcomputer.crud_basico.dto.RecommendationAlternativeDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationResponseDTO;
+import com.idealcomputer.crud_basico.models.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+ * Referência para o RecommendationServiceDifferentialTest: o motor original, com as quatro
+ * tentativas do fallback em cascata (filtrar + ordenar a lista de kits a cada tentativa)
+ * e a seleção de componentes por stream sobre as listas completas.
+ * Lê as mesmas listas da fotografia do catálogo no lugar dos findAll() dos repositórios.
+ * As capacidades da CPU vêm de CpuCapabilities, como no motor, no lugar das heurísticas sobre o nome.
+ */
+final class FallbackCascadeOracle {
+
+    private final CatalogSnapshot catalog;
+
+    FallbackCascadeOracle(CatalogSnapshot catalog) {
+        this.catalog = catalog;
+    }
+
+    private static class PlatformKit {
+        CpuModel cpu;
+        PlacaMaeModel placaMae;
+        MemoriaRamModel memoriaRam;
+        double totalCost;
+
+        PlatformKit(CpuModel cpu, PlacaMaeModel placaMae, MemoriaRamModel memoriaRam) {
+            this.cpu = cpu;
+            this.placaMae = placaMae;
+            this.memoriaRam = memoriaRam;
+            this.totalCost = cpu.getPreco() + placaMae.getPreco() + memoriaRam.getPreco();
+        }
+    }
+
+    RecommendationResponseDTO generateBuild(RecommendationRequestDTO request) {
+        double maxBudget = getBudgetLimit(request.getBudget());
+
+        List<PlatformKit> allPossibleKits = allKits();
+        if (allPossibleKits.isEmpty()) {
+            throw new RuntimeException("Nenhum kit compatível de CPU/Placa-mãe/RAM foi encontrado no banco. Verifique as compatibilidades.");
+        }
+
+        // ✅ Calcula orçamentos de cada componente
+        BudgetAllocation allocation = calculateBudgetAllocation(maxBudget, request);
+
+        // ✅ FALLBACK: Tenta com filtros estritos, depois relaxa gradualmente
+        RecommendationResponseDTO response = tryBuildWithFallback(allPossibleKits, request, maxBudget, allocation);
+
+        if (response != null) {
+            return response;
+        }
+
+        throw new RuntimeException("Não foi possível montar uma configuração completa. Tente aumentar o orçamento ou adicionar mais peças ao banco.");
+    }
+
+    // ========================================
+    // ✅ FALLBACK INTELIGENTE
+    // ========================================
+
+    // Gera todos os kits possíveis
+    private List<PlatformKit> allKits() {
+        List<PlatformKit> allPossibleKits = new ArrayList<>();
+        List<CpuModel> allCpus = catalog.getCpus();
+        List<PlacaMaeModel> allPlacasMae = catalog.getPlacasMae();
+        List<MemoriaRamModel> allRams = catalog.getMemoriasRam();
+
+        for (CpuModel cpu : allCpus) {
+            for (PlacaMaeModel pm : allPlacasMae) {
+                if (pm.getSoqueteCpu().equalsIgnoreCase(cpu.getSoquete())) {
+                    for (MemoriaRamModel ram : allRams) {
+                        if (ram.getTipo().equalsIgnoreCase(pm.getTipoRamSuportado())) {
+                            allPossibleKits.add(new PlatformKit(cpu, pm, ram));
+                        }
+                    }
+                }
+            }
+        }
+        return allPossibleKits;
+    }
+
+    // ========================================
+    // ✅ ALTERNATIVAS POR FORÇA BRUTA
+    // ========================================
+
+    /*
+     * Referência para o RecommendationAlternativesDifferentialTest: em cada tentativa do fallback monta
+     * todas as builds (kit x GPU candidata x SSD que cabe), ordena a lista inteira e pega as melhores
+     * ainda não vistas, sem nenhum corte. Mesmas regras de generateAlternatives no motor.
+     */
+    List<RecommendationAlternativeDTO> generateAlternatives(RecommendationRequestDTO request, int alternatives) {
+        double maxBudget = getBudgetLimit(request.getBudget());
+        List<PlatformKit> allPossibleKits = allKits();
+        if (allPossibleKits.isEmpty()) {
+            throw new RuntimeException("Nenhum kit compatível de CPU/Placa-mãe/RAM foi encontrado no banco. Verifique as compatibilidades.");
+        }
+
+        BudgetAllocation allocation = calculateBudgetAllocation(maxBudget, request);
+        BudgetAllocation relaxedAllocation = new BudgetAllocation();
+        relaxedAllocation.platformBudget = allocation.platformBudget * 1.2;
+        relaxedAllocation.gpuBudget = allocation.gpuBudget * 1.2;
+        relaxedAllocation.storageBudget = allocation.storageBudget * 1.2;
+        relaxedAllocation.caseBudget = allocation.caseBudget * 1.2;
+        relaxedAllocation.coolerBudget = allocation.coolerBudget * 1.2;
+
+        List<Alternative> found = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        addBestAlternatives(filterKits(allPossibleKits, request, allocation, true, true), request, maxBudget, allocation, 1, alternatives, found, seen);
+        addBestAlternatives(filterKits(allPossibleKits, request, allocation, false, true), request, maxBudget, allocation, 2, alternatives, found, seen);
+        addBestAlternatives(filterKits(allPossibleKits, request, allocation, false, false), request, maxBudget, allocation, 3, alternatives, found, seen);
+        addBestAlternatives(filterKits(allPossibleKits, request, relaxedAllocation, false, false), request, maxBudget * 1.2, relaxedAllocation, 4, alternatives, found, seen);
+
+        if (found.isEmpty()) {
+            throw new RuntimeException("Não foi possível montar uma configuração completa. Tente aumentar o orçamento ou adicionar mais peças ao banco.");
+        }
+
+        List<RecommendationAlternativeDTO> result = new ArrayList<>();
+        for (Alternative alternative : found) {
+            result.add(new RecommendationAlternativeDTO(result.size() + 1, alternative.attempt, alternative.totalCost, alternative.response));
+        }
+        return result;
+    }
+
+    private void addBestAlternatives(
+            List<PlatformKit> validKits,
+            RecommendationRequestDTO request,
+            double maxBudget,
+            BudgetAllocation allocation,
+            int attempt,
+            int alternatives,
+            List<Alternative> found,
+            Set<String> seen) {
+
+        double maxTotal = maxBudget + 500;
+        List<Alternative> builds = new ArrayList<>();
+
+        for (PlatformKit kit : validKits) {
+            RefrigeracaoModel refrigeracao = null;
+            if (requiresSeparateCooler(kit.cpu)) {
+                refrigeracao = selectRefrigeracao(kit.cpu, allocation.coolerBudget, maxBudget);
+            }
+            GabineteModel gabinete = selectGabinete(kit.placaMae, allocation.caseBudget);
+            if (gabinete == null) continue;
+            double fixedCost = kit.totalCost + gabinete.getPreco() + (refrigeracao != null ? refrigeracao.getPreco() : 0);
+
+            for (GpuModel gpu : gpuOptions(allocation.gpuBudget, request)) {
+                double gpuPrice = gpu != null ? gpu.getPreco() : 0;
+                FonteModel fonte = selectFonte(kit.placaMae, gabinete, maxTotal - fixedCost - gpuPrice,
+                        calculateRequiredWattage(kit.cpu, gpu, maxBudget));
+                if (fonte == null) continue;
+
+                double ssdBudget = Math.min(allocation.storageBudget, maxTotal - fixedCost - gpuPrice - fonte.getPreco());
+                for (ArmazenamentoModel ssd : catalog.getArmazenamentos()) {
+                    boolean isSsd = ssd.getTipo().equalsIgnoreCase("SSD NVMe") || ssd.getTipo().equalsIgnoreCase("SSD SATA");
+                    if (!isSsd || ssd.getPreco() > ssdBudget) continue;
+
+                    RecommendationResponseDTO response = new RecommendationResponseDTO();
+                    response.setCpu(kit.cpu);
+                    response.setPlacaMae(kit.placaMae);
+                    response.setMemoriaRam(kit.memoriaRam);
+                    response.setGpu(gpu);
+                    response.setArmazenamento(ssd);
+                    response.setFonte(fonte);
+                    response.setGabinete(gabinete);
+                    response.setRefrigeracao(refrigeracao);
+                    builds.add(new Alternative(attempt, response,
+                            kit.totalCost + gpuPrice + ssd.getPreco(),
+                            fixedCost + gpuPrice + fonte.getPreco() + ssd.getPreco()));
+                }
+            }
+        }
+
+        builds.sort(Comparator.comparingDouble((Alternative a) -> -a.score)
+                .thenComparingDouble(a -> a.totalCost)
+                .thenComparing(a -> a.key));
+        for (Alternative build : builds) {
+            if (found.size() >= alternatives) break;
+            if (seen.add(build.key)) found.add(build);
+        }
+    }
+
+    // GPUs que a build pode usar, da mais cara para a mais barata; [null] quando não usa ou nenhuma cabe
+    private List<GpuModel> gpuOptions(double budget, RecommendationRequestDTO request) {
+        List<GpuModel> options = new ArrayList<>();
+        if (requiresGpu(request)) {
+            String detail = request.getDetail().toLowerCase();
+            List<GpuModel> gpus = catalog.getGpus().stream()
+                    .filter(g -> g.getPreco() <= budget)
+                    .sorted(Comparator.comparing(GpuModel::getPreco).reversed())
+                    .collect(Collectors.toList());
+            boolean highVramOnly = budget > 5000
+                    && (detail.contains("pesados") || detail.contains("todo tipo") || detail.contains("edição"))
+                    && gpus.stream().anyMatch(g -> g.getMemoriaVram() >= 16);
+            gpus.stream().filter(g -> !highVramOnly || g.getMemoriaVram() >= 16).forEach(options::add);
+        }
+        if (options.isEmpty()) options.add(null);
+        return options;
+    }
+
+    private static class Alternative {
+        int attempt;
+        RecommendationResponseDTO response;
+        double score;
+        double totalCost;
+        String key;
+
+        Alternative(int attempt, RecommendationResponseDTO response, double score, double totalCost) {
+            this.attempt = attempt;
+            this.response = response;
+            this.score = score;
+            this.totalCost = totalCost;
+            this.key = response.getCpu().getId() + "/" + response.getPlacaMae().getId() + "/" + response.getMemoriaRam().getId()
+                    + "/" + (response.getGpu() != null ? response.getGpu().getId() : "-") + "/" + response.getArmazenamento().getId();
+        }
+    }
+
+    private RecommendationResponseDTO tryBuildWithFallback(
+            List<PlatformKit> allKits,
+            RecommendationRequestDTO request,
+            double maxBudget,
+            BudgetAllocation allocation) {
+
+        // ✅ Tentativa 1: Filtros estritos
+        List<PlatformKit> validKits = filterKits(allKits, request, allocation, true, true);
+
+        RecommendationResponseDTO response = tryBuildFromKits(validKits, request, maxBudget, allocation);
+        if (response != null) return response;
+
+        // ✅ Tentativa 2: Sem filtro de usage (aceita qualquer CPU)
+        validKits = filterKits(allKits, request, allocation, false, true);
+
+        response = tryBuildFromKits(validKits, request, maxBudget, allocation);
+        if (response != null) return response;
+
+        // ✅ Tentativa 3: Sem filtro de RAM (aceita qualquer capacidade)
+        validKits = filterKits(allKits, request, allocation, false, false);
+
+        response = tryBuildFromKits(validKits, request, maxBudget, allocation);
+        if (response != null) return response;
+
+        // ✅ Tentativa 4: Aumentando orçamento de cada componente em 20%
+        BudgetAllocation relaxedAllocation = new BudgetAllocation();
+        relaxedAllocation.platformBudget = allocation.platformBudget * 1.2;
+        relaxedAllocation.gpuBudget = allocation.gpuBudget * 1.2;
+        relaxedAllocation.storageBudget = allocation.storageBudget * 1.2;
+        relaxedAllocation.caseBudget = allocation.caseBudget * 1.2;
+        relaxedAllocation.coolerBudget = allocation.coolerBudget * 1.2;
+
+        validKits = filterKits(allKits, request, relaxedAllocation, false, false);
+
+        response = tryBuildFromKits(validKits, request, maxBudget * 1.2, relaxedAllocation);
+        if (response != null) return response;
+
+        return null;
+    }
+
+    private List<PlatformKit> filterKits(
+            List<PlatformKit> allKits,
+            RecommendationRequestDTO request,
+            BudgetAllocation allocation,
+            boolean applyUsageFilter,
+            boolean applyRamFilter) {
+
+        return allKits.stream()
+                .filter(kit -> kit.totalCost <= allocation.platformBudget)
+                .filter(kit -> !applyUsageFilter || filterKitByUsage(kit, request))
+                .filter(kit -> !applyRamFilter || filterRamByBudget(kit, request.getBudget()))
+                .sorted(Comparator.comparingDouble((PlatformKit kit) -> kit.totalCost).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private RecommendationResponseDTO tryBuildFromKits(
+            List<PlatformKit> validKits,
+            RecommendationRequestDTO request,
+            double maxBudget,
+            BudgetAllocation allocation) {
+
+        if (validKits.isEmpty()) return null;
+
+        boolean isBudgetBuild = request.getBudget().equalsIgnoreCase("econômico");
+        if (isBudgetBuild) {
+            validKits.sort(Comparator.comparingDouble(kit -> kit.totalCost));
+        }
+
+        // Tenta montar a build completa
+        for (PlatformKit currentKit : validKits) {
+            double remainingBudget = maxBudget - currentKit.totalCost;
+
+            // ✅ 1. Refrigeração (se necessária)
+            RefrigeracaoModel selectedRefrigeracao = null;
+            if (requiresSeparateCooler(currentKit.cpu)) {
+                selectedRefrigeracao = selectRefrigeracao(currentKit.cpu, allocation.coolerBudget, maxBudget);
+                if (selectedRefrigeracao != null) {
+                    remainingBudget -= selectedRefrigeracao.getPreco();
+                }
+            }
+
+            // ✅ 2. GPU (prioridade em builds gaming)
+            GpuModel selectedGpu = null;
+            if (requiresGpu(request)) {
+                selectedGpu = selectGpu(allocation.gpuBudget, request);
+                if (selectedGpu != null) {
+                    remainingBudget -= selectedGpu.getPreco();
+                }
+            }
+
+            // ✅ 3. Armazenamento (escalável)
+            ArmazenamentoModel selectedArmazenamento = selectArmazenamento(allocation.storageBudget, maxBudget);
+            if (selectedArmazenamento == null) continue;
+            remainingBudget -= selectedArmazenamento.getPreco();
+
+            // ✅ 4. Gabinete (compatível e escalável)
+            GabineteModel selectedGabinete = selectGabinete(currentKit.placaMae, allocation.caseBudget);
+            if (selectedGabinete == null) continue;
+            remainingBudget -= selectedGabinete.getPreco();
+
+            // ✅ 5. Fonte (compatível e adequada)
+            double potenciaNecessaria = calculateRequiredWattage(currentKit.cpu, selectedGpu, maxBudget);
+            FonteModel selectedFonte = selectFonte(currentKit.placaMae, selectedGabinete, remainingBudget, potenciaNecessaria);
+            if (selectedFonte == null) continue;
+            remainingBudget -= selectedFonte.getPreco();
+
+            // Verifica se todos os componentes obrigatórios foram encontrados
+            if (remainingBudget >= -500) { // ✅ Tolera até R$ 500 de estouro
+                RecommendationResponseDTO response = new RecommendationResponseDTO();
+                response.setCpu(currentKit.cpu);
+                response.setPlacaMae(currentKit.placaMae);
+                response.setMemoriaRam(currentKit.memoriaRam);
+                response.setGpu(selectedGpu);
+                response.setArmazenamento(selectedArmazenamento);
+                response.setFonte(selectedFonte);
+                response.setGabinete(selectedGabinete);
+                response.setRefrigeracao(selectedRefrigeracao);
+                return response;
+            }
+        }
+
+        return null;
+    }
+
+    // ========================================
+    // ✅ ALOCAÇÃO DE ORÇAMENTO INTELIGENTE
+    // ========================================
+
+    private static class BudgetAllocation {
+        double platformBudget;
+        double gpuBudget;
+        double storageBudget;
+        double caseBudget;
+        double coolerBudget;
+    }
+
+    private BudgetAllocation calculateBudgetAllocation(double maxBudget, RecommendationRequestDTO request) {
+        BudgetAllocation allocation = new BudgetAllocation();
+        String usage = request.getUsage().toLowerCase();
+        String detail = request.getDetail().toLowerCase();
+
+        if (usage.equals("jogos")) {
+            if (detail.contains("pesados") || detail.contains("todo tipo")) {
+                allocation.platformBudget = maxBudget * 0.35;
+                allocation.gpuBudget = maxBudget * 0.40;
+                allocation.storageBudget = maxBudget * 0.08;
+                allocation.caseBudget = maxBudget * 0.08;
+                allocation.coolerBudget = maxBudget * 0.09;
+            } else {
+                allocation.platformBudget = maxBudget * 0.40;
+                allocation.gpuBudget = maxBudget * 0.30;
+                allocation.storageBudget = maxBudget * 0.10;
+                allocation.caseBudget = maxBudget * 0.10;
+                allocation.coolerBudget = maxBudget * 0.10;
+            }
+        } else if (usage.equals("trabalho")) {
+            allocation.platformBudget = maxBudget * 0.45;
+            allocation.gpuBudget = maxBudget * 0.20;
+            allocation.storageBudget = maxBudget * 0.15;
+            allocation.caseBudget = maxBudget * 0.10;
+            allocation.coolerBudget = maxBudget * 0.10;
+        } else {
+            allocation.platformBudget = maxBudget * 0.60;
+            allocation.gpuBudget = 0;
+            allocation.storageBudget = maxBudget * 0.15;
+            allocation.caseBudget = maxBudget * 0.15;
+            allocation.coolerBudget = maxBudget * 0.10;
+        }
+
+        return allocation;
+    }
+
+    // ========================================
+    // ✅ SELEÇÃO INTELIGENTE DE GPU (COM LOGS)
+    // ========================================
+
+    private GpuModel selectGpu(double budget, RecommendationRequestDTO request) {
+        String detail = request.getDetail().toLowerCase();
+
+        List<GpuModel> allGpus = catalog.getGpus();
+
+        List<GpuModel> gpus = allGpus.stream()
+                .filter(g -> g.getPreco() <= budget)
+                .sorted(Comparator.comparing(GpuModel::getPreco).reversed())
+                .collect(Collectors.toList());
+
+        if (gpus.isEmpty()) return null;
+
+        if (budget > 5000 && (detail.contains("pesados") || detail.contains("todo tipo") || detail.contains("edição"))) {
+            return gpus.stream()
+                    .filter(g -> g.getMemoriaVram() >= 16)
+                    .max(Comparator.comparing(GpuModel::getPreco))
+                    .orElse(gpus.get(0));
+        }
+
+        return gpus.get(0);
+    }
+
+    private ArmazenamentoModel selectArmazenamento(double budget, double maxBudget) {
+        List<ArmazenamentoModel> nvmes = catalog.getArmazenamentos().stream()
+                .filter(a -> a.getTipo().equalsIgnoreCase("SSD NVMe"))
+                .filter(a -> a.getPreco() <= budget)
+                .sorted(Comparator.comparing(ArmazenamentoModel::getCapacidadeGb).reversed()
+                        .thenComparing(ArmazenamentoModel::getPreco))
+                .collect(Collectors.toList());
+
+        if (!nvmes.isEmpty()) {
+            if (maxBudget >= 12000) {
+                return nvmes.stream()
+                        .filter(a -> a.getCapacidadeGb() >= 2000)
+                        .findFirst()
+                        .orElse(nvmes.get(0));
+            }
+            else if (maxBudget >= 7000) {
+                return nvmes.stream()
+                        .filter(a -> a.getCapacidadeGb() >= 1000)
+                        .findFirst()
+                        .orElse(nvmes.get(0));
+            }
+            return nvmes.stream()
+                    .filter(a -> a.getCapacidadeGb() >= 500)
+                    .min(Comparator.comparing(ArmazenamentoModel::getPreco))
+                    .orElse(nvmes.get(0));
+        }
+
+        return catalog.getArmazenamentos().stream()
+                .filter(a -> a.getTipo().equalsIgnoreCase("SSD SATA"))
+                .filter(a -> a.getPreco() <= budget)
+                .min(Comparator.comparing(ArmazenamentoModel::getPreco))
+                .orElse(null);
+    }
+
+    private GabineteModel selectGabinete(PlacaMaeModel placaMae, double budget) {
+        String formatoPlacaMae = placaMae.getFormato().toLowerCase();
+
+        List<GabineteModel> compatibleCases = catalog.getGabinetes().stream()
+                .filter(g -> g.getPreco() <= budget)
+                .filter(g -> {
+                    String suportados = g.getFormatosPlacaMaeSuportados().toLowerCase();
+                    if (formatoPlacaMae.contains("mini-itx")) return true;
+                    if (formatoPlacaMae.contains("micro-atx") || formatoPlacaMae.contains("m-atx")) {
+                        return suportados.contains("micro-atx") || suportados.contains("m-atx") || suportados.contains("atx");
+                    }
+                    if (formatoPlacaMae.contains("atx") && !formatoPlacaMae.contains("micro") && !formatoPlacaMae.contains("mini")) {
+                        return suportados.contains("atx");
+                    }
+                    return false;
+                })
+                .sorted(Comparator.comparing(GabineteModel::getPreco))
+                .collect(Collectors.toList());
+
+        if (compatibleCases.isEmpty()) return null;
+
+        if (budget > 600) {
+            int index = Math.min(compatibleCases.size() / 2, compatibleCases.size() - 1);
+            return compatibleCases.get(index);
+        }
+
+        return compatibleCases.get(0);
+    }
+
+    private RefrigeracaoModel selectRefrigeracao(CpuModel cpu, double budget, double maxBudget) {
+        String cpuSocket = cpu.getSoquete();
+        boolean isHighEnd = isHighEndCpu(cpu);
+
+        List<RefrigeracaoModel> coolers = catalog.getRefrigeracoes().stream()
+                .filter(c -> c.getSoquetesCpuSuportados().toUpperCase().replaceAll("\\s+", "")
+                        .contains(cpuSocket.toUpperCase().replaceAll("\\s+", "")))
+                .filter(c -> c.getPreco() <= budget)
+                .collect(Collectors.toList());
+
+        if (coolers.isEmpty()) return null;
+
+        if (isHighEnd && maxBudget >= 10000) {
+            RefrigeracaoModel waterCooler = coolers.stream()
+                    .filter(c -> c.getTipo().equalsIgnoreCase("Water Cooler"))
+                    .filter(c -> c.getNome().contains("360") || c.getNome().contains("280"))
+                    .max(Comparator.comparing(RefrigeracaoModel::getPreco))
+                    .orElse(null);
+
+            if (waterCooler != null) return waterCooler;
+        }
+
+        if (isHighEnd) {
+            RefrigeracaoModel waterCooler = coolers.stream()
+                    .filter(c -> c.getTipo().equalsIgnoreCase("Water Cooler"))
+                    .min(Comparator.comparing(RefrigeracaoModel::getPreco))
+                    .orElse(null);
+
+            if (waterCooler != null) return waterCooler;
+        }
+
+        return coolers.stream()
+                .filter(c -> c.getTipo().equalsIgnoreCase("Air Cooler"))
+                .min(Comparator.comparing(RefrigeracaoModel::getPreco))
+                .orElse(coolers.get(0));
+    }
+
+    private FonteModel selectFonte(PlacaMaeModel placaMae, GabineteModel gabinete, double budget, double requiredWattage) {
+        String formatoPlacaMae = placaMae.getFormato().toLowerCase();
+        String formatosGabinete = gabinete.getFormatosPlacaMaeSuportados().toLowerCase();
+
+        return catalog.getFontes().stream()
+                .filter(f -> f.getPotenciaWatts() >= requiredWattage)
+                .filter(f -> f.getPreco() <= budget)
+                .filter(f -> {
+                    String formatoFonte = f.getFormato().toLowerCase();
+
+                    if (formatoPlacaMae.contains("mini-itx")) {
+                        if (formatoFonte.contains("sfx")) return true;
+                        return formatoFonte.contains("atx") && formatosGabinete.contains("atx");
+                    }
+
+                    if (formatoPlacaMae.contains("micro-atx") || formatoPlacaMae.contains("m-atx")) {
+                        if (!formatosGabinete.contains("atx") || formatosGabinete.contains("micro-atx")) {
+                            return formatoFonte.contains("sfx");
+                        }
+                        return formatoFonte.contains("atx") || formatoFonte.contains("sfx");
+                    }
+
+                    if (formatoPlacaMae.contains("atx") && !formatoPlacaMae.contains("micro") && !formatoPlacaMae.contains("mini")) {
+                        return formatoFonte.contains("atx") || formatoFonte.contains("sfx");
+                    }
+
+                    return false;
+                })
+                .min(Comparator.comparing(FonteModel::getPreco))
+                .orElse(null);
+    }
+
+    private boolean filterRamByBudget(PlatformKit kit, String budgetCategory) {
+        int ramCapacity = kit.memoriaRam.getCapacidadeGb();
+
+        return switch (budgetCategory.toLowerCase()) {
+            case "econômico" -> ramCapacity <= 16;
+            case "intermediário" -> ramCapacity <= 32;
+            case "alto" -> ramCapacity <= 64;
+            case "extremo" -> true;
+            default -> ramCapacity <= 32;
+        };
+    }
+
+    private boolean requiresGpu(RecommendationRequestDTO request) {
+        String usage = request.getUsage().toLowerCase();
+        String detail = request.getDetail().toLowerCase();
+
+        if (usage.equals("jogos")) {
+            return !detail.contains("leves");
+        }
+
+        if (usage.equals("trabalho")) {
+            return detail.contains("edição") || detail.contains("design");
+        }
+
+        if (usage.equals("estudos")) {
+            return detail.contains("engenharia");
+        }
+
+        return false;
+    }
+
+    private boolean filterKitByUsage(PlatformKit kit, RecommendationRequestDTO request) {
+        String usage = request.getUsage().toLowerCase();
+        String detail = request.getDetail().toLowerCase();
+        boolean integratedGraphics = CpuCapabilities.hasIntegratedGraphics(kit.cpu);
+
+        if (usage.equals("jogos")) {
+            if (detail.contains("leves")) {
+                return integratedGraphics;
+            }
+            return !integratedGraphics;
+        }
+
+        if (usage.equals("estudos")) {
+            if (detail.contains("engenharia")) {
+                return !integratedGraphics;
+            }
+            return integratedGraphics;
+        }
+
+        if (usage.equals("trabalho")) {
+            if (detail.contains("office") || detail.contains("básico")) {
+                return integratedGraphics;
+            }
+            return !integratedGraphics;
+        }
+
+        return true;
+    }
+
+    private boolean requiresSeparateCooler(CpuModel cpu) {
+        return !CpuCapabilities.hasBundledCooler(cpu);
+    }
+
+    private boolean isHighEndCpu(CpuModel cpu) {
+        return CpuCapabilities.performanceTier(cpu) == CpuPerformanceTier.ALTO;
+    }
+
+    private double calculateRequiredWattage(CpuModel cpu, GpuModel gpu, double budget) {
+        double basePower = 150;
+        double cpuPower = cpu != null ? (cpu.getPotenciaRecomendadaW() != null ? cpu.getPotenciaRecomendadaW() : 65) : 0;
+        double gpuPower = gpu != null ? (gpu.getPotenciaRecomendadaW() != null ? gpu.getPotenciaRecomendadaW() : 0) : 0;
+
+        double totalDemand = basePower + cpuPower + gpuPower;
+        double safeWattage = totalDemand * 1.50;
+
+        if (budget > 7000) {
+            return Math.max(safeWattage, 650.0);
+        }
+        return Math.max(safeWattage, 550.0);
+    }
+
+    private double getBudgetLimit(String budgetCategory) {
+        return switch (budgetCategory.toLowerCase()) {
+            case "econômico" -> 4000.00;
+            case "intermediário" -> 7000.00;
+            case "alto" -> 12000.00;
+            case "extremo" -> 25000.00;
+            default -> 7000.00;
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.idealcomputer.crud_basico.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsBothOrders() {
+        KeysetCursor byPreco = new KeysetCursor(KeysetCursor.BY_PRECO, 1299.9, 42);
+        assertEquals(byPreco, KeysetCursor.decode(byPreco.encode(), KeysetCursor.BY_PRECO));
+
+        KeysetCursor byId = new KeysetCursor(KeysetCursor.BY_ID, null, 7);
+        KeysetCursor decoded = KeysetCursor.decode(byId.encode(), KeysetCursor.BY_ID);
+        assertEquals(7, decoded.id());
+        assertNull(decoded.preco());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new KeysetCursor(KeysetCursor.BY_PRECO, 0.1 + 0.2, Long.MAX_VALUE).encode();
+        assertEquals(encoded, encoded.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void rejectsCursorOfAnotherOrder() {
+        String byId = new KeysetCursor(KeysetCursor.BY_ID, null, 7).encode();
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(byId, KeysetCursor.BY_PRECO));
+
+        String byPreco = new KeysetCursor(KeysetCursor.BY_PRECO, 10.0, 7).encode();
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(byPreco, KeysetCursor.BY_ID));
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode("not base64!", KeysetCursor.BY_ID));
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(raw("preco:abc:1"), KeysetCursor.BY_PRECO));
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(raw("preco::1"), KeysetCursor.BY_PRECO));
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(raw("id::x"), KeysetCursor.BY_ID));
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(raw("id:1"), KeysetCursor.BY_ID));
+        assertThrows(RuntimeException.class, () -> KeysetCursor.decode(raw("id::1:2"), KeysetCursor.BY_ID));
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
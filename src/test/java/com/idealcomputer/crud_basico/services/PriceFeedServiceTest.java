@@ -0,0 +1,176 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.dto.PriceUpdateDTO;
+import com.idealcomputer.crud_basico.dto.PriceUpdateSummaryDTO;
+import com.idealcomputer.crud_basico.models.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+ * O UPDATE do feed de preços é montado fora do Hibernate, então precisa usar os mesmos nomes físicos que o
+ * Hibernate usa (a estratégia de nomes do Spring converte "TB_Placa_Mae"/"ID_Armazenamento" para minúsculas).
+ * A SessionFactory é montada sem banco, só com o mapeamento das Models e a estratégia de nomes do Spring.
+ */
+class PriceFeedServiceTest {
+
+    private static StandardServiceRegistry registry;
+    private static SessionFactoryImplementor sessionFactory;
+
+    // Tabela de mentira: SQL -> IDs existentes
+    private final Map<String, Set<Long>> existingIds = new HashMap<>();
+    private final Map<String, List<Long>> executedIds = new LinkedHashMap<>();
+    private JdbcTemplate jdbcTemplate;
+    private PriceFeedService service;
+
+    @BeforeAll
+    static void buildSessionFactory() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
+                .applySetting("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .applySetting("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .build();
+        MetadataSources sources = new MetadataSources(registry);
+        List.of(CpuModel.class, PlacaMaeModel.class, MemoriaRamModel.class, GpuModel.class, ArmazenamentoModel.class,
+                FonteModel.class, GabineteModel.class, RefrigeracaoModel.class).forEach(sources::addAnnotatedClass);
+        sessionFactory = (SessionFactoryImplementor) sources.buildMetadata().buildSessionFactory();
+    }
+
+    @AfterAll
+    static void closeSessionFactory() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    String sql = invocation.getArgument(0);
+                    List<Map.Entry<Long, Double>> prices = invocation.getArgument(1);
+                    int batchSize = invocation.getArgument(2);
+                    Set<Long> existing = existingIds.getOrDefault(sql, Set.of());
+                    prices.forEach(price -> executedIds.computeIfAbsent(sql, s -> new ArrayList<>()).add(price.getKey()));
+                    // Mesmo formato do JdbcTemplate: um int[] por lote, 1 = linha alterada, 0 = ID inexistente
+                    int[][] counts = new int[(prices.size() + batchSize - 1) / batchSize][];
+                    for (int batch = 0; batch < counts.length; batch++) {
+                        int from = batch * batchSize;
+                        counts[batch] = IntStream.range(from, Math.min(from + batchSize, prices.size()))
+                                .map(i -> existing.contains(prices.get(i).getKey()) ? 1 : 0)
+                                .toArray();
+                    }
+                    return counts;
+                });
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        service = new PriceFeedService(jdbcTemplate, entityManagerFactory, List.of());
+    }
+
+    @Test
+    void updateSqlUsesHibernatePhysicalNames() {
+        assertEquals("UPDATE tb_gpu SET preco_gpu = ? WHERE id_gpu = ?",
+                PriceFeedService.updateSqlOf(sessionFactory, GpuModel.class));
+        assertEquals("UPDATE tb_placa_mae SET preco_placamae = ? WHERE id_placamae = ?",
+                PriceFeedService.updateSqlOf(sessionFactory, PlacaMaeModel.class));
+        assertEquals("UPDATE tb_armazenamento SET preco_armazenamento = ? WHERE id_armazenamento = ?",
+                PriceFeedService.updateSqlOf(sessionFactory, ArmazenamentoModel.class));
+    }
+
+    @Test
+    void summaryReportsMissingIdsAndCountsDuplicatesOnce() {
+        String gpuSql = PriceFeedService.updateSqlOf(sessionFactory, GpuModel.class);
+        String cpuSql = PriceFeedService.updateSqlOf(sessionFactory, CpuModel.class);
+        existingIds.put(gpuSql, Set.of(1L, 2L));
+        existingIds.put(cpuSql, Set.of(10L));
+
+        PriceUpdateSummaryDTO summary = service.updatePrices(List.of(
+                new PriceUpdateDTO("gpus", 1L, 1000.0),
+                new PriceUpdateDTO("GPUs ", 2L, 2000.0),
+                new PriceUpdateDTO("gpus", 99L, 3000.0),
+                new PriceUpdateDTO("cpus", 10L, 500.0),
+                new PriceUpdateDTO("cpus", 11L, 600.0),
+                new PriceUpdateDTO("gpus", 1L, 1100.0)));   // repetido: vale o último preço
+
+        assertEquals(5, summary.getReceived());
+        assertEquals(3, summary.getUpdated());
+        assertEquals(Map.of("gpus", 2, "cpus", 1), summary.getUpdatedByTipo());
+        assertEquals(List.of(new PriceUpdateDTO("gpus", 99L, 3000.0), new PriceUpdateDTO("cpus", 11L, 600.0)),
+                summary.getNotFound());
+        assertEquals(List.of(1L, 2L, 99L), executedIds.get(gpuSql));
+        assertEquals(List.of(10L, 11L), executedIds.get(cpuSql));
+    }
+
+    @Test
+    void missingIdsAcrossSeveralJdbcBatchesKeepTheirPosition() {
+        String ramSql = PriceFeedService.updateSqlOf(sessionFactory, MemoriaRamModel.class);
+        Set<Long> existing = new HashSet<>();
+        List<PriceUpdateDTO> updates = new ArrayList<>();
+        for (long id = 1; id <= 1_200; id++) {
+            if (id % 400 != 0) existing.add(id);
+            updates.add(new PriceUpdateDTO("memorias-ram", id, 100.0 + id));
+        }
+        existingIds.put(ramSql, existing);
+
+        PriceUpdateSummaryDTO summary = service.updatePrices(updates);
+
+        assertEquals(1_200, summary.getReceived());
+        assertEquals(1_197, summary.getUpdated());
+        assertEquals(List.of(400L, 800L, 1_200L), summary.getNotFound().stream().map(PriceUpdateDTO::getId).toList());
+        assertEquals(List.of(500.0, 900.0, 1_300.0), summary.getNotFound().stream().map(PriceUpdateDTO::getPreco).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsUnknownTipoBeforeTouchingTheDatabase() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> service.updatePrices(List.of(
+                new PriceUpdateDTO("gpus", 1L, 1000.0),
+                new PriceUpdateDTO("monitores", 2L, 900.0))));
+
+        assertTrue(error.getMessage().startsWith("Item 1: categoria inválida 'monitores'"), error.getMessage());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void rejectsInvalidItemsAndOversizedRequests() {
+        assertThrows(RuntimeException.class, () -> service.updatePrices(List.of()));
+        assertThrows(RuntimeException.class, () -> service.updatePrices(List.of(new PriceUpdateDTO("gpus", null, 10.0))));
+        assertThrows(RuntimeException.class, () -> service.updatePrices(List.of(new PriceUpdateDTO("gpus", 1L, 0.0))));
+        assertThrows(RuntimeException.class, () -> service.updatePrices(List.of(new PriceUpdateDTO("gpus", 1L, Double.NaN))));
+
+        List<PriceUpdateDTO> tooMany = Collections.nCopies(PriceFeedService.MAX_UPDATES + 1, new PriceUpdateDTO("gpus", 1L, 10.0));
+        RuntimeException error = assertThrows(RuntimeException.class, () -> service.updatePrices(tooMany));
+        assertTrue(error.getMessage().contains(String.valueOf(PriceFeedService.MAX_UPDATES)), error.getMessage());
+
+        // No limite ainda é aceito
+        existingIds.put(PriceFeedService.updateSqlOf(sessionFactory, GpuModel.class), Set.of(1L));
+        List<PriceUpdateDTO> atLimit = Collections.nCopies(PriceFeedService.MAX_UPDATES, new PriceUpdateDTO("gpus", 1L, 10.0));
+        assertEquals(1, service.updatePrices(atLimit).getUpdated());
+    }
+}
@@ -0,0 +1,127 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshot;
+import com.idealcomputer.crud_basico.dto.RecommendationAlternativeDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Compara generateAlternatives (branch-and-bound: cortes por kit, por GPU e por SSD, mais a
+ * deduplicação entre tentativas) com a enumeração completa do FallbackCascadeOracle em catálogos
+ * aleatórios pequenos. As duas listas precisam ter as mesmas builds, na mesma ordem e com as mesmas
+ * tentativas e preços, ou falhar com a mesma mensagem.
+ */
+class RecommendationAlternativesDifferentialTest {
+
+    // 10 (o máximo) passa do número de builds distintas nos catálogos menores
+    private static final int[] ALTERNATIVES = {1, 3, RecommendationService.MAX_ALTERNATIVES};
+
+    @Test
+    void topKMatchesBruteForceEnumeration() {
+        RecommendationService service = new RecommendationService(null);
+        int compared = 0;
+        int built = 0;
+        int exhausted = 0;
+        int fromLaterAttempts = 0;
+
+        for (long seed = 0; seed < 30; seed++) {
+            CatalogSnapshot catalog = RecommendationServiceDifferentialTest.randomCatalog(seed, 3 + (int) (seed % 6));
+            FallbackCascadeOracle oracle = new FallbackCascadeOracle(catalog);
+
+            for (String usage : RecommendationServiceDifferentialTest.USAGES) {
+                for (String detail : RecommendationServiceDifferentialTest.DETAILS) {
+                    for (String budget : RecommendationServiceDifferentialTest.BUDGETS) {
+                        RecommendationRequestDTO request = RecommendationServiceDifferentialTest.request(usage, detail, budget);
+                        for (int alternatives : ALTERNATIVES) {
+                            List<String> expected = outcome(() -> oracle.generateAlternatives(request, alternatives));
+                            List<String> actual = outcome(() -> service.generateAlternatives(request, catalog, alternatives));
+                            assertEquals(expected, actual,
+                                    "seed=" + seed + " " + usage + "/" + detail + "/" + budget + " K=" + alternatives);
+
+                            compared++;
+                            if (expected.get(0).startsWith("erro:")) continue;
+                            built++;
+                            if (expected.size() < alternatives) exhausted++;
+                            // Linha = [rank, tentativa, ...]
+                            if (expected.stream().anyMatch(row -> !row.split(", ")[1].equals("1"))) {
+                                fromLaterAttempts++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        // Garante que o teste exercita listas de verdade: builds, K maior que as builds existentes
+        // e alternativas vindas das tentativas relaxadas (onde a deduplicação entre tentativas atua).
+        assertTrue(built > compared / 3, "apenas " + built + " de " + compared + " pedidos geraram alternativas");
+        assertTrue(exhausted > 0, "nenhum pedido teve menos builds distintas que K");
+        assertTrue(fromLaterAttempts > 0, "nenhuma alternativa veio de uma tentativa relaxada");
+    }
+
+    @Test
+    void kLargerThanTheDistinctBuildsReturnsAllOfThem() {
+        RecommendationService service = new RecommendationService(null);
+        int checked = 0;
+        for (long seed = 0; seed < 30; seed++) {
+            CatalogSnapshot catalog = RecommendationServiceDifferentialTest.randomCatalog(seed, 3);
+            for (String usage : RecommendationServiceDifferentialTest.USAGES) {
+                for (String budget : RecommendationServiceDifferentialTest.BUDGETS) {
+                    RecommendationRequestDTO request = RecommendationServiceDifferentialTest.request(usage, "Jogos pesados", budget);
+                    List<RecommendationAlternativeDTO> all;
+                    try {
+                        all = service.generateAlternatives(request, catalog, RecommendationService.MAX_ALTERNATIVES);
+                    } catch (RuntimeException e) {
+                        continue;
+                    }
+                    if (all.size() >= RecommendationService.MAX_ALTERNATIVES) continue;
+                    checked++;
+
+                    // Sem repetição, ranks contínuos, e cada K menor devolve um prefixo da lista completa
+                    assertEquals(all.size(), all.stream().map(a -> key(a.getBuild())).distinct().count());
+                    for (int i = 0; i < all.size(); i++) {
+                        assertEquals(i + 1, all.get(i).getRank());
+                    }
+                    for (int k = 1; k <= all.size(); k++) {
+                        assertEquals(render(all.subList(0, k)), render(service.generateAlternatives(request, catalog, k)),
+                                "seed=" + seed + " " + usage + "/" + budget + " K=" + k);
+                    }
+                }
+            }
+        }
+        assertTrue(checked > 0, "nenhum pedido teve menos builds distintas que o máximo de alternativas");
+    }
+
+    private static List<String> outcome(Supplier<List<RecommendationAlternativeDTO>> generate) {
+        try {
+            return render(generate.get());
+        } catch (RuntimeException e) {
+            return List.of("erro: " + e.getMessage());
+        }
+    }
+
+    private static List<String> render(List<RecommendationAlternativeDTO> alternatives) {
+        List<String> rows = new ArrayList<>();
+        for (RecommendationAlternativeDTO a : alternatives) {
+            RecommendationResponseDTO r = a.getBuild();
+            rows.add(Arrays.asList(a.getRank(), a.getAttempt(), key(r),
+                    r.getFonte().getId(), r.getGabinete().getId(),
+                    r.getRefrigeracao() != null ? r.getRefrigeracao().getId() : null,
+                    a.getTotalPrice()).toString());
+        }
+        return rows;
+    }
+
+    private static String key(RecommendationResponseDTO r) {
+        return Arrays.asList(r.getCpu().getId(), r.getPlacaMae().getId(), r.getMemoriaRam().getId(),
+                r.getGpu() != null ? r.getGpu().getId() : null, r.getArmazenamento().getId()).toString();
+    }
+}
@@ -0,0 +1,179 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshot;
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationResponseDTO;
+import com.idealcomputer.crud_basico.models.BaseEntity;
+import com.idealcomputer.crud_basico.models.CpuModel;
+import com.idealcomputer.crud_basico.models.MemoriaRamModel;
+import com.idealcomputer.crud_basico.models.PlacaMaeModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Eventos do RecommendationListener: a build vencedora é anunciada de dentro da passada que a encontrou
+ * (antes de passFinished e antes da passada relaxada), uma única vez, e com as mesmas peças da resposta.
+ * O cancelamento pedido pelo listener interrompe a busca sem esperar o próximo evento.
+ */
+class RecommendationListenerTest {
+
+    private static final String[][] REQUESTS = {
+            {"Jogos", "Jogos pesados", "Alto"}, {"Jogos", "Jogos leves", "Econômico"},
+            {"Trabalho", "Office e básico", "Intermediário"}, {"Estudos", "Engenharia", "Extremo"}
+    };
+
+    @Test
+    void serialSearchAnnouncesTheWinnerInsideItsPass() {
+        assertEventOrder(new RecommendationService(null));
+    }
+
+    @Test
+    void parallelSearchAnnouncesTheWinnerInsideItsPass() {
+        RecommendationService service = new RecommendationService(null, 1, 4);
+        try {
+            assertEventOrder(service);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void cancellationBeforeTheSearchEvaluatesNoKit() {
+        RecommendationRequestDTO request = RecommendationServiceDifferentialTest.request("Jogos", "Jogos pesados", "Alto");
+        RecordingListener listener = new RecordingListener() {
+            @Override
+            public void kitsLoaded(int totalKits) {
+                super.kitsLoaded(totalKits);
+                cancel = true;
+            }
+        };
+        RecommendationTrace trace = RecommendationTrace.of(request);
+
+        assertThrows(CancellationException.class, () -> new RecommendationService(null)
+                .generateBuild(request, RecommendationServiceDifferentialTest.randomCatalog(3, 15), trace, listener));
+
+        assertEquals(0, trace.attempts());
+        assertEquals(List.of("kits", "start 1"), listener.events);
+    }
+
+    @Test
+    void cancellationStopsTheScanInTheMiddleOfAPass() {
+        RecommendationService service = new RecommendationService(null);
+        int checked = 0;
+        for (long seed = 0; seed < 20; seed++) {
+            CatalogSnapshot catalog = RecommendationServiceDifferentialTest.randomCatalog(seed, 4 + (int) (seed % 12));
+            for (String[] fields : REQUESTS) {
+                RecommendationRequestDTO request = RecommendationServiceDifferentialTest.request(fields[0], fields[1], fields[2]);
+                RecommendationTrace full = RecommendationTrace.of(request);
+                try {
+                    service.generateBuild(request, catalog, full);
+                } catch (RuntimeException e) {
+                    // Sem build: a busca completa avalia todos os kits que cabem no orçamento
+                }
+                if (full.attempts() < 5) continue;
+                checked++;
+
+                // Cancelado na terceira consulta: no máximo dois kits avaliados, nenhum anúncio de build
+                AtomicInteger polls = new AtomicInteger();
+                RecordingListener listener = new RecordingListener() {
+                    @Override
+                    public boolean cancelled() {
+                        return polls.incrementAndGet() >= 3;
+                    }
+                };
+                RecommendationTrace trace = RecommendationTrace.of(request);
+                assertThrows(CancellationException.class, () -> service.generateBuild(request, catalog, trace, listener));
+                assertTrue(trace.attempts() <= 2, "attempts=" + trace.attempts());
+                assertTrue(listener.events.stream().noneMatch(event -> event.startsWith("platform")), listener.events.toString());
+            }
+        }
+        assertTrue(checked > 0, "nenhum pedido avaliou kits suficientes");
+    }
+
+    private static void assertEventOrder(RecommendationService service) {
+        int built = 0;
+        for (long seed = 0; seed < 20; seed++) {
+            CatalogSnapshot catalog = RecommendationServiceDifferentialTest.randomCatalog(seed, 4 + (int) (seed % 12));
+            for (String[] fields : REQUESTS) {
+                RecommendationRequestDTO request = RecommendationServiceDifferentialTest.request(fields[0], fields[1], fields[2]);
+                RecordingListener listener = new RecordingListener();
+                RecommendationTrace trace = RecommendationTrace.of(request);
+                String context = "seed=" + seed + " " + String.join("/", fields);
+
+                RecommendationResponseDTO response;
+                try {
+                    response = service.generateBuild(request, catalog, trace, listener);
+                } catch (RuntimeException e) {
+                    assertTrue(listener.events.stream().noneMatch(event -> event.startsWith("platform")), context);
+                    continue;
+                }
+                built++;
+
+                List<String> expected = new ArrayList<>(List.of("kits", "start 1"));
+                if (trace.tier() == 4) {
+                    expected.addAll(List.of("finish 1 tier=0", "start 4"));
+                }
+                int pass = trace.tier() == 4 ? 4 : 1;
+                expected.add("platform tier=" + trace.tier() + " cpu=" + response.getCpu().getId()
+                        + " placaMae=" + response.getPlacaMae().getId() + " ram=" + response.getMemoriaRam().getId());
+                expected.add("refrigeracao=" + id(response.getRefrigeracao()));
+                expected.add("gpu=" + id(response.getGpu()));
+                expected.add("armazenamento=" + id(response.getArmazenamento()));
+                expected.add("gabinete=" + id(response.getGabinete()));
+                expected.add("fonte=" + id(response.getFonte()));
+                expected.add("finish " + pass + " tier=" + trace.tier());
+                assertEquals(expected, listener.events, context);
+            }
+        }
+        assertTrue(built > 0, "nenhum pedido gerou build");
+    }
+
+    private static Object id(Object component) {
+        if (component == null) return null;
+        return ((BaseEntity<?>) component).getId();
+    }
+
+    private static class RecordingListener implements RecommendationListener {
+
+        final List<String> events = new ArrayList<>();
+        volatile boolean cancel;
+
+        @Override
+        public boolean cancelled() {
+            return cancel;
+        }
+
+        @Override
+        public void kitsLoaded(int totalKits) {
+            events.add("kits");
+        }
+
+        @Override
+        public void passStarted(int firstTier, int lastTier, int kits) {
+            events.add("start " + firstTier);
+        }
+
+        @Override
+        public void passFinished(int firstTier, int lastTier, int attempts, int tier) {
+            events.add("finish " + firstTier + " tier=" + tier);
+        }
+
+        @Override
+        public void platformSelected(int tier, CpuModel cpu, PlacaMaeModel placaMae, MemoriaRamModel memoriaRam) {
+            events.add("platform tier=" + tier + " cpu=" + cpu.getId() + " placaMae=" + placaMae.getId() + " ram=" + memoriaRam.getId());
+        }
+
+        @Override
+        public void componentSelected(String category, Object component) {
+            events.add(category + "=" + id(component));
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshot;
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+import com.idealcomputer.crud_basico.dto.RecommendationResponseDTO;
+import com.idealcomputer.crud_basico.enums.CpuPerformanceTier;
+import com.idealcomputer.crud_basico.models.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Compara o RecommendationService (passada única pelo ranking de kits, serial ou paralela) com o
+ * FallbackCascadeOracle (as quatro tentativas em cascata) em catálogos aleatórios, para todas as
+ * combinações de pedido.
+ * As duas implementações precisam escolher exatamente as mesmas peças, ou falhar com a mesma mensagem.
+ */
+class RecommendationServiceDifferentialTest {
+
+    static final String[] USAGES = {"Jogos", "Trabalho", "Estudos", "Outro"};
+    static final String[] DETAILS = {
+            "Jogos leves", "Jogos pesados", "Todo tipo de jogo", "Intermediários", "Office e básico",
+            "Edição de vídeo", "Design gráfico", "Engenharia", "Programação"
+    };
+    static final String[] BUDGETS = {"Econômico", "Intermediário", "Alto", "Extremo", "Desconhecido"};
+
+    private static final String[] SOCKETS = {"AM4", "AM5", "LGA1700"};
+    private static final String[] DDR_TYPES = {"DDR4", "DDR5"};
+    private static final String[] CPU_NAMES = {
+            "AMD Ryzen 7 5800X", "AMD Ryzen 5 5600G", "Intel Core i3-12100F", "AMD Ryzen 5 5600",
+            "Intel Core i7-13700K", "Intel Core i5-13600K", "AMD Ryzen 9 7950X", "Intel Core i5-12400F",
+            "AMD Ryzen 3 8300G"
+    };
+    private static final String[] BOARD_FORMATS = {"ATX", "Micro-ATX", "Mini-ITX", "E-ATX", "mATX"};
+    private static final String[] CASE_FORMATS = {"ATX, Micro-ATX, Mini-ITX", "Micro-ATX, Mini-ITX", "Mini-ITX", "M-ATX", "E-ATX, ATX"};
+    private static final String[] PSU_FORMATS = {"ATX", "SFX", "SFX-L", "ATX 3.0"};
+    private static final String[] COOLER_SOCKETS = {
+            "AM4, AM5", "LGA1700, LGA1200", "AM4, AM5, LGA1700", "am5",
+            "AM4 AM5 LGA1700", "AM5|LGA1700", "LGA 1700", "lga 1200 / am4", "AM4;AM5"
+    };
+
+    @Test
+    void singlePassMatchesFallbackCascade() {
+        assertMatchesCascade(new RecommendationService(null));
+    }
+
+    @Test
+    void parallelSearchMatchesFallbackCascade() {
+        // Limite 1: toda faixa de kits é dividida entre as threads, mesmo nos catálogos pequenos.
+        RecommendationService service = new RecommendationService(null, 1, 4);
+        try {
+            assertMatchesCascade(service);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private static void assertMatchesCascade(RecommendationService service) {
+        int compared = 0;
+        int built = 0;
+        for (long seed = 0; seed < 40; seed++) {
+            CatalogSnapshot catalog = randomCatalog(seed, 5 + (int) (seed % 25));
+            FallbackCascadeOracle oracle = new FallbackCascadeOracle(catalog);
+
+            for (String usage : USAGES) {
+                for (String detail : DETAILS) {
+                    for (String budget : BUDGETS) {
+                        RecommendationRequestDTO request = request(usage, detail, budget);
+                        String expected = outcome(() -> oracle.generateBuild(request));
+                        String actual = outcome(() -> service.generateBuild(request, catalog));
+                        assertEquals(expected, actual, "seed=" + seed + " " + usage + "/" + detail + "/" + budget);
+
+                        compared++;
+                        if (!expected.startsWith("erro:")) built++;
+                    }
+                }
+            }
+        }
+        // Garante que o teste exercita builds de verdade, e não só catálogos sem solução.
+        assertTrue(built > compared / 2, "apenas " + built + " de " + compared + " pedidos geraram build");
+    }
+
+    static RecommendationRequestDTO request(String usage, String detail, String budget) {
+        RecommendationRequestDTO request = new RecommendationRequestDTO();
+        request.setUsage(usage);
+        request.setDetail(detail);
+        request.setBudget(budget);
+        return request;
+    }
+
+    private static String outcome(Supplier<RecommendationResponseDTO> generate) {
+        try {
+            RecommendationResponseDTO r = generate.get();
+            return Arrays.asList(r.getCpu().getId(), r.getPlacaMae().getId(), r.getMemoriaRam().getId(),
+                    r.getGpu() != null ? r.getGpu().getId() : null, r.getArmazenamento().getId(),
+                    r.getFonte().getId(), r.getGabinete().getId(),
+                    r.getRefrigeracao() != null ? r.getRefrigeracao().getId() : null).toString();
+        } catch (RuntimeException e) {
+            return "erro: " + e.getMessage();
+        }
+    }
+
+    // --- CATÁLOGO ALEATÓRIO ---
+
+    static CatalogSnapshot randomCatalog(long seed, int perCategory) {
+        Random random = new Random(seed);
+        long[] nextId = {1};
+
+        List<CpuModel> cpus = new ArrayList<>();
+        List<PlacaMaeModel> placasMae = new ArrayList<>();
+        List<MemoriaRamModel> memorias = new ArrayList<>();
+        List<GpuModel> gpus = new ArrayList<>();
+        List<ArmazenamentoModel> armazenamentos = new ArrayList<>();
+        List<FonteModel> fontes = new ArrayList<>();
+        List<GabineteModel> gabinetes = new ArrayList<>();
+        List<RefrigeracaoModel> refrigeracoes = new ArrayList<>();
+
+        for (int i = 0; i < perCategory; i++) {
+            CpuModel cpu = new CpuModel();
+            cpu.setId(nextId[0]++);
+            cpu.setNome(pick(random, CPU_NAMES) + " " + i);
+            cpu.setMarca("Marca");
+            cpu.setSoquete(pick(random, SOCKETS));
+            cpu.setPreco(price(random, 4000));
+            cpu.setPotenciaRecomendadaW(65 + random.nextInt(200));
+            // Parte das CPUs tem capacidades corrigidas pelo admin, que prevalecem sobre o nome.
+            if (random.nextInt(4) == 0) {
+                cpu.setGraficosIntegrados(random.nextBoolean());
+                cpu.setCoolerIncluso(random.nextBoolean());
+                cpu.setNivelDesempenho(pick(random, CpuPerformanceTier.values()));
+            }
+            cpus.add(cpu);
+        }
+        for (int i = 0; i < perCategory; i++) {
+            PlacaMaeModel placaMae = new PlacaMaeModel();
+            placaMae.setId(nextId[0]++);
+            placaMae.setNome("Placa-mãe " + i);
+            placaMae.setMarca("Marca");
+            // Soquetes em caixa baixa exercitam a comparação sem diferenciar maiúsculas.
+            String socket = pick(random, SOCKETS);
+            placaMae.setSoqueteCpu(random.nextBoolean() ? socket : socket.toLowerCase());
+            placaMae.setTipoRamSuportado(pick(random, DDR_TYPES));
+            placaMae.setFormato(pick(random, BOARD_FORMATS));
+            placaMae.setPreco(price(random, 3000));
+            placasMae.add(placaMae);
+        }
+        for (int i = 0; i < perCategory; i++) {
+            MemoriaRamModel memoria = new MemoriaRamModel();
+            memoria.setId(nextId[0]++);
+            memoria.setNome("Memória " + i);
+            memoria.setMarca("Marca");
+            memoria.setCapacidadeGb(new int[]{8, 16, 32, 64, 128}[random.nextInt(5)]);
+            memoria.setTipo(pick(random, DDR_TYPES));
+            memoria.setFrequenciaMhz(3200);
+            memoria.setPreco(price(random, 2000));
+            memorias.add(memoria);
+        }
+        for (int i = 0; i < perCategory; i++) {
+            GpuModel gpu = new GpuModel();
+            gpu.setId(nextId[0]++);
+            gpu.setNome("GPU " + i);
+            gpu.setMarca("Marca");
+            gpu.setMemoriaVram(new int[]{8, 12, 16, 24}[random.nextInt(4)]);
+            gpu.setPreco(price(random, 12000));
+            gpu.setPotenciaRecomendadaW(100 + random.nextInt(350));
+            gpus.add(gpu);
+        }
+        for (int i = 0; i < perCategory; i++) {
+            ArmazenamentoModel armazenamento = new ArmazenamentoModel();
+            armazenamento.setId(nextId[0]++);
+            armazenamento.setNome("SSD " + i);
+            armazenamento.setMarca("Marca");
+            armazenamento.setTipo(random.nextInt(3) == 0 ? "SSD SATA" : "SSD NVMe");
+            armazenamento.setCapacidadeGb(new int[]{250, 500, 1000, 2000, 4000}[random.nextInt(5)]);
+            armazenamento.setPreco(price(random, 2000));
+            armazenamentos.add(armazenamento);
+        }
+        for (int i = 0; i < perCategory; i++) {
+            FonteModel fonte = new FonteModel();
+            fonte.setId(nextId[0]++);
+            fonte.setNome("Fonte " + i);
+            fonte.setMarca("Marca");
+            fonte.setPotenciaWatts(400 + 50 * random.nextInt(16));
+            fonte.setFormato(pick(random, PSU_FORMATS));
+            fonte.setPreco(price(random, 2000));
+            fontes.add(fonte);
+        }
+        for (int i = 0; i < perCategory; i++) {
+            GabineteModel gabinete = new GabineteModel();
+            gabinete.setId(nextId[0]++);
+            gabinete.setNome("Gabinete " + i);
+            gabinete.setMarca("Marca");
+            gabinete.setFormatosPlacaMaeSuportados(pick(random, CASE_FORMATS));
+            gabinete.setPreco(price(random, 1500));
+            gabinetes.add(gabinete);
+        }
+        for (int i = 0; i < perCategory; i++) {
+            RefrigeracaoModel refrigeracao = new RefrigeracaoModel();
+            refrigeracao.setId(nextId[0]++);
+            refrigeracao.setNome("Cooler " + new String[]{"360", "280", "240", "120"}[random.nextInt(4)] + " " + i);
+            refrigeracao.setMarca("Marca");
+            refrigeracao.setTipo(random.nextBoolean() ? "Water Cooler" : "Air Cooler");
+            refrigeracao.setSoquetesCpuSuportados(pick(random, COOLER_SOCKETS));
+            refrigeracao.setPreco(price(random, 2500));
+            refrigeracoes.add(refrigeracao);
+        }
+
+        // A fotografia ordena por ID; embaralhar confirma que a ordem de entrada não importa.
+        Collections.shuffle(cpus, random);
+        Collections.shuffle(gabinetes, random);
+        return CatalogSnapshot.of(1, cpus, placasMae, memorias, gpus, armazenamentos, fontes, gabinetes, refrigeracoes);
+    }
+
+    // Preços em múltiplos de R$ 50 para provocar empates de custo entre kits e peças.
+    private static double price(Random random, int max) {
+        return (random.nextInt(max / 50) + 1) * 50.0;
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,95 @@
+package com.idealcomputer.crud_basico.services;
+
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshot;
+import com.idealcomputer.crud_basico.catalog.CatalogSnapshotService;
+import com.idealcomputer.crud_basico.dto.RecommendationRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+ * Com a tabela pré-calculada ligada (o padrão), quase toda recomendação vem da tabela. Cada consulta
+ * precisa contar em recommendation.builds{tier} e recommendation.attempts com os valores medidos
+ * quando a combinação foi calculada, senão as métricas só enxergariam o motor rodando na hora.
+ */
+class RecommendationTableServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private CatalogSnapshot catalog;
+    private RecommendationService engine;
+    private RecommendationTableService tableService;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        // Catálogo pequeno: parte das combinações monta build e parte não
+        catalog = RecommendationServiceDifferentialTest.randomCatalog(1, 5);
+        CatalogSnapshotService catalogSnapshotService = mock(CatalogSnapshotService.class);
+        when(catalogSnapshotService.current()).thenReturn(catalog);
+
+        engine = new RecommendationService(null);
+        tableService = new RecommendationTableService(engine, catalogSnapshotService,
+                new RecommendationMetrics(registry, catalogSnapshotService), true, 32);
+        tableService.onApplicationReady();
+
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (tableService.getStatus().getCatalogVersion() == null) {
+            assertTrue(System.nanoTime() < deadline, "a tabela não foi reconstruída");
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        tableService.shutdown();
+    }
+
+    @Test
+    void tableLookupsRecordTierAndAttemptsOfTheStoredComputation() {
+        RecommendationRequestDTO request = RecommendationServiceDifferentialTest.request("Jogos", "Jogos pesados", "Alto");
+        RecommendationTrace expected = RecommendationTrace.of(request);
+        engine.generateBuild(request, catalog, expected);
+        assertTrue(expected.tier() > 0 && expected.attempts() > 0, "o pedido precisa gerar uma build");
+
+        RecommendationTrace first = RecommendationTrace.of(request);
+        tableService.recommend(request, first);
+        tableService.recommend(request);
+
+        assertEquals("table", first.source());
+        assertEquals(expected.tier(), first.tier());
+        assertEquals(expected.attempts(), first.attempts());
+        assertEquals(2, registry.get("recommendation.requests").tag("source", "table").timer().count());
+        assertEquals(2, registry.get("recommendation.builds").tag("tier", String.valueOf(expected.tier())).counter().count());
+        assertEquals(2, registry.get("recommendation.attempts").summary().count());
+        assertEquals(2.0 * expected.attempts(), registry.get("recommendation.attempts").summary().totalAmount());
+        // Nenhuma fase do motor rodou nas consultas
+        assertEquals(0, registry.get("recommendation.phase").tag("phase", "strict_pass").timer().count());
+    }
+
+    @Test
+    void storedFailuresCountAsNoBuild() {
+        // Primeira combinação da tabela sem build possível neste catálogo
+        RecommendationRequestDTO request = RecommendationKey.allValid().stream()
+                .map(RecommendationKey::toRequest)
+                .filter(candidate -> {
+                    try {
+                        engine.generateBuild(candidate, catalog);
+                        return false;
+                    } catch (RuntimeException e) {
+                        return true;
+                    }
+                })
+                .findFirst().orElseThrow();
+
+        assertThrows(RuntimeException.class, () -> tableService.recommend(request));
+
+        assertEquals(1, registry.get("recommendation.builds").tag("tier", "none").counter().count());
+        assertEquals(1, registry.get("recommendation.requests").tag("source", "table").tag("outcome", "error").timer().count());
+    }
+}